@@ -7,7 +7,7 @@ public class ProblemA {
 	public static void main(String[] args) {
 		try (Scanner scanner = new Scanner(System.in)) {
 			String s = scanner.next();
-			System.out.println(s.replaceAll(",", " "));
+			System.out.println(s.replace(',', ' '));
 		}
 	}
 }
@@ -0,0 +1,35 @@
+package abc.abc051;
+
+import java.util.Scanner;
+
+import lib.graph.CsrGraph;
+import lib.graph.Dijkstra;
+
+public class ProblemD {
+
+	public static void main(String[] args) {
+		try (Scanner scanner = new Scanner(System.in)) {
+			int n = scanner.nextInt(), m = scanner.nextInt();
+			int[] a = new int[m], b = new int[m];
+			long[] c = new long[m];
+			for (int i = 0; i < m; i++) {
+				a[i] = scanner.nextInt() - 1;
+				b[i] = scanner.nextInt() - 1;
+				c[i] = scanner.nextInt();
+			}
+			CsrGraph graph = CsrGraph.undirected(n, a, b, c);
+			Dijkstra[] shortest = new Dijkstra[n];
+			for (int v = 0; v < n; v++) {
+				shortest[v] = new Dijkstra(graph, v);
+			}
+			// 辺の重みが両端の最短距離より大きい辺は、どの最短経路にも含まれない
+			int count = 0;
+			for (int i = 0; i < m; i++) {
+				if (shortest[a[i]].distance(b[i]) < c[i]) {
+					count++;
+				}
+			}
+			System.out.println(count);
+		}
+	}
+}
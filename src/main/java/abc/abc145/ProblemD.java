@@ -0,0 +1,24 @@
+package abc.abc145;
+
+import java.util.Scanner;
+
+import lib.math.ModCombination;
+
+public class ProblemD {
+
+	public static void main(String[] args) {
+		try (Scanner scanner = new Scanner(System.in)) {
+			int x = scanner.nextInt(), y = scanner.nextInt();
+			// (+1, +2)をa回、(+2, +1)をb回移動するとき、a + 2b = x、2a + b = y
+			int a = 2 * y - x, b = 2 * x - y;
+			if ((a < 0) || (b < 0) || (0 != a % 3) || (0 != b % 3)) {
+				System.out.println(0);
+				return;
+			}
+			a /= 3;
+			b /= 3;
+			ModCombination combination = new ModCombination(a + b, 1_000_000_007);
+			System.out.println(combination.combination(a + b, a));
+		}
+	}
+}
@@ -0,0 +1,239 @@
+package lib.array;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+
+/**
+ * longを要素とする、インデックスがlongの1次元の大きな配列（DPの表をlong[][][]の代わりに平坦に持つ）
+ *
+ * 多次元の表は、例えばdp[i][j]をi * (列数) + jのように1次元にして使う。
+ * 要素は2^{@value #CHUNK_SHIFT}個ずつのチャンクに分けて持つため、2^31個以上の要素も扱え、
+ * 行ごとのオブジェクトヘッダーと参照をたどる処理がない。
+ * 記憶域はサブクラス（ヒープ上の{@link Chunked}、ヒープ外の{@link OffHeap}）で選ぶ。
+ * 最後のチャンクはちょうどの長さで確保するため、範囲外のインデックス（絶対値が2^51未満）はチャンクの配列・バッファーの
+ * 範囲チェックで例外になり、アクセサーで独自の範囲チェックはしない。
+ */
+public abstract class LongBigArray {
+
+	/** チャンクの要素数の2の対数 */
+	protected static final int CHUNK_SHIFT = 20;
+	/** チャンクの要素数 */
+	protected static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+	/** チャンク内の位置を求めるマスク */
+	protected static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+	/** 要素数 */
+	private final long size;
+
+	/**
+	 * コンストラクター
+	 *
+	 * @param size 要素数
+	 */
+	protected LongBigArray(long size) {
+		if (size < 0) {
+			throw new IllegalArgumentException("size must not be negative : " + size);
+		}
+		this.size = size;
+	}
+
+	/**
+	 * チャンクの数を求める
+	 *
+	 * @param size 要素数
+	 * @return チャンクの数
+	 */
+	protected static int chunkCount(long size) {
+		return Math.toIntExact((size + CHUNK_MASK) >>> CHUNK_SHIFT);
+	}
+
+	/**
+	 * チャンクの要素数を求める（最後のチャンクは残りの要素数）
+	 *
+	 * @param size  要素数
+	 * @param chunk チャンクの番号
+	 * @return チャンクの要素数
+	 */
+	protected static int chunkLength(long size, int chunk) {
+		return (int) Math.min(CHUNK_SIZE, size - ((long) chunk << CHUNK_SHIFT));
+	}
+
+	/**
+	 * 要素数を取得する
+	 *
+	 * @return 要素数
+	 */
+	public final long size() {
+		return size;
+	}
+
+	/**
+	 * 要素を取得する
+	 *
+	 * @param index インデックス
+	 * @return 値
+	 */
+	public abstract long get(long index);
+
+	/**
+	 * 要素を設定する
+	 *
+	 * @param index インデックス
+	 * @param value 値
+	 */
+	public abstract void set(long index, long value);
+
+	/**
+	 * すべての要素を設定する
+	 *
+	 * @param value 値
+	 */
+	public abstract void fill(long value);
+
+	/**
+	 * 要素に値を加算する
+	 *
+	 * @param index インデックス
+	 * @param value 加算する値
+	 */
+	public final void add(long index, long value) {
+		set(index, get(index) + value);
+	}
+
+	/**
+	 * 要素を、値の方が大きい場合に値で更新する
+	 *
+	 * @param index インデックス
+	 * @param value 値
+	 * @return 更新した場合はtrue
+	 */
+	public final boolean maximize(long index, long value) {
+		if (get(index) < value) {
+			set(index, value);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * 要素を、値の方が小さい場合に値で更新する
+	 *
+	 * @param index インデックス
+	 * @param value 値
+	 * @return 更新した場合はtrue
+	 */
+	public final boolean minimize(long index, long value) {
+		if (get(index) > value) {
+			set(index, value);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * ヒープ上のlong[]のチャンクに要素を持つ配列
+	 */
+	public static final class Chunked extends LongBigArray {
+
+		/** チャンク */
+		private final long[][] chunks;
+
+		/**
+		 * コンストラクター（すべての要素は0）
+		 *
+		 * @param size 要素数
+		 */
+		public Chunked(long size) {
+			super(size);
+			chunks = new long[chunkCount(size)][];
+			for (int i = 0; i < chunks.length; i++) {
+				chunks[i] = new long[chunkLength(size, i)];
+			}
+		}
+
+		/**
+		 * チャンクを取得する
+		 *
+		 * @param chunk チャンクの番号
+		 * @return チャンク
+		 */
+		long[] chunk(int chunk) {
+			return chunks[chunk];
+		}
+
+		@Override
+		public long get(long index) {
+			return chunks[(int) (index >>> CHUNK_SHIFT)][(int) index & CHUNK_MASK];
+		}
+
+		@Override
+		public void set(long index, long value) {
+			chunks[(int) (index >>> CHUNK_SHIFT)][(int) index & CHUNK_MASK] = value;
+		}
+
+		@Override
+		public void fill(long value) {
+			for (long[] chunk : chunks) {
+				Arrays.fill(chunk, value);
+			}
+		}
+	}
+
+	/**
+	 * ヒープ外のメモリー（ダイレクトバッファー）のチャンクに要素を持つ配列
+	 *
+	 * 表がヒープを使わないため、ヒープの大きさやGCの対象を増やさずに大きな表を確保できる。
+	 * 確保できる大きさの上限は-XX:MaxDirectMemorySize（指定しない場合は最大ヒープサイズと同じ）で、
+	 * メモリーはこのオブジェクトがGCで回収されるときに解放される。
+	 */
+	public static final class OffHeap extends LongBigArray {
+
+		/** チャンク */
+		private final LongBuffer[] chunks;
+
+		/**
+		 * コンストラクター（すべての要素は0）
+		 *
+		 * @param size 要素数
+		 */
+		public OffHeap(long size) {
+			super(size);
+			chunks = new LongBuffer[chunkCount(size)];
+			for (int i = 0; i < chunks.length; i++) {
+				chunks[i] = ByteBuffer.allocateDirect(chunkLength(size, i) * Long.BYTES).order(ByteOrder.nativeOrder())
+						.asLongBuffer();
+			}
+		}
+
+		/**
+		 * チャンクを取得する
+		 *
+		 * @param chunk チャンクの番号
+		 * @return チャンク
+		 */
+		LongBuffer chunk(int chunk) {
+			return chunks[chunk];
+		}
+
+		@Override
+		public long get(long index) {
+			return chunks[(int) (index >>> CHUNK_SHIFT)].get((int) index & CHUNK_MASK);
+		}
+
+		@Override
+		public void set(long index, long value) {
+			chunks[(int) (index >>> CHUNK_SHIFT)].put((int) index & CHUNK_MASK, value);
+		}
+
+		@Override
+		public void fill(long value) {
+			for (LongBuffer chunk : chunks) {
+				for (int i = 0, length = chunk.capacity(); i < length; i++) {
+					chunk.put(i, value);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,36 @@
+package lib.collection;
+
+/**
+ * オープンアドレス法のハッシュテーブルで共通に使う計算
+ */
+final class Hashing {
+
+	/** ハッシュ値を撹乱するための乱数（実行ごとに変わるため、特定の入力で衝突を狙われにくい） */
+	private static final long SEED = System.nanoTime();
+
+	private Hashing() {
+	}
+
+	/**
+	 * 想定する要素数から負荷率が1/2以下になる容量を求める
+	 *
+	 * @param expectedSize 想定する要素数
+	 * @return 容量（2のべき乗）
+	 */
+	static int tableSizeFor(int expectedSize) {
+		return Math.max(Integer.highestOneBit(Math.max(expectedSize, 1) * 2 - 1) << 1, 2);
+	}
+
+	/**
+	 * ハッシュ値を求める（splitmix64の撹乱関数）
+	 *
+	 * @param key キー
+	 * @return ハッシュ値
+	 */
+	static int hash(long key) {
+		long x = key + SEED;
+		x = (x ^ (x >>> 30)) * 0xbf58476d1ce4e5b9L;
+		x = (x ^ (x >>> 27)) * 0x94d049bb133111ebL;
+		return (int) (x ^ (x >>> 31));
+	}
+}
@@ -0,0 +1,188 @@
+package lib.collection;
+
+import java.util.Arrays;
+
+/**
+ * intを要素とするオープンアドレス法（線形探索）のハッシュセット（HashSet&lt;Integer&gt;のボクシングなし版）
+ */
+public final class IntHashSet {
+
+	/** デフォルトの初期容量 */
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/** 要素を保存する配列 */
+	private int[] keys;
+	/** スロットが使用中かどうか */
+	private boolean[] used;
+	/** 要素数 */
+	private int size;
+	/** スロット位置を求めるためのマスク */
+	private int mask;
+
+	/**
+	 * コンストラクター
+	 */
+	public IntHashSet() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * コンストラクター
+	 *
+	 * @param expectedSize 想定する要素数
+	 */
+	public IntHashSet(int expectedSize) {
+		allocate(Hashing.tableSizeFor(expectedSize));
+	}
+
+	/**
+	 * 要素を追加する
+	 *
+	 * @param key 要素
+	 * @return 新たに追加された場合はtrue
+	 */
+	public boolean add(int key) {
+		int i = Hashing.hash(key) & mask;
+		for (; used[i]; i = (i + 1) & mask) {
+			if (keys[i] == key) {
+				return false;
+			}
+		}
+		if ((size + 1) << 1 > keys.length) {
+			rehash(keys.length << 1);
+			return add(key);
+		}
+		used[i] = true;
+		keys[i] = key;
+		size++;
+		return true;
+	}
+
+	/**
+	 * 要素が存在するかどうかを判定する
+	 *
+	 * @param key 要素
+	 * @return 存在する場合はtrue
+	 */
+	public boolean contains(int key) {
+		return find(key) >= 0;
+	}
+
+	/**
+	 * 要素を取り除く
+	 *
+	 * @param key 要素
+	 * @return 要素が存在した場合はtrue
+	 */
+	public boolean remove(int key) {
+		int slot = find(key);
+		if (slot < 0) {
+			return false;
+		}
+		// 後続のスロットを詰めることで、削除済みの印を使わずに探索の連続性を保つ
+		int hole = slot;
+		for (int i = (hole + 1) & mask; used[i]; i = (i + 1) & mask) {
+			int home = Hashing.hash(keys[i]) & mask;
+			if (((i - home) & mask) >= ((i - hole) & mask)) {
+				keys[hole] = keys[i];
+				hole = i;
+			}
+		}
+		used[hole] = false;
+		size--;
+		return true;
+	}
+
+	/**
+	 * 要素数を取得する
+	 *
+	 * @return 要素数
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * 空かどうかを判定する
+	 *
+	 * @return 空の場合はtrue
+	 */
+	public boolean isEmpty() {
+		return 0 == size;
+	}
+
+	/**
+	 * すべての要素を取り除く
+	 */
+	public void clear() {
+		Arrays.fill(used, false);
+		size = 0;
+	}
+
+	/**
+	 * 要素を配列に変換する（順序は不定）
+	 *
+	 * @return 要素の配列
+	 */
+	public int[] toArray() {
+		int[] result = new int[size];
+		for (int i = 0, j = 0; i < used.length; i++) {
+			if (used[i]) {
+				result[j++] = keys[i];
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 要素のスロット位置を探す
+	 *
+	 * @param key 要素
+	 * @return スロット位置（存在しない場合は-1）
+	 */
+	private int find(int key) {
+		for (int i = Hashing.hash(key) & mask; used[i]; i = (i + 1) & mask) {
+			if (keys[i] == key) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * テーブルを拡張して再配置する
+	 *
+	 * @param capacity 新しい容量
+	 */
+	private void rehash(int capacity) {
+		int[] oldKeys = keys;
+		boolean[] oldUsed = used;
+		allocate(capacity);
+		for (int i = 0; i < oldUsed.length; i++) {
+			if (oldUsed[i]) {
+				int j = Hashing.hash(oldKeys[i]) & mask;
+				while (used[j]) {
+					j = (j + 1) & mask;
+				}
+				used[j] = true;
+				keys[j] = oldKeys[i];
+			}
+		}
+	}
+
+	/**
+	 * テーブルを確保する
+	 *
+	 * @param capacity 容量（2のべき乗）
+	 */
+	private void allocate(int capacity) {
+		keys = new int[capacity];
+		used = new boolean[capacity];
+		mask = capacity - 1;
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(toArray());
+	}
+}
@@ -0,0 +1,120 @@
+package lib.collection;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * intを要素とする最小ヒープ（PriorityQueue&lt;Integer&gt;のボクシングなし版）
+ *
+ * 最大ヒープとして使う場合は、符号を反転した値を入れる。
+ */
+public final class IntHeap {
+
+	/** デフォルトの初期容量 */
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/** 要素を保存する配列（二分ヒープ） */
+	private int[] heap;
+	/** 要素数 */
+	private int size;
+
+	/**
+	 * コンストラクター
+	 */
+	public IntHeap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * コンストラクター
+	 *
+	 * @param capacity 初期容量
+	 */
+	public IntHeap(int capacity) {
+		heap = new int[Math.max(capacity, 1)];
+	}
+
+	/**
+	 * 要素を追加する
+	 *
+	 * @param value 追加する値
+	 */
+	public void push(int value) {
+		if (size == heap.length) {
+			heap = Arrays.copyOf(heap, size << 1);
+		}
+		int i = size++;
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (heap[parent] <= value) {
+				break;
+			}
+			heap[i] = heap[parent];
+			i = parent;
+		}
+		heap[i] = value;
+	}
+
+	/**
+	 * 最小の要素を取得する
+	 *
+	 * @return 最小の要素
+	 */
+	public int peek() {
+		if (0 == size) {
+			throw new NoSuchElementException();
+		}
+		return heap[0];
+	}
+
+	/**
+	 * 最小の要素を取り出す
+	 *
+	 * @return 最小の要素
+	 */
+	public int pop() {
+		if (0 == size) {
+			throw new NoSuchElementException();
+		}
+		int result = heap[0], value = heap[--size];
+		int i = 0, half = size >>> 1;
+		while (i < half) {
+			int child = (i << 1) + 1;
+			if ((child + 1 < size) && (heap[child + 1] < heap[child])) {
+				child++;
+			}
+			if (value <= heap[child]) {
+				break;
+			}
+			heap[i] = heap[child];
+			i = child;
+		}
+		heap[i] = value;
+		return result;
+	}
+
+	/**
+	 * 要素数を取得する
+	 *
+	 * @return 要素数
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * 空かどうかを判定する
+	 *
+	 * @return 空の場合はtrue
+	 */
+	public boolean isEmpty() {
+		return 0 == size;
+	}
+
+	/**
+	 * すべての要素を取り除く
+	 */
+	public void clear() {
+		size = 0;
+	}
+}
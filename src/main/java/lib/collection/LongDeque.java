@@ -0,0 +1,163 @@
+package lib.collection;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * longを要素とする両端キュー（ArrayDeque&lt;Long&gt;のボクシングなし版）
+ */
+public final class LongDeque {
+
+	/** デフォルトの初期容量 */
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/** 要素を保存するリングバッファー（長さは2のべき乗） */
+	private long[] data;
+	/** 先頭の位置 */
+	private int head;
+	/** 要素数 */
+	private int size;
+
+	/**
+	 * コンストラクター
+	 */
+	public LongDeque() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * コンストラクター
+	 *
+	 * @param capacity 初期容量
+	 */
+	public LongDeque(int capacity) {
+		data = new long[Math.max(Integer.highestOneBit(Math.max(capacity, 1) * 2 - 1), 2)];
+	}
+
+	/**
+	 * 先頭に要素を追加する
+	 *
+	 * @param value 追加する値
+	 */
+	public void addFirst(long value) {
+		if (size == data.length) {
+			grow();
+		}
+		head = (head - 1) & (data.length - 1);
+		data[head] = value;
+		size++;
+	}
+
+	/**
+	 * 末尾に要素を追加する
+	 *
+	 * @param value 追加する値
+	 */
+	public void addLast(long value) {
+		if (size == data.length) {
+			grow();
+		}
+		data[(head + size) & (data.length - 1)] = value;
+		size++;
+	}
+
+	/**
+	 * 先頭の要素を取り出す
+	 *
+	 * @return 先頭の要素
+	 */
+	public long pollFirst() {
+		if (0 == size) {
+			throw new NoSuchElementException();
+		}
+		long value = data[head];
+		head = (head + 1) & (data.length - 1);
+		size--;
+		return value;
+	}
+
+	/**
+	 * 末尾の要素を取り出す
+	 *
+	 * @return 末尾の要素
+	 */
+	public long pollLast() {
+		if (0 == size) {
+			throw new NoSuchElementException();
+		}
+		return data[(head + --size) & (data.length - 1)];
+	}
+
+	/**
+	 * 先頭の要素を取得する
+	 *
+	 * @return 先頭の要素
+	 */
+	public long peekFirst() {
+		if (0 == size) {
+			throw new NoSuchElementException();
+		}
+		return data[head];
+	}
+
+	/**
+	 * 末尾の要素を取得する
+	 *
+	 * @return 末尾の要素
+	 */
+	public long peekLast() {
+		if (0 == size) {
+			throw new NoSuchElementException();
+		}
+		return data[(head + size - 1) & (data.length - 1)];
+	}
+
+	/**
+	 * 先頭から数えた位置の要素を取得する
+	 *
+	 * @param index 先頭からの位置
+	 * @return 要素
+	 */
+	public long get(int index) {
+		Objects.checkIndex(index, size);
+		return data[(head + index) & (data.length - 1)];
+	}
+
+	/**
+	 * 要素数を取得する
+	 *
+	 * @return 要素数
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * 空かどうかを判定する
+	 *
+	 * @return 空の場合はtrue
+	 */
+	public boolean isEmpty() {
+		return 0 == size;
+	}
+
+	/**
+	 * すべての要素を取り除く
+	 */
+	public void clear() {
+		head = 0;
+		size = 0;
+	}
+
+	/**
+	 * 容量を2倍に拡張する（先頭を位置0に詰め直す）
+	 */
+	private void grow() {
+		long[] newData = new long[data.length << 1];
+		int firstPart = Math.min(size, data.length - head);
+		System.arraycopy(data, head, newData, 0, firstPart);
+		System.arraycopy(data, 0, newData, firstPart, size - firstPart);
+		data = newData;
+		head = 0;
+	}
+}
@@ -0,0 +1,141 @@
+package lib.collection;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * longの優先度とintの値の組を要素とする最小ヒープ（ダイクストラ法の「距離と頂点」などに使う）
+ */
+public final class LongIntHeap {
+
+	/** デフォルトの初期容量 */
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/** 優先度を保存する配列（二分ヒープ） */
+	private long[] keys;
+	/** 値を保存する配列（keysと同じ位置に対応する） */
+	private int[] values;
+	/** 要素数 */
+	private int size;
+
+	/**
+	 * コンストラクター
+	 */
+	public LongIntHeap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * コンストラクター
+	 *
+	 * @param capacity 初期容量
+	 */
+	public LongIntHeap(int capacity) {
+		keys = new long[Math.max(capacity, 1)];
+		values = new int[keys.length];
+	}
+
+	/**
+	 * 要素を追加する
+	 *
+	 * @param key   優先度
+	 * @param value 値
+	 */
+	public void push(long key, int value) {
+		if (size == keys.length) {
+			keys = Arrays.copyOf(keys, size << 1);
+			values = Arrays.copyOf(values, size << 1);
+		}
+		int i = size++;
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (keys[parent] <= key) {
+				break;
+			}
+			keys[i] = keys[parent];
+			values[i] = values[parent];
+			i = parent;
+		}
+		keys[i] = key;
+		values[i] = value;
+	}
+
+	/**
+	 * 優先度が最小の要素の優先度を取得する
+	 *
+	 * @return 最小の優先度
+	 */
+	public long peekKey() {
+		if (0 == size) {
+			throw new NoSuchElementException();
+		}
+		return keys[0];
+	}
+
+	/**
+	 * 優先度が最小の要素の値を取得する
+	 *
+	 * @return 最小の優先度の要素の値
+	 */
+	public int peekValue() {
+		if (0 == size) {
+			throw new NoSuchElementException();
+		}
+		return values[0];
+	}
+
+	/**
+	 * 優先度が最小の要素を取り出す（優先度は事前に{@link #peekKey()}で取得する）
+	 *
+	 * @return 取り出された要素の値
+	 */
+	public int pop() {
+		if (0 == size) {
+			throw new NoSuchElementException();
+		}
+		int result = values[0];
+		long key = keys[--size];
+		int value = values[size];
+		int i = 0, half = size >>> 1;
+		while (i < half) {
+			int child = (i << 1) + 1;
+			if ((child + 1 < size) && (keys[child + 1] < keys[child])) {
+				child++;
+			}
+			if (key <= keys[child]) {
+				break;
+			}
+			keys[i] = keys[child];
+			values[i] = values[child];
+			i = child;
+		}
+		keys[i] = key;
+		values[i] = value;
+		return result;
+	}
+
+	/**
+	 * 要素数を取得する
+	 *
+	 * @return 要素数
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * 空かどうかを判定する
+	 *
+	 * @return 空の場合はtrue
+	 */
+	public boolean isEmpty() {
+		return 0 == size;
+	}
+
+	/**
+	 * すべての要素を取り除く
+	 */
+	public void clear() {
+		size = 0;
+	}
+}
@@ -0,0 +1,196 @@
+package lib.collection;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * longを要素とする可変長リスト（ArrayList&lt;Long&gt;のボクシングなし版）
+ */
+public final class LongList {
+
+	/** デフォルトの初期容量 */
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/** 要素を保存する配列 */
+	private long[] data;
+	/** 要素数 */
+	private int size;
+
+	/**
+	 * コンストラクター
+	 */
+	public LongList() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * コンストラクター
+	 *
+	 * @param capacity 初期容量
+	 */
+	public LongList(int capacity) {
+		data = new long[Math.max(capacity, 1)];
+	}
+
+	/**
+	 * 配列の内容をコピーしてリストを作成する
+	 *
+	 * @param values 初期値
+	 * @return 作成されたリスト
+	 */
+	public static LongList of(long... values) {
+		LongList list = new LongList(values.length);
+		System.arraycopy(values, 0, list.data, 0, values.length);
+		list.size = values.length;
+		return list;
+	}
+
+	/**
+	 * 末尾に要素を追加する
+	 *
+	 * @param value 追加する値
+	 */
+	public void add(long value) {
+		if (size == data.length) {
+			grow(size + 1);
+		}
+		data[size++] = value;
+	}
+
+	/**
+	 * 末尾に複数の要素を追加する
+	 *
+	 * @param values 追加する値
+	 */
+	public void addAll(long... values) {
+		ensureCapacity(size + values.length);
+		System.arraycopy(values, 0, data, size, values.length);
+		size += values.length;
+	}
+
+	/**
+	 * 指定位置の要素を取得する
+	 *
+	 * @param index 位置
+	 * @return 要素
+	 */
+	public long get(int index) {
+		Objects.checkIndex(index, size);
+		return data[index];
+	}
+
+	/**
+	 * 指定位置の要素を設定する
+	 *
+	 * @param index 位置
+	 * @param value 設定する値
+	 * @return 設定前の値
+	 */
+	public long set(int index, long value) {
+		Objects.checkIndex(index, size);
+		long old = data[index];
+		data[index] = value;
+		return old;
+	}
+
+	/**
+	 * 末尾の要素を取得する
+	 *
+	 * @return 末尾の要素
+	 */
+	public long last() {
+		if (0 == size) {
+			throw new NoSuchElementException();
+		}
+		return data[size - 1];
+	}
+
+	/**
+	 * 末尾の要素を取り除く
+	 *
+	 * @return 取り除かれた要素
+	 */
+	public long removeLast() {
+		if (0 == size) {
+			throw new NoSuchElementException();
+		}
+		return data[--size];
+	}
+
+	/**
+	 * 要素数を取得する
+	 *
+	 * @return 要素数
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * 空かどうかを判定する
+	 *
+	 * @return 空の場合はtrue
+	 */
+	public boolean isEmpty() {
+		return 0 == size;
+	}
+
+	/**
+	 * すべての要素を取り除く（容量はそのまま）
+	 */
+	public void clear() {
+		size = 0;
+	}
+
+	/**
+	 * 要素を昇順にソートする
+	 */
+	public void sort() {
+		Arrays.sort(data, 0, size);
+	}
+
+	/**
+	 * ソート済みのリストから値を二分探索する
+	 *
+	 * @param value 探す値
+	 * @return {@link Arrays#binarySearch(long[], long)}と同じ規約の位置
+	 */
+	public int binarySearch(long value) {
+		return Arrays.binarySearch(data, 0, size, value);
+	}
+
+	/**
+	 * 要素を配列に変換する
+	 *
+	 * @return 要素の配列
+	 */
+	public long[] toArray() {
+		return Arrays.copyOf(data, size);
+	}
+
+	/**
+	 * 容量を確保する
+	 *
+	 * @param capacity 必要な容量
+	 */
+	public void ensureCapacity(int capacity) {
+		if (capacity > data.length) {
+			grow(capacity);
+		}
+	}
+
+	/**
+	 * 容量を拡張する
+	 *
+	 * @param minCapacity 必要な最小容量
+	 */
+	private void grow(int minCapacity) {
+		data = Arrays.copyOf(data, Math.max(minCapacity, data.length << 1));
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(toArray());
+	}
+}
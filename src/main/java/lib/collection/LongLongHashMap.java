@@ -0,0 +1,264 @@
+package lib.collection;
+
+import java.util.Arrays;
+
+/**
+ * キーと値がlongのオープンアドレス法（線形探索）のハッシュマップ（HashMap&lt;Long, Long&gt;のボクシングなし版）
+ */
+public final class LongLongHashMap {
+
+	/** デフォルトの初期容量 */
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/** キーを保存する配列 */
+	private long[] keys;
+	/** 値を保存する配列 */
+	private long[] values;
+	/** スロットが使用中かどうか */
+	private boolean[] used;
+	/** 要素数 */
+	private int size;
+	/** スロット位置を求めるためのマスク */
+	private int mask;
+
+	/**
+	 * コンストラクター
+	 */
+	public LongLongHashMap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * コンストラクター
+	 *
+	 * @param expectedSize 想定する要素数
+	 */
+	public LongLongHashMap(int expectedSize) {
+		allocate(Hashing.tableSizeFor(expectedSize));
+	}
+
+	/**
+	 * キーに対応する値を取得する
+	 *
+	 * @param key          キー
+	 * @param defaultValue キーが存在しない場合の値
+	 * @return キーに対応する値
+	 */
+	public long get(long key, long defaultValue) {
+		int slot = find(key);
+		return (slot >= 0) ? values[slot] : defaultValue;
+	}
+
+	/**
+	 * キーに対応する値を取得する（存在しない場合は0）
+	 *
+	 * @param key キー
+	 * @return キーに対応する値
+	 */
+	public long get(long key) {
+		return get(key, 0);
+	}
+
+	/**
+	 * キーが存在するかどうかを判定する
+	 *
+	 * @param key キー
+	 * @return 存在する場合はtrue
+	 */
+	public boolean containsKey(long key) {
+		return find(key) >= 0;
+	}
+
+	/**
+	 * キーに値を設定する
+	 *
+	 * @param key   キー
+	 * @param value 値
+	 */
+	public void put(long key, long value) {
+		// insertで配列が再確保されることがあるため、位置を先に求める
+		int slot = insert(key);
+		values[slot] = value;
+	}
+
+	/**
+	 * キーに対応する値に加算する（存在しない場合は0に加算する）
+	 *
+	 * @param key   キー
+	 * @param delta 加算する値
+	 * @return 加算後の値
+	 */
+	public long add(long key, long delta) {
+		int slot = insert(key);
+		return values[slot] += delta;
+	}
+
+	/**
+	 * キーを取り除く
+	 *
+	 * @param key キー
+	 * @return キーが存在した場合はtrue
+	 */
+	public boolean remove(long key) {
+		int slot = find(key);
+		if (slot < 0) {
+			return false;
+		}
+		// 後続のスロットを詰めることで、削除済みの印を使わずに探索の連続性を保つ
+		int hole = slot;
+		for (int i = (hole + 1) & mask; used[i]; i = (i + 1) & mask) {
+			int home = Hashing.hash(keys[i]) & mask;
+			if (((i - home) & mask) >= ((i - hole) & mask)) {
+				keys[hole] = keys[i];
+				values[hole] = values[i];
+				hole = i;
+			}
+		}
+		used[hole] = false;
+		size--;
+		return true;
+	}
+
+	/**
+	 * 要素数を取得する
+	 *
+	 * @return 要素数
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * 空かどうかを判定する
+	 *
+	 * @return 空の場合はtrue
+	 */
+	public boolean isEmpty() {
+		return 0 == size;
+	}
+
+	/**
+	 * すべての要素を取り除く
+	 */
+	public void clear() {
+		Arrays.fill(used, false);
+		size = 0;
+	}
+
+	/**
+	 * キーの一覧を取得する（順序は{@link #values()}と対応する）
+	 *
+	 * @return キーの配列
+	 */
+	public long[] keys() {
+		long[] result = new long[size];
+		for (int i = 0, j = 0; i < used.length; i++) {
+			if (used[i]) {
+				result[j++] = keys[i];
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 値の一覧を取得する（順序は{@link #keys()}と対応する）
+	 *
+	 * @return 値の配列
+	 */
+	public long[] values() {
+		long[] result = new long[size];
+		for (int i = 0, j = 0; i < used.length; i++) {
+			if (used[i]) {
+				result[j++] = values[i];
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * キーのスロット位置を探す
+	 *
+	 * @param key キー
+	 * @return スロット位置（存在しない場合は-1）
+	 */
+	private int find(long key) {
+		for (int i = Hashing.hash(key) & mask; used[i]; i = (i + 1) & mask) {
+			if (keys[i] == key) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * キーのスロットを確保する（存在しない場合は値0で追加する）
+	 *
+	 * @param key キー
+	 * @return スロット位置
+	 */
+	private int insert(long key) {
+		int i = Hashing.hash(key) & mask;
+		for (; used[i]; i = (i + 1) & mask) {
+			if (keys[i] == key) {
+				return i;
+			}
+		}
+		if ((size + 1) << 1 > keys.length) {
+			rehash(keys.length << 1);
+			return insert(key);
+		}
+		used[i] = true;
+		keys[i] = key;
+		values[i] = 0;
+		size++;
+		return i;
+	}
+
+	/**
+	 * テーブルを拡張して再配置する
+	 *
+	 * @param capacity 新しい容量
+	 */
+	private void rehash(int capacity) {
+		long[] oldKeys = keys, oldValues = values;
+		boolean[] oldUsed = used;
+		allocate(capacity);
+		for (int i = 0; i < oldUsed.length; i++) {
+			if (oldUsed[i]) {
+				int j = Hashing.hash(oldKeys[i]) & mask;
+				while (used[j]) {
+					j = (j + 1) & mask;
+				}
+				used[j] = true;
+				keys[j] = oldKeys[i];
+				values[j] = oldValues[i];
+			}
+		}
+	}
+
+	/**
+	 * テーブルを確保する
+	 *
+	 * @param capacity 容量（2のべき乗）
+	 */
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = new long[capacity];
+		used = new boolean[capacity];
+		mask = capacity - 1;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("{");
+		for (int i = 0; i < used.length; i++) {
+			if (used[i]) {
+				if (sb.length() > 1) {
+					sb.append(", ");
+				}
+				sb.append(keys[i]).append('=').append(values[i]);
+			}
+		}
+		return sb.append('}').toString();
+	}
+}
@@ -0,0 +1,297 @@
+package lib.ds;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.IntPredicate;
+
+/**
+ * intを要素とする非再帰のセグメント木（1点更新、区間取得）
+ *
+ * 演算はサブクラス（{@link Sum}、{@link Min}、{@link Max}）で定義する。
+ * サブクラスはfinalで、1つの解答で使う種類は通常1つのため、{@link #combine(int, int)}の呼び出しはインライン化される。
+ */
+public abstract class IntSegmentTree {
+
+	/** 要素数 */
+	private final int n;
+	/** 葉の数（2のべき乗） */
+	private final int leaves;
+	/** 単位元 */
+	private final int identity;
+	/** 節点の値（1が根、leaves + iがi番目の葉） */
+	private final int[] tree;
+
+	/**
+	 * コンストラクター（すべての要素は単位元）
+	 *
+	 * @param n        要素数
+	 * @param identity 単位元
+	 */
+	protected IntSegmentTree(int n, int identity) {
+		this.n = n;
+		this.leaves = Math.max(Integer.highestOneBit(Math.max(n, 1) * 2 - 1), 1);
+		this.identity = identity;
+		this.tree = new int[leaves << 1];
+		Arrays.fill(tree, identity);
+	}
+
+	/**
+	 * すべての要素をO(n)で設定する（サブクラスのフィールドの初期化後に呼ぶ）
+	 *
+	 * @param values 値（長さは要素数と同じ）
+	 */
+	protected final void build(int[] values) {
+		if (values.length != n) {
+			throw new IllegalArgumentException("length must be " + n + " : " + values.length);
+		}
+		System.arraycopy(values, 0, tree, leaves, n);
+		for (int i = leaves - 1; i > 0; i--) {
+			tree[i] = combine(tree[i << 1], tree[(i << 1) | 1]);
+		}
+	}
+
+	/**
+	 * 演算（結合法則を満たし、単位元を持つ）
+	 *
+	 * @param left  左の値
+	 * @param right 右の値
+	 * @return 演算結果
+	 */
+	protected abstract int combine(int left, int right);
+
+	/**
+	 * 要素数を取得する
+	 *
+	 * @return 要素数
+	 */
+	public int size() {
+		return n;
+	}
+
+	/**
+	 * 要素を設定する
+	 *
+	 * @param index インデックス
+	 * @param value 値
+	 */
+	public void set(int index, int value) {
+		Objects.checkIndex(index, n);
+		int i = index + leaves;
+		tree[i] = value;
+		for (i >>= 1; i > 0; i >>= 1) {
+			tree[i] = combine(tree[i << 1], tree[(i << 1) | 1]);
+		}
+	}
+
+	/**
+	 * 要素に値を演算する（和の場合は加算、最小値の場合は小さい方に更新する）
+	 *
+	 * @param index インデックス
+	 * @param value 値
+	 */
+	public void update(int index, int value) {
+		Objects.checkIndex(index, n);
+		set(index, combine(tree[index + leaves], value));
+	}
+
+	/**
+	 * 要素を取得する
+	 *
+	 * @param index インデックス
+	 * @return 値
+	 */
+	public int get(int index) {
+		Objects.checkIndex(index, n);
+		return tree[index + leaves];
+	}
+
+	/**
+	 * 区間[from, to)の演算結果を求める
+	 *
+	 * @param from 開始位置（含む）
+	 * @param to   終了位置（含まない）
+	 * @return 演算結果（空の区間の場合は単位元）
+	 */
+	public int query(int from, int to) {
+		Objects.checkFromToIndex(from, to, n);
+		int left = identity, right = identity;
+		for (int l = from + leaves, r = to + leaves; l < r; l >>= 1, r >>= 1) {
+			if (0 != (l & 1)) {
+				left = combine(left, tree[l++]);
+			}
+			if (0 != (r & 1)) {
+				right = combine(tree[--r], right);
+			}
+		}
+		return combine(left, right);
+	}
+
+	/**
+	 * すべての要素の演算結果を求める
+	 *
+	 * @return 演算結果
+	 */
+	public int all() {
+		return tree[1];
+	}
+
+	/**
+	 * predicate(query(from, r))がtrueとなる最大のrを求める（predicateは単位元でtrue、かつ単調であること）
+	 *
+	 * @param from      開始位置
+	 * @param predicate 条件
+	 * @return 最大のr
+	 */
+	public int maxRight(int from, IntPredicate predicate) {
+		Objects.checkIndex(from, n + 1);
+		if (from == n) {
+			return n;
+		}
+		int i = from + leaves;
+		int value = identity;
+		do {
+			while (0 == (i & 1)) {
+				i >>= 1;
+			}
+			if (!predicate.test(combine(value, tree[i]))) {
+				while (i < leaves) {
+					i <<= 1;
+					int next = combine(value, tree[i]);
+					if (predicate.test(next)) {
+						value = next;
+						i++;
+					}
+				}
+				return i - leaves;
+			}
+			value = combine(value, tree[i]);
+			i++;
+		} while ((i & -i) != i);
+		return n;
+	}
+
+	/**
+	 * predicate(query(l, to))がtrueとなる最小のlを求める（predicateは単位元でtrue、かつ単調であること）
+	 *
+	 * @param to        終了位置
+	 * @param predicate 条件
+	 * @return 最小のl
+	 */
+	public int minLeft(int to, IntPredicate predicate) {
+		Objects.checkIndex(to, n + 1);
+		if (0 == to) {
+			return 0;
+		}
+		int i = to + leaves;
+		int value = identity;
+		do {
+			i--;
+			while ((i > 1) && (0 != (i & 1))) {
+				i >>= 1;
+			}
+			if (!predicate.test(combine(tree[i], value))) {
+				while (i < leaves) {
+					i = (i << 1) | 1;
+					int next = combine(tree[i], value);
+					if (predicate.test(next)) {
+						value = next;
+						i--;
+					}
+				}
+				return i + 1 - leaves;
+			}
+			value = combine(tree[i], value);
+		} while ((i & -i) != i);
+		return 0;
+	}
+
+	/**
+	 * 区間和のセグメント木
+	 */
+	public static final class Sum extends IntSegmentTree {
+
+		/**
+		 * コンストラクター
+		 *
+		 * @param n 要素数
+		 */
+		public Sum(int n) {
+			super(n, 0);
+		}
+
+		/**
+		 * コンストラクター
+		 *
+		 * @param values 初期値
+		 */
+		public Sum(int[] values) {
+			super(values.length, 0);
+			build(values);
+		}
+
+		@Override
+		protected int combine(int left, int right) {
+			return left + right;
+		}
+	}
+
+	/**
+	 * 区間最小値のセグメント木
+	 */
+	public static final class Min extends IntSegmentTree {
+
+		/**
+		 * コンストラクター
+		 *
+		 * @param n 要素数
+		 */
+		public Min(int n) {
+			super(n, Integer.MAX_VALUE);
+		}
+
+		/**
+		 * コンストラクター
+		 *
+		 * @param values 初期値
+		 */
+		public Min(int[] values) {
+			super(values.length, Integer.MAX_VALUE);
+			build(values);
+		}
+
+		@Override
+		protected int combine(int left, int right) {
+			return Math.min(left, right);
+		}
+	}
+
+	/**
+	 * 区間最大値のセグメント木
+	 */
+	public static final class Max extends IntSegmentTree {
+
+		/**
+		 * コンストラクター
+		 *
+		 * @param n 要素数
+		 */
+		public Max(int n) {
+			super(n, Integer.MIN_VALUE);
+		}
+
+		/**
+		 * コンストラクター
+		 *
+		 * @param values 初期値
+		 */
+		public Max(int[] values) {
+			super(values.length, Integer.MIN_VALUE);
+			build(values);
+		}
+
+		@Override
+		protected int combine(int left, int right) {
+			return Math.max(left, right);
+		}
+	}
+}
@@ -0,0 +1,119 @@
+package lib.ds;
+
+import java.util.Objects;
+
+/**
+ * longを要素とするフェニック木（Binary Indexed Tree、1点加算、区間和）
+ */
+public final class LongFenwickTree {
+
+	/** 要素数 */
+	private final int n;
+	/** 部分和（1始まり、tree[i]は(i - (i &amp; -i), i]の和） */
+	private final long[] tree;
+
+	/**
+	 * コンストラクター（すべての要素は0）
+	 *
+	 * @param n 要素数
+	 */
+	public LongFenwickTree(int n) {
+		this.n = n;
+		this.tree = new long[n + 1];
+	}
+
+	/**
+	 * コンストラクター（O(n)で構築する）
+	 *
+	 * @param values 初期値
+	 */
+	public LongFenwickTree(long[] values) {
+		this(values.length);
+		for (int i = 1; i <= n; i++) {
+			tree[i] += values[i - 1];
+			int parent = i + (i & -i);
+			if (parent <= n) {
+				tree[parent] += tree[i];
+			}
+		}
+	}
+
+	/**
+	 * 要素数を取得する
+	 *
+	 * @return 要素数
+	 */
+	public int size() {
+		return n;
+	}
+
+	/**
+	 * 要素に加算する
+	 *
+	 * @param index インデックス
+	 * @param value 加算する値
+	 */
+	public void add(int index, long value) {
+		Objects.checkIndex(index, n);
+		for (int i = index + 1; i <= n; i += i & -i) {
+			tree[i] += value;
+		}
+	}
+
+	/**
+	 * 区間[0, to)の和を求める
+	 *
+	 * @param to 終了位置（含まない）
+	 * @return 和
+	 */
+	public long sum(int to) {
+		Objects.checkIndex(to, n + 1);
+		long sum = 0L;
+		for (int i = to; i > 0; i &= i - 1) {
+			sum += tree[i];
+		}
+		return sum;
+	}
+
+	/**
+	 * 区間[from, to)の和を求める
+	 *
+	 * @param from 開始位置（含む）
+	 * @param to   終了位置（含まない）
+	 * @return 和
+	 */
+	public long sum(int from, int to) {
+		Objects.checkFromToIndex(from, to, n);
+		return sum(to) - sum(from);
+	}
+
+	/**
+	 * 要素を取得する
+	 *
+	 * @param index インデックス
+	 * @return 値
+	 */
+	public long get(int index) {
+		return sum(index, index + 1);
+	}
+
+	/**
+	 * sum(r + 1) &gt;= threshold となる最小のrを求める（要素がすべて0以上の場合のみ使える）
+	 *
+	 * @param threshold しきい値
+	 * @return 最小のr（存在しない場合は要素数）
+	 */
+	public int lowerBound(long threshold) {
+		if (threshold <= 0) {
+			return 0;
+		}
+		int position = 0;
+		for (int step = Integer.highestOneBit(Math.max(n, 1)); step > 0; step >>= 1) {
+			if ((position + step <= n) && (tree[position + step] < threshold)) {
+				position += step;
+				threshold -= tree[position];
+			}
+		}
+		return position;
+	}
+}
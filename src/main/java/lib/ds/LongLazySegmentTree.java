@@ -0,0 +1,536 @@
+package lib.ds;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.LongPredicate;
+
+/**
+ * longを要素と作用素とする非再帰の遅延評価セグメント木（区間更新、区間取得）
+ *
+ * 演算と作用はサブクラス（{@link AddSum}、{@link AddMin}、{@link AddMax}、{@link AffineSum}）で定義する。
+ * 作用が2つの値を持つ場合（アフィン変換など）は、1つのlongに詰めて扱う。
+ */
+public abstract class LongLazySegmentTree {
+
+	/** 要素数 */
+	private final int n;
+	/** 木の高さ */
+	private final int height;
+	/** 葉の数（2のべき乗） */
+	private final int leaves;
+	/** 単位元 */
+	private final long identity;
+	/** 恒等写像 */
+	private final long identityMapping;
+	/** 節点の値（1が根、leaves + iがi番目の葉） */
+	private final long[] tree;
+	/** 節点の子に伝播していない作用 */
+	private final long[] lazy;
+
+	/**
+	 * コンストラクター（すべての要素は単位元）
+	 *
+	 * @param n               要素数
+	 * @param identity        単位元
+	 * @param identityMapping 恒等写像
+	 */
+	protected LongLazySegmentTree(int n, long identity, long identityMapping) {
+		this.n = n;
+		this.leaves = Math.max(Integer.highestOneBit(Math.max(n, 1) * 2 - 1), 1);
+		this.height = Integer.numberOfTrailingZeros(leaves);
+		this.identity = identity;
+		this.identityMapping = identityMapping;
+		this.tree = new long[leaves << 1];
+		this.lazy = new long[leaves];
+		Arrays.fill(tree, identity);
+		Arrays.fill(lazy, identityMapping);
+	}
+
+	/**
+	 * すべての要素をO(n)で設定する（サブクラスのフィールドの初期化後に呼ぶ）
+	 *
+	 * @param values 値（長さは要素数と同じ）
+	 */
+	protected final void build(long[] values) {
+		if (values.length != n) {
+			throw new IllegalArgumentException("length must be " + n + " : " + values.length);
+		}
+		System.arraycopy(values, 0, tree, leaves, n);
+		for (int i = leaves - 1; i > 0; i--) {
+			pull(i);
+		}
+	}
+
+	/**
+	 * 演算（結合法則を満たし、単位元を持つ）
+	 *
+	 * @param left  左の値
+	 * @param right 右の値
+	 * @return 演算結果
+	 */
+	protected abstract long combine(long left, long right);
+
+	/**
+	 * 作用を値に適用する
+	 *
+	 * @param f      作用
+	 * @param x      値
+	 * @param length 値が表す区間の長さ
+	 * @return 作用を適用した値
+	 */
+	protected abstract long mapping(long f, long x, int length);
+
+	/**
+	 * 作用を合成する
+	 *
+	 * @param f 後から適用する作用
+	 * @param g 先に適用する作用
+	 * @return f(g(x))となる作用
+	 */
+	protected abstract long composition(long f, long g);
+
+	/**
+	 * 要素数を取得する
+	 *
+	 * @return 要素数
+	 */
+	public int size() {
+		return n;
+	}
+
+	/**
+	 * 節点の値を子から求め直す
+	 *
+	 * @param k 節点
+	 */
+	private void pull(int k) {
+		tree[k] = combine(tree[k << 1], tree[(k << 1) | 1]);
+	}
+
+	/**
+	 * 節点に作用を適用する
+	 *
+	 * @param k 節点
+	 * @param f 作用
+	 */
+	private void applyNode(int k, long f) {
+		// 節点の深さから区間の長さを求める
+		tree[k] = mapping(f, tree[k], leaves >> (31 - Integer.numberOfLeadingZeros(k)));
+		if (k < leaves) {
+			lazy[k] = composition(f, lazy[k]);
+		}
+	}
+
+	/**
+	 * 節点の作用を子に伝播する
+	 *
+	 * @param k 節点
+	 */
+	private void push(int k) {
+		if (lazy[k] != identityMapping) {
+			applyNode(k << 1, lazy[k]);
+			applyNode((k << 1) | 1, lazy[k]);
+			lazy[k] = identityMapping;
+		}
+	}
+
+	/**
+	 * 葉から根までの作用を伝播する
+	 *
+	 * @param leaf 葉
+	 */
+	private void pushPath(int leaf) {
+		for (int i = height; i > 0; i--) {
+			push(leaf >> i);
+		}
+	}
+
+	/**
+	 * 要素を設定する
+	 *
+	 * @param index インデックス
+	 * @param value 値
+	 */
+	public void set(int index, long value) {
+		Objects.checkIndex(index, n);
+		int k = index + leaves;
+		pushPath(k);
+		tree[k] = value;
+		for (k >>= 1; k > 0; k >>= 1) {
+			pull(k);
+		}
+	}
+
+	/**
+	 * 要素を取得する
+	 *
+	 * @param index インデックス
+	 * @return 値
+	 */
+	public long get(int index) {
+		Objects.checkIndex(index, n);
+		int k = index + leaves;
+		pushPath(k);
+		return tree[k];
+	}
+
+	/**
+	 * 区間[from, to)の演算結果を求める
+	 *
+	 * @param from 開始位置（含む）
+	 * @param to   終了位置（含まない）
+	 * @return 演算結果（空の区間の場合は単位元）
+	 */
+	public long query(int from, int to) {
+		Objects.checkFromToIndex(from, to, n);
+		if (from == to) {
+			return identity;
+		}
+		int l = from + leaves, r = to + leaves;
+		for (int i = height; i > 0; i--) {
+			if (((l >> i) << i) != l) {
+				push(l >> i);
+			}
+			if (((r >> i) << i) != r) {
+				push((r - 1) >> i);
+			}
+		}
+		long left = identity, right = identity;
+		for (; l < r; l >>= 1, r >>= 1) {
+			if (0 != (l & 1)) {
+				left = combine(left, tree[l++]);
+			}
+			if (0 != (r & 1)) {
+				right = combine(tree[--r], right);
+			}
+		}
+		return combine(left, right);
+	}
+
+	/**
+	 * すべての要素の演算結果を求める
+	 *
+	 * @return 演算結果
+	 */
+	public long all() {
+		return tree[1];
+	}
+
+	/**
+	 * 要素に作用を適用する
+	 *
+	 * @param index インデックス
+	 * @param f     作用
+	 */
+	public void apply(int index, long f) {
+		Objects.checkIndex(index, n);
+		int k = index + leaves;
+		pushPath(k);
+		tree[k] = mapping(f, tree[k], 1);
+		for (k >>= 1; k > 0; k >>= 1) {
+			pull(k);
+		}
+	}
+
+	/**
+	 * 区間[from, to)の要素に作用を適用する
+	 *
+	 * @param from 開始位置（含む）
+	 * @param to   終了位置（含まない）
+	 * @param f    作用
+	 */
+	public void apply(int from, int to, long f) {
+		Objects.checkFromToIndex(from, to, n);
+		if (from == to) {
+			return;
+		}
+		int l = from + leaves, r = to + leaves;
+		for (int i = height; i > 0; i--) {
+			if (((l >> i) << i) != l) {
+				push(l >> i);
+			}
+			if (((r >> i) << i) != r) {
+				push((r - 1) >> i);
+			}
+		}
+		for (int l2 = l, r2 = r; l2 < r2; l2 >>= 1, r2 >>= 1) {
+			if (0 != (l2 & 1)) {
+				applyNode(l2++, f);
+			}
+			if (0 != (r2 & 1)) {
+				applyNode(--r2, f);
+			}
+		}
+		for (int i = 1; i <= height; i++) {
+			if (((l >> i) << i) != l) {
+				pull(l >> i);
+			}
+			if (((r >> i) << i) != r) {
+				pull((r - 1) >> i);
+			}
+		}
+	}
+
+	/**
+	 * predicate(query(from, r))がtrueとなる最大のrを求める（predicateは単位元でtrue、かつ単調であること）
+	 *
+	 * @param from      開始位置
+	 * @param predicate 条件
+	 * @return 最大のr
+	 */
+	public int maxRight(int from, LongPredicate predicate) {
+		Objects.checkIndex(from, n + 1);
+		if (from == n) {
+			return n;
+		}
+		int i = from + leaves;
+		pushPath(i);
+		long value = identity;
+		do {
+			while (0 == (i & 1)) {
+				i >>= 1;
+			}
+			if (!predicate.test(combine(value, tree[i]))) {
+				while (i < leaves) {
+					push(i);
+					i <<= 1;
+					long next = combine(value, tree[i]);
+					if (predicate.test(next)) {
+						value = next;
+						i++;
+					}
+				}
+				return i - leaves;
+			}
+			value = combine(value, tree[i]);
+			i++;
+		} while ((i & -i) != i);
+		return n;
+	}
+
+	/**
+	 * predicate(query(l, to))がtrueとなる最小のlを求める（predicateは単位元でtrue、かつ単調であること）
+	 *
+	 * @param to        終了位置
+	 * @param predicate 条件
+	 * @return 最小のl
+	 */
+	public int minLeft(int to, LongPredicate predicate) {
+		Objects.checkIndex(to, n + 1);
+		if (0 == to) {
+			return 0;
+		}
+		int i = to + leaves;
+		pushPath(i - 1);
+		long value = identity;
+		do {
+			i--;
+			while ((i > 1) && (0 != (i & 1))) {
+				i >>= 1;
+			}
+			if (!predicate.test(combine(tree[i], value))) {
+				while (i < leaves) {
+					push(i);
+					i = (i << 1) | 1;
+					long next = combine(tree[i], value);
+					if (predicate.test(next)) {
+						value = next;
+						i--;
+					}
+				}
+				return i + 1 - leaves;
+			}
+			value = combine(tree[i], value);
+		} while ((i & -i) != i);
+		return 0;
+	}
+
+	/**
+	 * 区間加算・区間和の遅延評価セグメント木
+	 */
+	public static final class AddSum extends LongLazySegmentTree {
+
+		/**
+		 * コンストラクター
+		 *
+		 * @param n 要素数
+		 */
+		public AddSum(int n) {
+			super(n, 0L, 0L);
+		}
+
+		/**
+		 * コンストラクター
+		 *
+		 * @param values 初期値
+		 */
+		public AddSum(long[] values) {
+			super(values.length, 0L, 0L);
+			build(values);
+		}
+
+		@Override
+		protected long combine(long left, long right) {
+			return left + right;
+		}
+
+		@Override
+		protected long mapping(long f, long x, int length) {
+			return x + f * length;
+		}
+
+		@Override
+		protected long composition(long f, long g) {
+			return f + g;
+		}
+	}
+
+	/**
+	 * 区間加算・区間最小値の遅延評価セグメント木
+	 */
+	public static final class AddMin extends LongLazySegmentTree {
+
+		/**
+		 * コンストラクター
+		 *
+		 * @param n 要素数
+		 */
+		public AddMin(int n) {
+			super(n, Long.MAX_VALUE, 0L);
+		}
+
+		/**
+		 * コンストラクター
+		 *
+		 * @param values 初期値
+		 */
+		public AddMin(long[] values) {
+			super(values.length, Long.MAX_VALUE, 0L);
+			build(values);
+		}
+
+		@Override
+		protected long combine(long left, long right) {
+			return Math.min(left, right);
+		}
+
+		@Override
+		protected long mapping(long f, long x, int length) {
+			// 単位元（無限大として使う値）に加算してあふれないようにする
+			return (Long.MAX_VALUE == x) ? x : x + f;
+		}
+
+		@Override
+		protected long composition(long f, long g) {
+			return f + g;
+		}
+	}
+
+	/**
+	 * 区間加算・区間最大値の遅延評価セグメント木
+	 */
+	public static final class AddMax extends LongLazySegmentTree {
+
+		/**
+		 * コンストラクター
+		 *
+		 * @param n 要素数
+		 */
+		public AddMax(int n) {
+			super(n, Long.MIN_VALUE, 0L);
+		}
+
+		/**
+		 * コンストラクター
+		 *
+		 * @param values 初期値
+		 */
+		public AddMax(long[] values) {
+			super(values.length, Long.MIN_VALUE, 0L);
+			build(values);
+		}
+
+		@Override
+		protected long combine(long left, long right) {
+			return Math.max(left, right);
+		}
+
+		@Override
+		protected long mapping(long f, long x, int length) {
+			// 単位元（無限大として使う値）に加算してあふれないようにする
+			return (Long.MIN_VALUE == x) ? x : x + f;
+		}
+
+		@Override
+		protected long composition(long f, long g) {
+			return f + g;
+		}
+	}
+
+	/**
+	 * 区間アフィン変換（x → a * x + b）・区間和の遅延評価セグメント木（剰余で計算する）
+	 *
+	 * 作用は{@link #affine(long, long)}で作成する（aを上位32ビット、bを下位32ビットに詰める）。
+	 */
+	public static final class AffineSum extends LongLazySegmentTree {
+
+		/** 下位32ビットのマスク */
+		private static final long MASK = 0xFFFFFFFFL;
+		/** 恒等写像（a = 1、b = 0） */
+		private static final long IDENTITY_MAPPING = 1L << 32;
+
+		/** 法 */
+		private final long mod;
+
+		/**
+		 * コンストラクター
+		 *
+		 * @param n   要素数
+		 * @param mod 法（2^31未満）
+		 */
+		public AffineSum(int n, int mod) {
+			super(n, 0L, IDENTITY_MAPPING);
+			this.mod = mod;
+		}
+
+		/**
+		 * コンストラクター
+		 *
+		 * @param values 初期値（0以上mod未満）
+		 * @param mod    法（2^31未満）
+		 */
+		public AffineSum(long[] values, int mod) {
+			super(values.length, 0L, IDENTITY_MAPPING);
+			this.mod = mod;
+			build(values);
+		}
+
+		/**
+		 * アフィン変換の作用を作成する
+		 *
+		 * @param a 係数（0以上mod未満）
+		 * @param b 定数項（0以上mod未満）
+		 * @return 作用
+		 */
+		public static long affine(long a, long b) {
+			return (a << 32) | b;
+		}
+
+		@Override
+		protected long combine(long left, long right) {
+			long sum = left + right;
+			return (sum >= mod) ? sum - mod : sum;
+		}
+
+		@Override
+		protected long mapping(long f, long x, int length) {
+			return ((f >>> 32) * x + (f & MASK) * length) % mod;
+		}
+
+		@Override
+		protected long composition(long f, long g) {
+			long fa = f >>> 32, fb = f & MASK, ga = g >>> 32, gb = g & MASK;
+			return affine(fa * ga % mod, (fa * gb + fb) % mod);
+		}
+	}
+}
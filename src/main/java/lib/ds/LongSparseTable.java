@@ -0,0 +1,117 @@
+package lib.ds;
+
+import java.util.Objects;
+
+/**
+ * longを要素とするスパーステーブル（構築O(n log n)、区間取得O(1)、更新なし）
+ *
+ * 演算は冪等（最小値、最大値など）である必要があり、サブクラス（{@link Min}、{@link Max}）で定義する。
+ * 表は段ごとの配列ではなく、1つの配列に段の順に並べる。
+ */
+public abstract class LongSparseTable {
+
+	/** 要素数 */
+	private final int n;
+	/** 段ごとの値（table[k * n + i]は区間[i, i + 2^k)の演算結果） */
+	private final long[] table;
+
+	/**
+	 * コンストラクター
+	 *
+	 * @param values 値
+	 */
+	protected LongSparseTable(long[] values) {
+		this.n = values.length;
+		int levels = (0 == n) ? 1 : 32 - Integer.numberOfLeadingZeros(n);
+		this.table = new long[levels * n];
+		System.arraycopy(values, 0, table, 0, n);
+	}
+
+	/**
+	 * 表を構築する（サブクラスのフィールドの初期化後に呼ぶ）
+	 */
+	protected final void build() {
+		for (int k = 1, half = 1; (half << 1) <= n; k++, half <<= 1) {
+			int current = k * n, previous = current - n;
+			for (int i = 0; i + (half << 1) <= n; i++) {
+				table[current + i] = combine(table[previous + i], table[previous + i + half]);
+			}
+		}
+	}
+
+	/**
+	 * 演算（結合法則を満たし、冪等である）
+	 *
+	 * @param left  左の値
+	 * @param right 右の値
+	 * @return 演算結果
+	 */
+	protected abstract long combine(long left, long right);
+
+	/**
+	 * 要素数を取得する
+	 *
+	 * @return 要素数
+	 */
+	public int size() {
+		return n;
+	}
+
+	/**
+	 * 区間[from, to)の演算結果を求める
+	 *
+	 * @param from 開始位置（含む）
+	 * @param to   終了位置（含まない、fromより大きい）
+	 * @return 演算結果
+	 */
+	public long query(int from, int to) {
+		Objects.checkFromToIndex(from, to, n);
+		if (from == to) {
+			throw new IllegalArgumentException("range must not be empty : [" + from + ", " + to + ")");
+		}
+		int k = 31 - Integer.numberOfLeadingZeros(to - from);
+		return combine(table[k * n + from], table[k * n + to - (1 << k)]);
+	}
+
+	/**
+	 * 区間最小値のスパーステーブル
+	 */
+	public static final class Min extends LongSparseTable {
+
+		/**
+		 * コンストラクター
+		 *
+		 * @param values 値
+		 */
+		public Min(long[] values) {
+			super(values);
+			build();
+		}
+
+		@Override
+		protected long combine(long left, long right) {
+			return Math.min(left, right);
+		}
+	}
+
+	/**
+	 * 区間最大値のスパーステーブル
+	 */
+	public static final class Max extends LongSparseTable {
+
+		/**
+		 * コンストラクター
+		 *
+		 * @param values 値
+		 */
+		public Max(long[] values) {
+			super(values);
+			build();
+		}
+
+		@Override
+		protected long combine(long left, long right) {
+			return Math.max(left, right);
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package lib.graph;
+
+import java.util.Arrays;
+
+/**
+ * 幅優先探索（キューはint配列で、辺の重みは無視する）
+ */
+public final class BreadthFirstSearch {
+
+	/** 到達した順の頂点 */
+	private final int[] order;
+	/** 始点からの距離（未到達の頂点は-1） */
+	private final int[] distance;
+	/** 最短経路木の親（始点と未到達の頂点は-1） */
+	private final int[] parent;
+
+	/**
+	 * 1つの頂点から探索する
+	 *
+	 * @param graph  グラフ
+	 * @param source 始点
+	 */
+	public BreadthFirstSearch(CsrGraph graph, int source) {
+		this(graph, new int[] { source });
+	}
+
+	/**
+	 * 複数の頂点から同時に探索する（多始点BFS）
+	 *
+	 * @param graph   グラフ
+	 * @param sources 始点
+	 */
+	public BreadthFirstSearch(CsrGraph graph, int[] sources) {
+		int n = graph.vertexCount();
+		int[] queue = new int[n];
+		distance = new int[n];
+		parent = new int[n];
+		Arrays.fill(distance, -1);
+		Arrays.fill(parent, -1);
+		int tail = 0;
+		for (int source : sources) {
+			if (distance[source] < 0) {
+				distance[source] = 0;
+				queue[tail++] = source;
+			}
+		}
+		for (int head = 0; head < tail; head++) {
+			int v = queue[head];
+			for (int k = graph.start(v), end = graph.end(v); k < end; k++) {
+				int u = graph.target(k);
+				if (distance[u] < 0) {
+					distance[u] = distance[v] + 1;
+					parent[u] = v;
+					queue[tail++] = u;
+				}
+			}
+		}
+		order = Arrays.copyOf(queue, tail);
+	}
+
+	/**
+	 * 到達した順の頂点を取得する
+	 *
+	 * @return 距離の昇順の頂点
+	 */
+	public int[] order() {
+		return order.clone();
+	}
+
+	/**
+	 * 始点からの距離を取得する
+	 *
+	 * @param v 頂点
+	 * @return 距離（未到達の頂点は-1）
+	 */
+	public int distance(int v) {
+		return distance[v];
+	}
+
+	/**
+	 * 最短経路木の親を取得する
+	 *
+	 * @param v 頂点
+	 * @return 親（始点と未到達の頂点は-1）
+	 */
+	public int parent(int v) {
+		return parent[v];
+	}
+}
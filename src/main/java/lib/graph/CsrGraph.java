@@ -0,0 +1,279 @@
+package lib.graph;
+
+import java.util.Objects;
+
+import lib.collection.IntList;
+import lib.collection.LongList;
+
+/**
+ * 圧縮行格納（CSR）形式のグラフ（List&lt;List&lt;Integer&gt;&gt;の隣接リストのボクシングなし版）
+ *
+ * 頂点vから出る辺は、k = start(v)からend(v) - 1までのtarget(k)、weight(k)で走査する。
+ * 隣接する頂点は1つの配列に頂点の順に並ぶため、走査時のメモリーアクセスが連続する。
+ */
+public final class CsrGraph {
+
+	/** 頂点数 */
+	private final int n;
+	/** 頂点ごとの辺の開始位置（長さn + 1） */
+	private final int[] start;
+	/** 辺の行き先 */
+	private final int[] targets;
+	/** 辺の重み（重みなしの場合はnull） */
+	private final long[] weights;
+	/** 辺の元の番号（無向グラフの場合は、両方向の辺が同じ番号になる） */
+	private final int[] edgeIds;
+
+	/**
+	 * コンストラクター（計数ソートで辺を始点の順に並べる）
+	 *
+	 * @param n          頂点数
+	 * @param from       辺の始点
+	 * @param to         辺の終点
+	 * @param weights    辺の重み（重みなしの場合はnull）
+	 * @param undirected 無向グラフかどうか
+	 */
+	private CsrGraph(int n, int[] from, int[] to, long[] weights, boolean undirected) {
+		int m = from.length;
+		if ((to.length != m) || ((null != weights) && (weights.length != m))) {
+			throw new IllegalArgumentException("edge arrays must have the same length.");
+		}
+		this.n = n;
+		int entries = undirected ? m << 1 : m;
+		this.start = new int[n + 1];
+		this.targets = new int[entries];
+		this.weights = (null == weights) ? null : new long[entries];
+		this.edgeIds = new int[entries];
+		for (int i = 0; i < m; i++) {
+			start[Objects.checkIndex(from[i], n) + 1]++;
+			if (undirected) {
+				start[Objects.checkIndex(to[i], n) + 1]++;
+			} else {
+				Objects.checkIndex(to[i], n);
+			}
+		}
+		for (int v = 0; v < n; v++) {
+			start[v + 1] += start[v];
+		}
+		int[] position = new int[n];
+		System.arraycopy(start, 0, position, 0, n);
+		for (int i = 0; i < m; i++) {
+			put(position[from[i]]++, to[i], weights, i);
+			if (undirected) {
+				put(position[to[i]]++, from[i], weights, i);
+			}
+		}
+	}
+
+	/**
+	 * 辺を格納する
+	 *
+	 * @param k       格納する位置
+	 * @param target  行き先
+	 * @param weights 元の辺の重み
+	 * @param edge    元の辺の番号
+	 */
+	private void put(int k, int target, long[] weights, int edge) {
+		targets[k] = target;
+		edgeIds[k] = edge;
+		if (null != weights) {
+			this.weights[k] = weights[edge];
+		}
+	}
+
+	/**
+	 * 重みなしの有向グラフを作成する
+	 *
+	 * @param n    頂点数
+	 * @param from 辺の始点
+	 * @param to   辺の終点
+	 * @return グラフ
+	 */
+	public static CsrGraph directed(int n, int[] from, int[] to) {
+		return new CsrGraph(n, from, to, null, false);
+	}
+
+	/**
+	 * 重み付きの有向グラフを作成する
+	 *
+	 * @param n       頂点数
+	 * @param from    辺の始点
+	 * @param to      辺の終点
+	 * @param weights 辺の重み
+	 * @return グラフ
+	 */
+	public static CsrGraph directed(int n, int[] from, int[] to, long[] weights) {
+		return new CsrGraph(n, from, to, weights, false);
+	}
+
+	/**
+	 * 重みなしの無向グラフを作成する
+	 *
+	 * @param n 頂点数
+	 * @param u 辺の端点
+	 * @param v 辺のもう一方の端点
+	 * @return グラフ
+	 */
+	public static CsrGraph undirected(int n, int[] u, int[] v) {
+		return new CsrGraph(n, u, v, null, true);
+	}
+
+	/**
+	 * 重み付きの無向グラフを作成する
+	 *
+	 * @param n       頂点数
+	 * @param u       辺の端点
+	 * @param v       辺のもう一方の端点
+	 * @param weights 辺の重み
+	 * @return グラフ
+	 */
+	public static CsrGraph undirected(int n, int[] u, int[] v, long[] weights) {
+		return new CsrGraph(n, u, v, weights, true);
+	}
+
+	/**
+	 * 頂点数を取得する
+	 *
+	 * @return 頂点数
+	 */
+	public int vertexCount() {
+		return n;
+	}
+
+	/**
+	 * 辺の数を取得する（無向グラフの場合は両方向を数える）
+	 *
+	 * @return 辺の数
+	 */
+	public int edgeCount() {
+		return targets.length;
+	}
+
+	/**
+	 * 頂点から出る辺の開始位置を取得する
+	 *
+	 * @param v 頂点
+	 * @return 開始位置
+	 */
+	public int start(int v) {
+		return start[v];
+	}
+
+	/**
+	 * 頂点から出る辺の終了位置（含まない）を取得する
+	 *
+	 * @param v 頂点
+	 * @return 終了位置
+	 */
+	public int end(int v) {
+		return start[v + 1];
+	}
+
+	/**
+	 * 頂点の出次数を取得する
+	 *
+	 * @param v 頂点
+	 * @return 出次数
+	 */
+	public int degree(int v) {
+		return start[v + 1] - start[v];
+	}
+
+	/**
+	 * 辺の行き先を取得する
+	 *
+	 * @param k 辺の位置
+	 * @return 行き先の頂点
+	 */
+	public int target(int k) {
+		return targets[k];
+	}
+
+	/**
+	 * 辺の重みを取得する
+	 *
+	 * @param k 辺の位置
+	 * @return 重み（重みなしのグラフの場合は1）
+	 */
+	public long weight(int k) {
+		return (null == weights) ? 1L : weights[k];
+	}
+
+	/**
+	 * 辺の元の番号を取得する
+	 *
+	 * @param k 辺の位置
+	 * @return 作成時の配列での辺の番号
+	 */
+	public int edgeId(int k) {
+		return edgeIds[k];
+	}
+
+	/**
+	 * 辺を1本ずつ追加してグラフを作成する
+	 */
+	public static final class Builder {
+
+		/** 頂点数 */
+		private final int n;
+		/** 辺の始点 */
+		private final IntList from = new IntList();
+		/** 辺の終点 */
+		private final IntList to = new IntList();
+		/** 辺の重み */
+		private final LongList weights = new LongList();
+
+		/**
+		 * コンストラクター
+		 *
+		 * @param n 頂点数
+		 */
+		public Builder(int n) {
+			this.n = n;
+		}
+
+		/**
+		 * 辺を追加する
+		 *
+		 * @param u      始点
+		 * @param v      終点
+		 * @param weight 重み
+		 * @return このビルダー
+		 */
+		public Builder addEdge(int u, int v, long weight) {
+			from.add(u);
+			to.add(v);
+			weights.add(weight);
+			return this;
+		}
+
+		/**
+		 * 重み1の辺を追加する
+		 *
+		 * @param u 始点
+		 * @param v 終点
+		 * @return このビルダー
+		 */
+		public Builder addEdge(int u, int v) {
+			return addEdge(u, v, 1L);
+		}
+
+		/**
+		 * 有向グラフを作成する
+		 *
+		 * @return グラフ
+		 */
+		public CsrGraph buildDirected() {
+			return directed(n, from.toArray(), to.toArray(), weights.toArray());
+		}
+
+		/**
+		 * 無向グラフを作成する
+		 *
+		 * @return グラフ
+		 */
+		public CsrGraph buildUndirected() {
+			return undirected(n, from.toArray(), to.toArray(), weights.toArray());
+		}
+	}
+}
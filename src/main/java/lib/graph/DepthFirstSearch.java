@@ -0,0 +1,146 @@
+package lib.graph;
+
+import java.util.Arrays;
+
+/**
+ * 非再帰の深さ優先探索（スタックの深さに依存しないため、パスグラフなどの深い木でもスタックオーバーフローしない）
+ */
+public final class DepthFirstSearch {
+
+	/** 行きがけ順の頂点 */
+	private final int[] preorder;
+	/** 帰りがけ順の頂点 */
+	private final int[] postorder;
+	/** 探索木の親（根と未到達の頂点は-1） */
+	private final int[] parent;
+	/** 探索木の深さ（未到達の頂点は-1） */
+	private final int[] depth;
+	/** 行きがけ順に追加した頂点数 */
+	private int preorderCount;
+	/** 帰りがけ順に追加した頂点数 */
+	private int postorderCount;
+
+	/**
+	 * 1つの頂点から探索する
+	 *
+	 * @param graph グラフ
+	 * @param root  始点
+	 */
+	public DepthFirstSearch(CsrGraph graph, int root) {
+		this(graph, new int[] { root });
+	}
+
+	/**
+	 * すべての頂点から、未到達の頂点を根として順に探索する（森全体を探索する）
+	 *
+	 * @param graph グラフ
+	 */
+	public DepthFirstSearch(CsrGraph graph) {
+		this(graph, allVertices(graph.vertexCount()));
+	}
+
+	/**
+	 * 複数の頂点から、未到達の頂点を根として順に探索する
+	 *
+	 * @param graph グラフ
+	 * @param roots 始点
+	 */
+	private DepthFirstSearch(CsrGraph graph, int[] roots) {
+		int n = graph.vertexCount();
+		int[] preorder = new int[n], postorder = new int[n], stack = new int[n], cursor = new int[n];
+		this.preorder = preorder;
+		this.postorder = postorder;
+		this.parent = new int[n];
+		this.depth = new int[n];
+		Arrays.fill(parent, -1);
+		Arrays.fill(depth, -1);
+		for (int root : roots) {
+			if (depth[root] >= 0) {
+				continue;
+			}
+			int top = 0;
+			depth[root] = 0;
+			preorder[preorderCount++] = root;
+			cursor[root] = graph.start(root);
+			stack[top++] = root;
+			while (top > 0) {
+				int v = stack[top - 1];
+				if (cursor[v] < graph.end(v)) {
+					int u = graph.target(cursor[v]++);
+					if (depth[u] < 0) {
+						parent[u] = v;
+						depth[u] = depth[v] + 1;
+						preorder[preorderCount++] = u;
+						cursor[u] = graph.start(u);
+						stack[top++] = u;
+					}
+				} else {
+					postorder[postorderCount++] = v;
+					top--;
+				}
+			}
+		}
+	}
+
+	/**
+	 * 0からn - 1までの頂点の配列を作成する
+	 *
+	 * @param n 頂点数
+	 * @return 頂点の配列
+	 */
+	private static int[] allVertices(int n) {
+		int[] vertices = new int[n];
+		for (int i = 0; i < n; i++) {
+			vertices[i] = i;
+		}
+		return vertices;
+	}
+
+	/**
+	 * 行きがけ順の頂点を取得する
+	 *
+	 * @return 到達した頂点の行きがけ順
+	 */
+	public int[] preorder() {
+		return Arrays.copyOf(preorder, preorderCount);
+	}
+
+	/**
+	 * 帰りがけ順の頂点を取得する（木DPは、この順に子から親へ値を集めればよい）
+	 *
+	 * @return 到達した頂点の帰りがけ順
+	 */
+	public int[] postorder() {
+		return Arrays.copyOf(postorder, postorderCount);
+	}
+
+	/**
+	 * 探索木の親を取得する
+	 *
+	 * @param v 頂点
+	 * @return 親（根と未到達の頂点は-1）
+	 */
+	public int parent(int v) {
+		return parent[v];
+	}
+
+	/**
+	 * 探索木の深さを取得する
+	 *
+	 * @param v 頂点
+	 * @return 深さ（未到達の頂点は-1）
+	 */
+	public int depth(int v) {
+		return depth[v];
+	}
+
+	/**
+	 * 頂点に到達したかどうかを判定する
+	 *
+	 * @param v 頂点
+	 * @return 到達した場合はtrue
+	 */
+	public boolean isReached(int v) {
+		return depth[v] >= 0;
+	}
+}
@@ -0,0 +1,100 @@
+package lib.graph;
+
+import java.util.Arrays;
+
+import lib.collection.LongIntHeap;
+
+/**
+ * ダイクストラ法による単一始点最短経路（辺の重みは0以上）
+ *
+ * 優先度付きキューは{@link LongIntHeap}を使い、距離と頂点をボクシングせずに扱う。
+ * 減少キー操作の代わりに同じ頂点を複数回追加し、取り出したときに古い距離のものを読み飛ばす。
+ */
+public final class Dijkstra {
+
+	/** 到達できない頂点の距離 */
+	public static final long UNREACHABLE = Long.MAX_VALUE;
+
+	/** 始点からの距離 */
+	private final long[] distance;
+	/** 最短経路木の親（始点と未到達の頂点は-1） */
+	private final int[] parent;
+
+	/**
+	 * 最短経路を求める
+	 *
+	 * @param graph  グラフ
+	 * @param source 始点
+	 */
+	public Dijkstra(CsrGraph graph, int source) {
+		int n = graph.vertexCount();
+		distance = new long[n];
+		parent = new int[n];
+		Arrays.fill(distance, UNREACHABLE);
+		Arrays.fill(parent, -1);
+		LongIntHeap heap = new LongIntHeap(n);
+		distance[source] = 0L;
+		heap.push(0L, source);
+		while (!heap.isEmpty()) {
+			long d = heap.peekKey();
+			int v = heap.pop();
+			if (d > distance[v]) {
+				continue;
+			}
+			for (int k = graph.start(v), end = graph.end(v); k < end; k++) {
+				long weight = graph.weight(k);
+				if (weight < 0) {
+					throw new IllegalArgumentException("negative weight : " + weight);
+				}
+				int u = graph.target(k);
+				long next = d + weight;
+				if (next < distance[u]) {
+					distance[u] = next;
+					parent[u] = v;
+					heap.push(next, u);
+				}
+			}
+		}
+	}
+
+	/**
+	 * 始点からの距離を取得する
+	 *
+	 * @param v 頂点
+	 * @return 距離（到達できない場合は{@link #UNREACHABLE}）
+	 */
+	public long distance(int v) {
+		return distance[v];
+	}
+
+	/**
+	 * 最短経路木の親を取得する
+	 *
+	 * @param v 頂点
+	 * @return 親（始点と未到達の頂点は-1）
+	 */
+	public int parent(int v) {
+		return parent[v];
+	}
+
+	/**
+	 * 始点から頂点までの最短経路を取得する
+	 *
+	 * @param target 終点
+	 * @return 始点から終点までの頂点（到達できない場合は空）
+	 */
+	public int[] path(int target) {
+		if (UNREACHABLE == distance[target]) {
+			return new int[0];
+		}
+		int length = 0;
+		for (int v = target; v >= 0; v = parent[v]) {
+			length++;
+		}
+		int[] path = new int[length];
+		for (int v = target; v >= 0; v = parent[v]) {
+			path[--length] = v;
+		}
+		return path;
+	}
+}
@@ -0,0 +1,40 @@
+package lib.graph;
+
+/**
+ * 有向グラフのトポロジカルソート（入次数が0の頂点から取り出すカーンのアルゴリズム）
+ */
+public final class TopologicalSort {
+
+	private TopologicalSort() {
+	}
+
+	/**
+	 * 頂点をトポロジカル順に並べる
+	 *
+	 * @param graph 有向グラフ
+	 * @return すべての辺u → vでuがvより前になる頂点の順（閉路がある場合はnull）
+	 */
+	public static int[] sort(CsrGraph graph) {
+		int n = graph.vertexCount();
+		int[] inDegree = new int[n], order = new int[n];
+		for (int k = 0; k < graph.edgeCount(); k++) {
+			inDegree[graph.target(k)]++;
+		}
+		int tail = 0;
+		for (int v = 0; v < n; v++) {
+			if (0 == inDegree[v]) {
+				order[tail++] = v;
+			}
+		}
+		for (int head = 0; head < tail; head++) {
+			int v = order[head];
+			for (int k = graph.start(v), end = graph.end(v); k < end; k++) {
+				int u = graph.target(k);
+				if (0 == --inDegree[u]) {
+					order[tail++] = u;
+				}
+			}
+		}
+		return (tail == n) ? order : null;
+	}
+}
@@ -0,0 +1,126 @@
+package lib.graph;
+
+import java.util.Arrays;
+
+/**
+ * 素集合データ構造（Union-Find、経路圧縮と大きさによる併合）
+ */
+public final class UnionFind {
+
+	/** 親の頂点（根の場合は集合の大きさを負にした値） */
+	private final int[] parentOrSize;
+	/** 集合の数 */
+	private int count;
+
+	/**
+	 * コンストラクター
+	 *
+	 * @param n 要素数
+	 */
+	public UnionFind(int n) {
+		parentOrSize = new int[n];
+		Arrays.fill(parentOrSize, -1);
+		count = n;
+	}
+
+	/**
+	 * 要素の属する集合の代表元を求める（経路分割で圧縮するため再帰しない）
+	 *
+	 * @param x 要素
+	 * @return 代表元
+	 */
+	public int find(int x) {
+		while (parentOrSize[x] >= 0) {
+			int parent = parentOrSize[x];
+			if (parentOrSize[parent] >= 0) {
+				parentOrSize[x] = parentOrSize[parent];
+			}
+			x = parent;
+		}
+		return x;
+	}
+
+	/**
+	 * 2つの要素の属する集合を併合する
+	 *
+	 * @param x 要素
+	 * @param y 要素
+	 * @return 併合した場合はtrue（すでに同じ集合の場合はfalse）
+	 */
+	public boolean union(int x, int y) {
+		x = find(x);
+		y = find(y);
+		if (x == y) {
+			return false;
+		}
+		if (parentOrSize[x] > parentOrSize[y]) {
+			int t = x;
+			x = y;
+			y = t;
+		}
+		parentOrSize[x] += parentOrSize[y];
+		parentOrSize[y] = x;
+		count--;
+		return true;
+	}
+
+	/**
+	 * 2つの要素が同じ集合に属するかどうかを判定する
+	 *
+	 * @param x 要素
+	 * @param y 要素
+	 * @return 同じ集合の場合はtrue
+	 */
+	public boolean same(int x, int y) {
+		return find(x) == find(y);
+	}
+
+	/**
+	 * 要素の属する集合の大きさを求める
+	 *
+	 * @param x 要素
+	 * @return 集合の大きさ
+	 */
+	public int size(int x) {
+		return -parentOrSize[find(x)];
+	}
+
+	/**
+	 * 集合の数を取得する
+	 *
+	 * @return 集合の数
+	 */
+	public int count() {
+		return count;
+	}
+
+	/**
+	 * 集合ごとの要素を求める
+	 *
+	 * @return 集合ごとの要素（集合は最小の要素の順、要素は昇順）
+	 */
+	public int[][] groups() {
+		int n = parentOrSize.length;
+		int[] index = new int[n], sizes = new int[count];
+		Arrays.fill(index, -1);
+		int groupCount = 0;
+		int[] leaderOf = new int[n];
+		for (int i = 0; i < n; i++) {
+			int leader = find(i);
+			if (index[leader] < 0) {
+				index[leader] = groupCount++;
+			}
+			leaderOf[i] = index[leader];
+			sizes[leaderOf[i]]++;
+		}
+		int[][] groups = new int[groupCount][];
+		for (int g = 0; g < groupCount; g++) {
+			groups[g] = new int[sizes[g]];
+			sizes[g] = 0;
+		}
+		for (int i = 0; i < n; i++) {
+			groups[leaderOf[i]][sizes[leaderOf[i]]++] = i;
+		}
+		return groups;
+	}
+}
@@ -0,0 +1,82 @@
+package lib.math;
+
+/**
+ * バレット還元による剰余演算（実行時に決まる法での%演算を乗算に置き換える）
+ *
+ * 値は通常の0以上mod未満の値のまま扱えるため、偶数の法や一時的な計算ではモンゴメリ乗算より使いやすい。
+ */
+public final class Barrett {
+
+	/** 法 */
+	private final int mod;
+	/** ceil(2^64 / mod)（符号なし） */
+	private final long modInv;
+
+	/**
+	 * コンストラクター
+	 *
+	 * @param mod 法（2以上2^31未満）
+	 */
+	public Barrett(int mod) {
+		if (mod < 2) {
+			throw new IllegalArgumentException("mod must be greater than 1 : " + mod);
+		}
+		this.mod = mod;
+		this.modInv = Long.divideUnsigned(-1L, mod) + 1;
+	}
+
+	/**
+	 * 法を取得する
+	 *
+	 * @return 法
+	 */
+	public int mod() {
+		return mod;
+	}
+
+	/**
+	 * 剰余を求める
+	 *
+	 * @param x 0以上の値
+	 * @return x mod mod
+	 */
+	public int reduce(long x) {
+		// 商の近似値は真の商か1大きい値になる
+		long q = Math.multiplyHigh(x, modInv) + ((modInv >> 63) & x);
+		long r = x - q * mod;
+		return (int) ((r < 0) ? r + mod : r);
+	}
+
+	/**
+	 * 積の剰余を求める
+	 *
+	 * @param a 0以上mod未満の値
+	 * @param b 0以上mod未満の値
+	 * @return a * b mod mod
+	 */
+	public int multiply(long a, long b) {
+		return reduce(a * b);
+	}
+
+	/**
+	 * べき乗の剰余を求める
+	 *
+	 * @param base     0以上mod未満の値
+	 * @param exponent 指数（0以上）
+	 * @return base^exponent mod mod
+	 */
+	public int pow(long base, long exponent) {
+		if (exponent < 0) {
+			throw new IllegalArgumentException("exponent must not be negative : " + exponent);
+		}
+		int result = 1, x = (int) base;
+		while (exponent > 0) {
+			if (0 != (exponent & 1)) {
+				result = multiply(result, x);
+			}
+			x = multiply(x, x);
+			exponent >>= 1;
+		}
+		return result;
+	}
+}
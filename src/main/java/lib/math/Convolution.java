@@ -0,0 +1,212 @@
+package lib.math;
+
+/**
+ * 数論変換（NTT）による畳み込み
+ *
+ * 長さn、mの列の畳み込みをO((n + m) log(n + m))で求める。
+ * 998244353などのNTTに適した素数の法では1回の変換で、任意の法では3つの素数の結果を中国剰余定理で復元して求める。
+ */
+public final class Convolution {
+
+	/** よく使われるNTTに適した素数（2^23 * 119 + 1） */
+	public static final int MOD998244353 = 998_244_353;
+	/** この長さ以下の場合はナイーブに計算する */
+	private static final int NAIVE_THRESHOLD = 60;
+	/** 任意の法で使う素数（2^24 * 45 + 1） */
+	private static final int MOD1 = 754_974_721;
+	/** 任意の法で使う素数（2^25 * 5 + 1） */
+	private static final int MOD2 = 167_772_161;
+	/** 任意の法で使う素数（2^26 * 7 + 1） */
+	private static final int MOD3 = 469_762_049;
+
+	private Convolution() {
+	}
+
+	/**
+	 * NTTに適した素数を法として畳み込みを求める
+	 *
+	 * @param a   値の列（負の値・mod以上の値はmodでの剰余として扱う）
+	 * @param b   値の列（負の値・mod以上の値はmodでの剰余として扱う）
+	 * @param mod 法（mod - 1が結果の長さ以上の2のべき乗で割り切れる素数）
+	 * @return c[k] = Σ a[i] * b[k - i] mod mod（どちらかが空の場合は空）
+	 */
+	public static int[] convolution(int[] a, int[] b, int mod) {
+		int n = a.length, m = b.length;
+		if ((0 == n) || (0 == m)) {
+			return new int[0];
+		}
+		if (Math.min(n, m) <= NAIVE_THRESHOLD) {
+			return naive(a, b, mod);
+		}
+		int size = Integer.highestOneBit(n + m - 2) << 1;
+		if (0 != (mod - 1) % size) {
+			throw new IllegalArgumentException("mod " + mod + " does not support the length " + (n + m - 1) + ".");
+		}
+		Montgomery montgomery = new Montgomery(mod);
+		int root = montgomery.pow(montgomery.toMontgomery(ModMath.primitiveRoot(mod)), (mod - 1) / size);
+		int[] fa = new int[size], fb = new int[size];
+		for (int i = 0; i < n; i++) {
+			fa[i] = montgomery.toMontgomery(a[i]);
+		}
+		for (int i = 0; i < m; i++) {
+			fb[i] = montgomery.toMontgomery(b[i]);
+		}
+		int[] twiddles = twiddles(montgomery, root, size);
+		butterfly(montgomery, fa, twiddles);
+		butterfly(montgomery, fb, twiddles);
+		for (int i = 0; i < size; i++) {
+			fa[i] = montgomery.multiply(fa[i], fb[i]);
+		}
+		int inverseRoot = montgomery.pow(root, size - 1);
+		butterflyInverse(montgomery, fa, twiddles(montgomery, inverseRoot, size));
+		int inverseSize = montgomery.toMontgomery(ModMath.inverse(size, mod));
+		int[] c = new int[n + m - 1];
+		for (int i = 0; i < c.length; i++) {
+			c[i] = montgomery.fromMontgomery(montgomery.multiply(fa[i], inverseSize));
+		}
+		return c;
+	}
+
+	/**
+	 * 998244353を法として畳み込みを求める
+	 *
+	 * @param a 値の列（998244353での剰余として扱う）
+	 * @param b 値の列（998244353での剰余として扱う）
+	 * @return c[k] = Σ a[i] * b[k - i] mod 998244353
+	 */
+	public static int[] convolution(int[] a, int[] b) {
+		return convolution(a, b, MOD998244353);
+	}
+
+	/**
+	 * 任意の法で畳み込みを求める（3つの素数で畳み込み、中国剰余定理で復元する）
+	 *
+	 * min(n, m) * (mod - 1)^2 が約5.9 * 10^25未満であれば正しく求まる（1000000007で長さ5 * 10^5程度まで）。
+	 *
+	 * @param a   値の列（負の値・mod以上の値はmodでの剰余として扱う）
+	 * @param b   値の列（負の値・mod以上の値はmodでの剰余として扱う）
+	 * @param mod 法（1以上）
+	 * @return c[k] = Σ a[i] * b[k - i] mod mod
+	 */
+	public static int[] convolutionAnyMod(int[] a, int[] b, int mod) {
+		int n = a.length, m = b.length;
+		if ((0 == n) || (0 == m)) {
+			return new int[0];
+		}
+		// 先に法での剰余に揃え、3つの素数で同じ0以上mod未満の値を畳み込む
+		a = reduce(a, mod);
+		b = reduce(b, mod);
+		int[] c1 = convolution(reduce(a, MOD1), reduce(b, MOD1), MOD1);
+		int[] c2 = convolution(reduce(a, MOD2), reduce(b, MOD2), MOD2);
+		int[] c3 = convolution(reduce(a, MOD3), reduce(b, MOD3), MOD3);
+		// Garnerのアルゴリズム : x = x1 + t2 * MOD1 + t3 * MOD1 * MOD2
+		long inverse1 = ModMath.inverse(MOD1, MOD2);
+		long inverse12 = ModMath.inverse((long) MOD1 * MOD2 % MOD3, MOD3);
+		long mod12 = (long) MOD1 * MOD2 % mod;
+		int[] c = new int[n + m - 1];
+		for (int i = 0; i < c.length; i++) {
+			long x1 = c1[i];
+			long t2 = Math.floorMod(c2[i] - x1, MOD2) * inverse1 % MOD2;
+			long x12 = (x1 + t2 * MOD1) % MOD3;
+			long t3 = Math.floorMod(c3[i] - x12, MOD3) * inverse12 % MOD3;
+			c[i] = (int) (((x1 + t2 * MOD1) % mod + t3 * mod12) % mod);
+		}
+		return c;
+	}
+
+	/**
+	 * 各値の剰余を求める
+	 *
+	 * @param a   値の列
+	 * @param mod 法
+	 * @return 剰余の列
+	 */
+	private static int[] reduce(int[] a, int mod) {
+		int[] result = new int[a.length];
+		for (int i = 0; i < a.length; i++) {
+			result[i] = Math.floorMod(a[i], mod);
+		}
+		return result;
+	}
+
+	/**
+	 * ナイーブに畳み込みを求める（NTTと同じく、値は法での剰余に揃えてから掛ける）
+	 *
+	 * @param a   値の列
+	 * @param b   値の列
+	 * @param mod 法
+	 * @return 畳み込みの結果
+	 */
+	private static int[] naive(int[] a, int[] b, int mod) {
+		long[] c = new long[a.length + b.length - 1];
+		for (int i = 0; i < a.length; i++) {
+			for (int j = 0; j < b.length; j++) {
+				c[i + j] = (c[i + j] + (long) Math.floorMod(a[i], mod) * Math.floorMod(b[j], mod)) % mod;
+			}
+		}
+		int[] result = new int[c.length];
+		for (int i = 0; i < c.length; i++) {
+			result[i] = (int) c[i];
+		}
+		return result;
+	}
+
+	/**
+	 * 各段の回転因子の表を求める（長さlenの段の回転因子はtwiddles[len + j] = w^j）
+	 *
+	 * @param montgomery 剰余演算
+	 * @param root       1の原始size乗根のモンゴメリ表現
+	 * @param size       変換の長さ
+	 * @return 回転因子の表
+	 */
+	private static int[] twiddles(Montgomery montgomery, int root, int size) {
+		int[] twiddles = new int[Math.max(size, 2)];
+		for (int len = size >> 1, w = root; len >= 1; len >>= 1, w = montgomery.multiply(w, w)) {
+			twiddles[len] = montgomery.toMontgomery(1L);
+			for (int j = 1; j < len; j++) {
+				twiddles[len + j] = montgomery.multiply(twiddles[len + j - 1], w);
+			}
+		}
+		return twiddles;
+	}
+
+	/**
+	 * NTT（周波数間引き、結果はビット反転順）
+	 *
+	 * @param montgomery 剰余演算
+	 * @param a          モンゴメリ表現の列（長さは2のべき乗）
+	 * @param twiddles   回転因子の表
+	 */
+	private static void butterfly(Montgomery montgomery, int[] a, int[] twiddles) {
+		int size = a.length;
+		for (int len = size >> 1; len >= 1; len >>= 1) {
+			for (int i = 0; i < size; i += len << 1) {
+				for (int j = 0; j < len; j++) {
+					int u = a[i + j], v = a[i + j + len];
+					a[i + j] = montgomery.add(u, v);
+					a[i + j + len] = montgomery.multiply(montgomery.subtract(u, v), twiddles[len + j]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * 逆NTT（時間間引き、入力はビット反転順、サイズでの除算はしない）
+	 *
+	 * @param montgomery 剰余演算
+	 * @param a          モンゴメリ表現の列（長さは2のべき乗）
+	 * @param twiddles   逆変換の回転因子の表
+	 */
+	private static void butterflyInverse(Montgomery montgomery, int[] a, int[] twiddles) {
+		int size = a.length;
+		for (int len = 1; len < size; len <<= 1) {
+			for (int i = 0; i < size; i += len << 1) {
+				for (int j = 0; j < len; j++) {
+					int u = a[i + j], v = montgomery.multiply(a[i + j + len], twiddles[len + j]);
+					a[i + j] = montgomery.add(u, v);
+					a[i + j + len] = montgomery.subtract(u, v);
+				}
+			}
+		}
+	}
+}
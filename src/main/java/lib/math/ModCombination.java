@@ -0,0 +1,119 @@
+package lib.math;
+
+/**
+ * 階乗とその逆元の表を前計算し、二項係数などをO(1)で求める
+ */
+public final class ModCombination {
+
+	/** 法（素数） */
+	private final int mod;
+	/** n!（0 ≤ n ≤ max） */
+	private final long[] factorial;
+	/** 1 / n!（0 ≤ n ≤ max） */
+	private final long[] inverseFactorial;
+
+	/**
+	 * コンストラクター
+	 *
+	 * @param max 表の最大値
+	 * @param mod 法（maxより大きい素数）
+	 */
+	public ModCombination(int max, int mod) {
+		if ((max < 0) || (mod <= max)) {
+			throw new IllegalArgumentException("max must be in [0, mod) : max = " + max + ", mod = " + mod);
+		}
+		this.mod = mod;
+		factorial = new long[max + 1];
+		inverseFactorial = new long[max + 1];
+		factorial[0] = 1L % mod;
+		for (int i = 1; i <= max; i++) {
+			factorial[i] = factorial[i - 1] * i % mod;
+		}
+		// 逆元は最大値の1回だけフェルマーの小定理で求め、残りは (n-1)! の逆元 = n! の逆元 * n で求める
+		inverseFactorial[max] = ModMath.pow(factorial[max], mod - 2, mod);
+		for (int i = max; i > 0; i--) {
+			inverseFactorial[i - 1] = inverseFactorial[i] * i % mod;
+		}
+	}
+
+	/**
+	 * 法を取得する
+	 *
+	 * @return 法
+	 */
+	public int mod() {
+		return mod;
+	}
+
+	/**
+	 * 階乗を求める
+	 *
+	 * @param n 0以上max以下の値
+	 * @return n! mod mod
+	 */
+	public long factorial(int n) {
+		return factorial[n];
+	}
+
+	/**
+	 * 階乗の逆元を求める
+	 *
+	 * @param n 0以上max以下の値
+	 * @return 1 / n! mod mod
+	 */
+	public long inverseFactorial(int n) {
+		return inverseFactorial[n];
+	}
+
+	/**
+	 * 逆元を求める
+	 *
+	 * @param n 1以上max以下の値
+	 * @return 1 / n mod mod
+	 */
+	public long inverse(int n) {
+		return inverseFactorial[n] * factorial[n - 1] % mod;
+	}
+
+	/**
+	 * 二項係数を求める
+	 *
+	 * @param n 0以上max以下の値
+	 * @param k 選ぶ個数
+	 * @return nCk mod mod（kが範囲外の場合は0）
+	 */
+	public long combination(int n, int k) {
+		if ((k < 0) || (k > n)) {
+			return 0L;
+		}
+		return factorial[n] * inverseFactorial[k] % mod * inverseFactorial[n - k] % mod;
+	}
+
+	/**
+	 * 順列の数を求める
+	 *
+	 * @param n 0以上max以下の値
+	 * @param k 並べる個数
+	 * @return nPk mod mod（kが範囲外の場合は0）
+	 */
+	public long permutation(int n, int k) {
+		if ((k < 0) || (k > n)) {
+			return 0L;
+		}
+		return factorial[n] * inverseFactorial[n - k] % mod;
+	}
+
+	/**
+	 * 重複組合せの数を求める
+	 *
+	 * @param n 種類の数（n + k - 1がmax以下）
+	 * @param k 選ぶ個数
+	 * @return nHk mod mod
+	 */
+	public long multichoose(int n, int k) {
+		if (0 == k) {
+			return 1L % mod;
+		}
+		return combination(n + k - 1, k);
+	}
+}
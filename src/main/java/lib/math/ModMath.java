@@ -0,0 +1,97 @@
+package lib.math;
+
+/**
+ * 剰余演算の共通の計算
+ */
+public final class ModMath {
+
+	private ModMath() {
+	}
+
+	/**
+	 * べき乗の剰余を求める（繰り返し二乗法）
+	 *
+	 * @param base     底
+	 * @param exponent 指数（0以上）
+	 * @param mod      法（1以上）
+	 * @return base^exponent mod mod
+	 */
+	public static long pow(long base, long exponent, int mod) {
+		if (exponent < 0) {
+			throw new IllegalArgumentException("exponent must not be negative : " + exponent);
+		}
+		if (mod < 1) {
+			throw new IllegalArgumentException("mod must be positive : " + mod);
+		}
+		long result = 1L % mod, x = Math.floorMod(base, mod);
+		while (exponent > 0) {
+			if (0 != (exponent & 1)) {
+				result = result * x % mod;
+			}
+			x = x * x % mod;
+			exponent >>= 1;
+		}
+		return result;
+	}
+
+	/**
+	 * 逆元を求める（拡張ユークリッドの互除法のため、法が素数でなくてもよい）
+	 *
+	 * @param value 値
+	 * @param mod   法（1以上）
+	 * @return value * x ≡ 1 (mod mod) となる0以上mod未満のx
+	 */
+	public static long inverse(long value, int mod) {
+		if (mod < 1) {
+			throw new IllegalArgumentException("mod must be positive : " + mod);
+		}
+		long a = Math.floorMod(value, mod), b = mod, x = 1L, y = 0L;
+		while (0 != b) {
+			long q = a / b, t = a - q * b;
+			a = b;
+			b = t;
+			t = x - q * y;
+			x = y;
+			y = t;
+		}
+		if (1 != a) {
+			throw new ArithmeticException(value + " is not invertible modulo " + mod + ".");
+		}
+		return Math.floorMod(x, mod);
+	}
+
+	/**
+	 * 素数の最小の原始根を求める
+	 *
+	 * @param prime 素数
+	 * @return 原始根
+	 */
+	public static int primitiveRoot(int prime) {
+		if (2 == prime) {
+			return 1;
+		}
+		// prime - 1の素因数pすべてについてg^((prime - 1) / p) ≠ 1 となるgが原始根
+		int[] factors = new int[31];
+		int count = 0, rest = prime - 1;
+		for (int p = 2; (long) p * p <= rest; p++) {
+			if (0 == rest % p) {
+				factors[count++] = p;
+				while (0 == rest % p) {
+					rest /= p;
+				}
+			}
+		}
+		if (rest > 1) {
+			factors[count++] = rest;
+		}
+		for (int g = 2;; g++) {
+			boolean root = true;
+			for (int i = 0; root && (i < count); i++) {
+				root = 1 != pow(g, (prime - 1) / factors[i], prime);
+			}
+			if (root) {
+				return g;
+			}
+		}
+	}
+}
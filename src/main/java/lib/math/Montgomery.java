@@ -0,0 +1,138 @@
+package lib.math;
+
+/**
+ * モンゴメリ乗算による剰余演算（除算を使わずに乗算の剰余を求める）
+ *
+ * 値はモンゴメリ表現（x * 2^32 mod mod）のintで扱い、{@link #toMontgomery(long)}と{@link #fromMontgomery(int)}で変換する。
+ * 同じ法で大量に乗算する場合（NTT、行列累乗など）に使う。
+ */
+public final class Montgomery {
+
+	/** 下位32ビットのマスク */
+	private static final long MASK = 0xFFFFFFFFL;
+
+	/** 法 */
+	private final int mod;
+	/** mod * modNegInv ≡ -1 (mod 2^32) */
+	private final int modNegInv;
+	/** 2^64 mod mod */
+	private final long r2;
+
+	/**
+	 * コンストラクター
+	 *
+	 * @param mod 法（2^30未満の奇数）
+	 */
+	public Montgomery(int mod) {
+		if ((mod < 3) || (mod >= (1 << 30)) || (0 == (mod & 1))) {
+			throw new IllegalArgumentException("mod must be an odd number less than 2^30 : " + mod);
+		}
+		this.mod = mod;
+		// ニュートン法で2^32を法とする逆元を求める（1回ごとに正しいビット数が倍になる）
+		int inv = mod;
+		for (int i = 0; i < 5; i++) {
+			inv *= 2 - mod * inv;
+		}
+		this.modNegInv = -inv;
+		long r = (1L << 32) % mod;
+		this.r2 = r * r % mod;
+	}
+
+	/**
+	 * 法を取得する
+	 *
+	 * @return 法
+	 */
+	public int mod() {
+		return mod;
+	}
+
+	/**
+	 * x / 2^32 mod mod を求める
+	 *
+	 * @param x 0以上mod * 2^32未満の値
+	 * @return 0以上mod未満の値
+	 */
+	private int reduce(long x) {
+		long m = ((int) x * modNegInv) & MASK;
+		long t = (x + m * mod) >>> 32;
+		return (int) ((t >= mod) ? t - mod : t);
+	}
+
+	/**
+	 * モンゴメリ表現に変換する
+	 *
+	 * @param value 値
+	 * @return モンゴメリ表現
+	 */
+	public int toMontgomery(long value) {
+		return reduce(Math.floorMod(value, mod) * r2);
+	}
+
+	/**
+	 * モンゴメリ表現から通常の値に戻す
+	 *
+	 * @param value モンゴメリ表現
+	 * @return 0以上mod未満の値
+	 */
+	public int fromMontgomery(int value) {
+		return reduce(value);
+	}
+
+	/**
+	 * モンゴメリ表現の積を求める
+	 *
+	 * @param a モンゴメリ表現
+	 * @param b モンゴメリ表現
+	 * @return 積のモンゴメリ表現
+	 */
+	public int multiply(int a, int b) {
+		return reduce((long) a * b);
+	}
+
+	/**
+	 * モンゴメリ表現の和を求める
+	 *
+	 * @param a モンゴメリ表現
+	 * @param b モンゴメリ表現
+	 * @return 和のモンゴメリ表現
+	 */
+	public int add(int a, int b) {
+		int sum = a + b;
+		return (sum >= mod) ? sum - mod : sum;
+	}
+
+	/**
+	 * モンゴメリ表現の差を求める
+	 *
+	 * @param a モンゴメリ表現
+	 * @param b モンゴメリ表現
+	 * @return 差のモンゴメリ表現
+	 */
+	public int subtract(int a, int b) {
+		int difference = a - b;
+		return (difference < 0) ? difference + mod : difference;
+	}
+
+	/**
+	 * モンゴメリ表現のべき乗を求める
+	 *
+	 * @param base     底のモンゴメリ表現
+	 * @param exponent 指数（0以上）
+	 * @return べき乗のモンゴメリ表現
+	 */
+	public int pow(int base, long exponent) {
+		if (exponent < 0) {
+			throw new IllegalArgumentException("exponent must not be negative : " + exponent);
+		}
+		int result = toMontgomery(1L);
+		while (exponent > 0) {
+			if (0 != (exponent & 1)) {
+				result = multiply(result, base);
+			}
+			base = multiply(base, base);
+			exponent >>= 1;
+		}
+		return result;
+	}
+}
@@ -0,0 +1,134 @@
+package lib.string;
+
+/**
+ * 法を2^61 - 1とするローリングハッシュ
+ *
+ * 基数は実行ごとに乱数で決めるため、特定の入力で衝突を狙われにくい。
+ * 法がメルセンヌ素数のため、剰余は除算を使わずにシフトと加算で求める。
+ */
+public final class RollingHash {
+
+	/** 法（2^61 - 1） */
+	public static final long MOD = (1L << 61) - 1;
+	/** 基数 */
+	private static final long BASE = (System.nanoTime() & (MOD >>> 1)) + (1L << 20);
+
+	/** 接頭辞のハッシュ値（prefix[i]はs[0, i)のハッシュ値） */
+	private final long[] prefix;
+	/** 基数のべき乗 */
+	private final long[] power;
+
+	/**
+	 * コンストラクター
+	 *
+	 * @param s 文字列
+	 */
+	public RollingHash(byte[] s) {
+		this(Strings.toInts(s));
+	}
+
+	/**
+	 * コンストラクター
+	 *
+	 * @param s 文字列
+	 */
+	public RollingHash(char[] s) {
+		this(Strings.toInts(s));
+	}
+
+	/**
+	 * コンストラクター
+	 *
+	 * @param s 文字列（値は0以上）
+	 */
+	public RollingHash(int[] s) {
+		int n = s.length;
+		prefix = new long[n + 1];
+		power = new long[n + 1];
+		power[0] = 1L;
+		for (int i = 0; i < n; i++) {
+			prefix[i + 1] = add(multiply(prefix[i], BASE), s[i]);
+			power[i + 1] = multiply(power[i], BASE);
+		}
+	}
+
+	/**
+	 * 2^61 - 1を法とする積を求める
+	 *
+	 * @param a 0以上MOD未満の値
+	 * @param b 0以上MOD未満の値
+	 * @return a * b mod MOD
+	 */
+	static long multiply(long a, long b) {
+		long high = Math.multiplyHigh(a, b), low = a * b;
+		// 積を61ビットで分けると、2^61 ≡ 1 のため上位と下位の和と合同になる
+		long sum = ((high << 3) | (low >>> 61)) + (low & MOD);
+		return (sum >= MOD) ? sum - MOD : sum;
+	}
+
+	/**
+	 * 2^61 - 1を法とする和を求める
+	 *
+	 * @param a 0以上MOD未満の値
+	 * @param b 0以上MOD未満の値
+	 * @return a + b mod MOD
+	 */
+	private static long add(long a, long b) {
+		long sum = a + b;
+		return (sum >= MOD) ? sum - MOD : sum;
+	}
+
+	/**
+	 * 文字列の長さを取得する
+	 *
+	 * @return 長さ
+	 */
+	public int length() {
+		return prefix.length - 1;
+	}
+
+	/**
+	 * 部分文字列[from, to)のハッシュ値を求める
+	 *
+	 * @param from 開始位置（含む）
+	 * @param to   終了位置（含まない）
+	 * @return ハッシュ値
+	 */
+	public long hash(int from, int to) {
+		long value = prefix[to] - multiply(prefix[from], power[to - from]);
+		return (value < 0) ? value + MOD : value;
+	}
+
+	/**
+	 * 2つの文字列を連結した文字列のハッシュ値を求める
+	 *
+	 * @param left        前の文字列のハッシュ値
+	 * @param right       後ろの文字列のハッシュ値
+	 * @param rightLength 後ろの文字列の長さ（この文字列の長さ以下）
+	 * @return 連結した文字列のハッシュ値
+	 */
+	public long concat(long left, long right, int rightLength) {
+		return add(multiply(left, power[rightLength]), right);
+	}
+
+	/**
+	 * この文字列のs[i:]と、別の文字列のt[j:]の最長共通接頭辞の長さを二分探索で求める
+	 *
+	 * @param i     この文字列の開始位置
+	 * @param other 別の文字列のローリングハッシュ
+	 * @param j     別の文字列の開始位置
+	 * @return 最長共通接頭辞の長さ（ハッシュ値が衝突した場合は長くなる）
+	 */
+	public int lcp(int i, RollingHash other, int j) {
+		int low = 0, high = Math.min(length() - i, other.length() - j) + 1;
+		while (high - low > 1) {
+			int middle = (low + high) >>> 1;
+			if (hash(i, i + middle) == other.hash(j, j + middle)) {
+				low = middle;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+}
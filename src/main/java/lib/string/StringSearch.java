@@ -0,0 +1,131 @@
+package lib.string;
+
+import lib.collection.IntList;
+
+/**
+ * Z-algorithmと、KMP法による文字列検索
+ */
+public final class StringSearch {
+
+	private StringSearch() {
+	}
+
+	/**
+	 * Z配列を求める
+	 *
+	 * @param s 文字列
+	 * @return z[i]はsとs[i:]の最長共通接頭辞の長さ
+	 */
+	public static int[] zAlgorithm(byte[] s) {
+		return zAlgorithm(Strings.toInts(s));
+	}
+
+	/**
+	 * Z配列を求める
+	 *
+	 * @param s 文字列
+	 * @return z[i]はsとs[i:]の最長共通接頭辞の長さ
+	 */
+	public static int[] zAlgorithm(char[] s) {
+		return zAlgorithm(Strings.toInts(s));
+	}
+
+	/**
+	 * Z配列を求める
+	 *
+	 * @param s 文字列
+	 * @return z[i]はsとs[i:]の最長共通接頭辞の長さ
+	 */
+	public static int[] zAlgorithm(int[] s) {
+		int n = s.length;
+		int[] z = new int[n];
+		if (0 == n) {
+			return z;
+		}
+		for (int i = 1, j = 0; i < n; i++) {
+			int k = (j + z[j] <= i) ? 0 : Math.min(j + z[j] - i, z[i - j]);
+			while ((i + k < n) && (s[k] == s[i + k])) {
+				k++;
+			}
+			z[i] = k;
+			if (j + z[j] < i + z[i]) {
+				j = i;
+			}
+		}
+		z[0] = n;
+		return z;
+	}
+
+	/**
+	 * 接頭辞関数（KMP法の失敗関数）を求める
+	 *
+	 * @param s 文字列
+	 * @return pi[i]はs[0, i]の接頭辞かつ接尾辞である真の部分文字列の最大の長さ
+	 */
+	public static int[] prefixFunction(int[] s) {
+		int n = s.length;
+		int[] pi = new int[n];
+		for (int i = 1; i < n; i++) {
+			int k = pi[i - 1];
+			while ((k > 0) && (s[i] != s[k])) {
+				k = pi[k - 1];
+			}
+			pi[i] = (s[i] == s[k]) ? k + 1 : k;
+		}
+		return pi;
+	}
+
+	/**
+	 * パターンが現れる位置をすべて求める（KMP法、O(n + m)）
+	 *
+	 * @param text    文字列
+	 * @param pattern パターン
+	 * @return パターンが現れる位置の昇順
+	 */
+	public static int[] findAll(byte[] text, byte[] pattern) {
+		return findAll(Strings.toInts(text), Strings.toInts(pattern));
+	}
+
+	/**
+	 * パターンが現れる位置をすべて求める（KMP法、O(n + m)）
+	 *
+	 * @param text    文字列
+	 * @param pattern パターン
+	 * @return パターンが現れる位置の昇順
+	 */
+	public static int[] findAll(char[] text, char[] pattern) {
+		return findAll(Strings.toInts(text), Strings.toInts(pattern));
+	}
+
+	/**
+	 * パターンが現れる位置をすべて求める（KMP法、O(n + m)）
+	 *
+	 * @param text    文字列
+	 * @param pattern パターン
+	 * @return パターンが現れる位置の昇順
+	 */
+	public static int[] findAll(int[] text, int[] pattern) {
+		int n = text.length, m = pattern.length;
+		IntList positions = new IntList();
+		if (0 == m) {
+			for (int i = 0; i <= n; i++) {
+				positions.add(i);
+			}
+			return positions.toArray();
+		}
+		int[] pi = prefixFunction(pattern);
+		for (int i = 0, k = 0; i < n; i++) {
+			while ((k > 0) && (text[i] != pattern[k])) {
+				k = pi[k - 1];
+			}
+			if (text[i] == pattern[k]) {
+				k++;
+			}
+			if (k == m) {
+				positions.add(i - m + 1);
+				k = pi[k - 1];
+			}
+		}
+		return positions.toArray();
+	}
+}
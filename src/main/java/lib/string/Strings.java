@@ -0,0 +1,38 @@
+package lib.string;
+
+/**
+ * 文字列のアルゴリズムで共通に使う変換
+ */
+final class Strings {
+
+	private Strings() {
+	}
+
+	/**
+	 * byte配列を0以上255以下のint配列に変換する
+	 *
+	 * @param s 文字列
+	 * @return int配列
+	 */
+	static int[] toInts(byte[] s) {
+		int[] result = new int[s.length];
+		for (int i = 0; i < s.length; i++) {
+			result[i] = s[i] & 0xFF;
+		}
+		return result;
+	}
+
+	/**
+	 * char配列をint配列に変換する
+	 *
+	 * @param s 文字列
+	 * @return int配列
+	 */
+	static int[] toInts(char[] s) {
+		int[] result = new int[s.length];
+		for (int i = 0; i < s.length; i++) {
+			result[i] = s[i];
+		}
+		return result;
+	}
+}
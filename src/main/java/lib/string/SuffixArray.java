@@ -0,0 +1,315 @@
+package lib.string;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * 接尾辞配列（SA-IS法、O(n)）と高さ配列（Kasaiの方法、O(n)）
+ *
+ * 文字列はbyte[]、char[]、int[]（値が0以上upper以下）で受け取り、Stringを経由しない。
+ */
+public final class SuffixArray {
+
+	/** この長さ未満の場合はナイーブに求める */
+	private static final int THRESHOLD_NAIVE = 10;
+	/** この長さ未満の場合はダブリングで求める */
+	private static final int THRESHOLD_DOUBLING = 40;
+
+	private SuffixArray() {
+	}
+
+	/**
+	 * 接尾辞配列を求める
+	 *
+	 * @param s 文字列
+	 * @return 接尾辞の開始位置を辞書順に並べた配列
+	 */
+	public static int[] suffixArray(byte[] s) {
+		return saIs(Strings.toInts(s), 255);
+	}
+
+	/**
+	 * 接尾辞配列を求める
+	 *
+	 * @param s 文字列
+	 * @return 接尾辞の開始位置を辞書順に並べた配列
+	 */
+	public static int[] suffixArray(char[] s) {
+		return saIs(Strings.toInts(s), Character.MAX_VALUE);
+	}
+
+	/**
+	 * 接尾辞配列を求める
+	 *
+	 * @param s     文字列（値は0以上upper以下）
+	 * @param upper 値の最大値
+	 * @return 接尾辞の開始位置を辞書順に並べた配列
+	 */
+	public static int[] suffixArray(int[] s, int upper) {
+		for (int c : s) {
+			if ((c < 0) || (c > upper)) {
+				throw new IllegalArgumentException("value must be in [0, " + upper + "] : " + c);
+			}
+		}
+		return saIs(s, upper);
+	}
+
+	/**
+	 * 高さ配列を求める
+	 *
+	 * @param s  文字列
+	 * @param sa 接尾辞配列
+	 * @return lcp[i]は接尾辞sa[i]とsa[i + 1]の最長共通接頭辞の長さ（長さn - 1）
+	 */
+	public static int[] lcpArray(byte[] s, int[] sa) {
+		return lcpArray(Strings.toInts(s), sa);
+	}
+
+	/**
+	 * 高さ配列を求める
+	 *
+	 * @param s  文字列
+	 * @param sa 接尾辞配列
+	 * @return lcp[i]は接尾辞sa[i]とsa[i + 1]の最長共通接頭辞の長さ（長さn - 1）
+	 */
+	public static int[] lcpArray(char[] s, int[] sa) {
+		return lcpArray(Strings.toInts(s), sa);
+	}
+
+	/**
+	 * 高さ配列を求める
+	 *
+	 * @param s  文字列
+	 * @param sa 接尾辞配列
+	 * @return lcp[i]は接尾辞sa[i]とsa[i + 1]の最長共通接頭辞の長さ（長さn - 1）
+	 */
+	public static int[] lcpArray(int[] s, int[] sa) {
+		int n = s.length;
+		if (0 == n) {
+			return new int[0];
+		}
+		int[] rank = new int[n], lcp = new int[n - 1];
+		for (int i = 0; i < n; i++) {
+			rank[sa[i]] = i;
+		}
+		for (int i = 0, h = 0; i < n; i++) {
+			if (h > 0) {
+				h--;
+			}
+			if (0 == rank[i]) {
+				continue;
+			}
+			for (int j = sa[rank[i] - 1]; (j + h < n) && (i + h < n); h++) {
+				if (s[j + h] != s[i + h]) {
+					break;
+				}
+			}
+			lcp[rank[i] - 1] = h;
+		}
+		return lcp;
+	}
+
+	/**
+	 * 接尾辞配列をナイーブに求める
+	 *
+	 * @param s 文字列
+	 * @return 接尾辞配列
+	 */
+	private static int[] naive(int[] s) {
+		int n = s.length;
+		Integer[] sa = new Integer[n];
+		for (int i = 0; i < n; i++) {
+			sa[i] = i;
+		}
+		Arrays.sort(sa, (x, y) -> {
+			if (x.intValue() == y.intValue()) {
+				return 0;
+			}
+			while ((x < n) && (y < n)) {
+				if (s[x] != s[y]) {
+					return Integer.compare(s[x], s[y]);
+				}
+				x++;
+				y++;
+			}
+			return (x == n) ? -1 : 1;
+		});
+		return Arrays.stream(sa).mapToInt(Integer::intValue).toArray();
+	}
+
+	/**
+	 * 接尾辞配列をダブリングで求める
+	 *
+	 * @param s 文字列
+	 * @return 接尾辞配列
+	 */
+	private static int[] doubling(int[] s) {
+		int n = s.length;
+		Integer[] sa = new Integer[n];
+		int[] rank = s.clone(), tmp = new int[n];
+		for (int i = 0; i < n; i++) {
+			sa[i] = i;
+		}
+		for (int k = 1; k < n; k <<= 1) {
+			int[] r = rank;
+			int step = k;
+			Comparator<Integer> comparator = (x, y) -> {
+				if (r[x] != r[y]) {
+					return Integer.compare(r[x], r[y]);
+				}
+				int rx = (x + step < n) ? r[x + step] : -1, ry = (y + step < n) ? r[y + step] : -1;
+				return Integer.compare(rx, ry);
+			};
+			Arrays.sort(sa, comparator);
+			tmp[sa[0]] = 0;
+			for (int i = 1; i < n; i++) {
+				tmp[sa[i]] = tmp[sa[i - 1]] + ((comparator.compare(sa[i - 1], sa[i]) < 0) ? 1 : 0);
+			}
+			int[] t = tmp;
+			tmp = rank;
+			rank = t;
+		}
+		return Arrays.stream(sa).mapToInt(Integer::intValue).toArray();
+	}
+
+	/**
+	 * SA-IS法で接尾辞配列を求める
+	 *
+	 * @param s     文字列（値は0以上upper以下）
+	 * @param upper 値の最大値
+	 * @return 接尾辞配列
+	 */
+	private static int[] saIs(int[] s, int upper) {
+		int n = s.length;
+		if (0 == n) {
+			return new int[0];
+		}
+		if (1 == n) {
+			return new int[] { 0 };
+		}
+		if (2 == n) {
+			return (s[0] < s[1]) ? new int[] { 0, 1 } : new int[] { 1, 0 };
+		}
+		if (n < THRESHOLD_NAIVE) {
+			return naive(s);
+		}
+		if (n < THRESHOLD_DOUBLING) {
+			return doubling(s);
+		}
+		int[] sa = new int[n];
+		// ls[i]はs[i:]がs[i + 1:]より小さい（S型）かどうか
+		boolean[] ls = new boolean[n];
+		for (int i = n - 2; i >= 0; i--) {
+			ls[i] = (s[i] == s[i + 1]) ? ls[i + 1] : (s[i] < s[i + 1]);
+		}
+		int[] sumL = new int[upper + 1], sumS = new int[upper + 1];
+		for (int i = 0; i < n; i++) {
+			if (!ls[i]) {
+				sumS[s[i]]++;
+			} else {
+				sumL[s[i] + 1]++;
+			}
+		}
+		for (int i = 0; i <= upper; i++) {
+			sumS[i] += sumL[i];
+			if (i < upper) {
+				sumL[i + 1] += sumS[i];
+			}
+		}
+		int[] lmsMap = new int[n + 1];
+		Arrays.fill(lmsMap, -1);
+		int m = 0;
+		for (int i = 1; i < n; i++) {
+			if (!ls[i - 1] && ls[i]) {
+				lmsMap[i] = m++;
+			}
+		}
+		int[] lms = new int[m];
+		for (int i = 1, k = 0; i < n; i++) {
+			if (!ls[i - 1] && ls[i]) {
+				lms[k++] = i;
+			}
+		}
+		induce(s, upper, sa, ls, sumS, sumL, lms);
+		if (m > 0) {
+			int[] sortedLms = new int[m];
+			for (int i = 0, k = 0; i < n; i++) {
+				if (-1 != lmsMap[sa[i]]) {
+					sortedLms[k++] = sa[i];
+				}
+			}
+			// LMS部分文字列に番号を付け、縮約した文字列の接尾辞配列を再帰的に求める
+			int[] recS = new int[m];
+			int recUpper = 0;
+			recS[lmsMap[sortedLms[0]]] = 0;
+			for (int i = 1; i < m; i++) {
+				int l = sortedLms[i - 1], r = sortedLms[i];
+				int endL = (lmsMap[l] + 1 < m) ? lms[lmsMap[l] + 1] : n;
+				int endR = (lmsMap[r] + 1 < m) ? lms[lmsMap[r] + 1] : n;
+				boolean same = true;
+				if (endL - l != endR - r) {
+					same = false;
+				} else {
+					while (l < endL) {
+						if (s[l] != s[r]) {
+							break;
+						}
+						l++;
+						r++;
+					}
+					if ((l == n) || (s[l] != s[r])) {
+						same = false;
+					}
+				}
+				if (!same) {
+					recUpper++;
+				}
+				recS[lmsMap[sortedLms[i]]] = recUpper;
+			}
+			int[] recSa = saIs(recS, recUpper);
+			for (int i = 0; i < m; i++) {
+				sortedLms[i] = lms[recSa[i]];
+			}
+			induce(s, upper, sa, ls, sumS, sumL, sortedLms);
+		}
+		return sa;
+	}
+
+	/**
+	 * LMSの位置からL型、S型の接尾辞の順序を誘導する
+	 *
+	 * @param s     文字列
+	 * @param upper 値の最大値
+	 * @param sa    接尾辞配列（結果を格納する）
+	 * @param ls    S型かどうか
+	 * @param sumS  値ごとのS型の格納開始位置
+	 * @param sumL  値ごとのL型の格納開始位置
+	 * @param lms   LMSの位置
+	 */
+	private static void induce(int[] s, int upper, int[] sa, boolean[] ls, int[] sumS, int[] sumL, int[] lms) {
+		int n = s.length;
+		Arrays.fill(sa, -1);
+		int[] buffer = new int[upper + 1];
+		System.arraycopy(sumS, 0, buffer, 0, upper + 1);
+		for (int d : lms) {
+			if (d != n) {
+				sa[buffer[s[d]]++] = d;
+			}
+		}
+		System.arraycopy(sumL, 0, buffer, 0, upper + 1);
+		sa[buffer[s[n - 1]]++] = n - 1;
+		for (int i = 0; i < n; i++) {
+			int v = sa[i];
+			if ((v >= 1) && !ls[v - 1]) {
+				sa[buffer[s[v - 1]]++] = v - 1;
+			}
+		}
+		System.arraycopy(sumL, 0, buffer, 0, upper + 1);
+		for (int i = n - 1; i >= 0; i--) {
+			int v = sa[i];
+			if ((v >= 1) && ls[v - 1]) {
+				sa[--buffer[s[v - 1] + 1]] = v - 1;
+			}
+		}
+	}
+}
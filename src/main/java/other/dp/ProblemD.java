@@ -0,0 +1,28 @@
+package other.dp;
+
+import java.util.Scanner;
+
+import lib.array.LongBigArray;
+
+public class ProblemD {
+
+	public static void main(String[] args) {
+		try (Scanner scanner = new Scanner(System.in)) {
+			int n = scanner.nextInt(), w = scanner.nextInt();
+			// dp[i][j]（i個目までの品物で重さの合計がj以下の価値の最大値）を、ヒープ外の平坦な表に持つ
+			int width = w + 1;
+			LongBigArray dp = new LongBigArray.OffHeap((long) (n + 1) * width);
+			for (int i = 0; i < n; i++) {
+				int weight = scanner.nextInt(), value = scanner.nextInt();
+				long row = (long) i * width, next = row + width;
+				for (int j = 0; j <= w; j++) {
+					dp.set(next + j, dp.get(row + j));
+					if (j >= weight) {
+						dp.maximize(next + j, dp.get(row + j - weight) + value);
+					}
+				}
+			}
+			System.out.println(dp.get((long) n * width + w));
+		}
+	}
+}
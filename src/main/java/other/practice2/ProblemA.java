@@ -0,0 +1,25 @@
+package other.practice2;
+
+import java.util.Scanner;
+
+import lib.graph.UnionFind;
+
+public class ProblemA {
+
+	public static void main(String[] args) {
+		try (Scanner scanner = new Scanner(System.in)) {
+			int n = scanner.nextInt(), q = scanner.nextInt();
+			UnionFind unionFind = new UnionFind(n);
+			StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < q; i++) {
+				int t = scanner.nextInt(), u = scanner.nextInt(), v = scanner.nextInt();
+				if (0 == t) {
+					unionFind.union(u, v);
+				} else {
+					sb.append(unionFind.same(u, v) ? 1 : 0).append(System.lineSeparator());
+				}
+			}
+			System.out.print(sb);
+		}
+	}
+}
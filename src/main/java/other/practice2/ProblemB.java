@@ -0,0 +1,29 @@
+package other.practice2;
+
+import java.util.Scanner;
+
+import lib.ds.LongFenwickTree;
+
+public class ProblemB {
+
+	public static void main(String[] args) {
+		try (Scanner scanner = new Scanner(System.in)) {
+			int n = scanner.nextInt(), q = scanner.nextInt();
+			long[] a = new long[n];
+			for (int i = 0; i < n; i++) {
+				a[i] = scanner.nextInt();
+			}
+			LongFenwickTree tree = new LongFenwickTree(a);
+			StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < q; i++) {
+				int type = scanner.nextInt(), x = scanner.nextInt(), y = scanner.nextInt();
+				if (0 == type) {
+					tree.add(x, y);
+				} else {
+					sb.append(tree.sum(x, y)).append(System.lineSeparator());
+				}
+			}
+			System.out.print(sb);
+		}
+	}
+}
@@ -0,0 +1,30 @@
+package other.practice2;
+
+import java.util.Scanner;
+
+import lib.math.Convolution;
+
+public class ProblemF {
+
+	public static void main(String[] args) {
+		try (Scanner scanner = new Scanner(System.in)) {
+			int n = scanner.nextInt(), m = scanner.nextInt();
+			int[] a = new int[n], b = new int[m];
+			for (int i = 0; i < n; i++) {
+				a[i] = scanner.nextInt();
+			}
+			for (int i = 0; i < m; i++) {
+				b[i] = scanner.nextInt();
+			}
+			int[] c = Convolution.convolution(a, b);
+			StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < c.length; i++) {
+				if (i > 0) {
+					sb.append(' ');
+				}
+				sb.append(c[i]);
+			}
+			System.out.println(sb);
+		}
+	}
+}
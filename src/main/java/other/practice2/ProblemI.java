@@ -0,0 +1,21 @@
+package other.practice2;
+
+import java.util.Scanner;
+
+import lib.string.SuffixArray;
+
+public class ProblemI {
+
+	public static void main(String[] args) {
+		try (Scanner scanner = new Scanner(System.in)) {
+			byte[] s = scanner.next().getBytes();
+			int n = s.length;
+			// 異なる部分文字列の数は、すべての部分文字列の数から隣接する接尾辞の共通接頭辞の長さを引いたもの
+			long count = (long) n * (n + 1) / 2;
+			for (int lcp : SuffixArray.lcpArray(s, SuffixArray.suffixArray(s))) {
+				count -= lcp;
+			}
+			System.out.println(count);
+		}
+	}
+}
@@ -0,0 +1,31 @@
+package other.practice2;
+
+import java.util.Scanner;
+
+import lib.ds.IntSegmentTree;
+
+public class ProblemJ {
+
+	public static void main(String[] args) {
+		try (Scanner scanner = new Scanner(System.in)) {
+			int n = scanner.nextInt(), q = scanner.nextInt();
+			int[] a = new int[n];
+			for (int i = 0; i < n; i++) {
+				a[i] = scanner.nextInt();
+			}
+			IntSegmentTree tree = new IntSegmentTree.Max(a);
+			StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < q; i++) {
+				int type = scanner.nextInt(), x = scanner.nextInt(), y = scanner.nextInt();
+				if (1 == type) {
+					tree.set(x - 1, y);
+				} else if (2 == type) {
+					sb.append(tree.query(x - 1, y)).append(System.lineSeparator());
+				} else {
+					sb.append(tree.maxRight(x - 1, value -> value < y) + 1).append(System.lineSeparator());
+				}
+			}
+			System.out.print(sb);
+		}
+	}
+}
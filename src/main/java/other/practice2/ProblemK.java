@@ -0,0 +1,33 @@
+package other.practice2;
+
+import java.util.Scanner;
+
+import lib.ds.LongLazySegmentTree;
+
+public class ProblemK {
+
+	/** 法 */
+	private static final int MOD = 998_244_353;
+
+	public static void main(String[] args) {
+		try (Scanner scanner = new Scanner(System.in)) {
+			int n = scanner.nextInt(), q = scanner.nextInt();
+			long[] a = new long[n];
+			for (int i = 0; i < n; i++) {
+				a[i] = scanner.nextInt();
+			}
+			LongLazySegmentTree.AffineSum tree = new LongLazySegmentTree.AffineSum(a, MOD);
+			StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < q; i++) {
+				int type = scanner.nextInt(), l = scanner.nextInt(), r = scanner.nextInt();
+				if (0 == type) {
+					int b = scanner.nextInt(), c = scanner.nextInt();
+					tree.apply(l, r, LongLazySegmentTree.AffineSum.affine(b, c));
+				} else {
+					sb.append(tree.query(l, r)).append(System.lineSeparator());
+				}
+			}
+			System.out.print(sb);
+		}
+	}
+}
@@ -0,0 +1,138 @@
+package lib.array;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+import java.util.Random;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import testbase.BenchmarkBase;
+
+class LongBigArrayBenchmarkTest extends BenchmarkBase {
+
+	/** 表の要素数 */
+	private static final int SIZE = 8_000_000;
+	/** 各マスの値 */
+	private static final long[] VALUES = new Random(0).longs(SIZE, 0, 1_000L).toArray();
+
+	/**
+	 * 3次元の表の格子上の最長路のDPをlong[][][]で求める
+	 *
+	 * @param a 1次元目の長さ
+	 * @param b 2次元目の長さ
+	 * @param c 3次元目の長さ
+	 * @return 最大値
+	 */
+	private static long nested(int a, int b, int c) {
+		long[][][] dp = new long[a][b][c];
+		for (int i = 0; i < a; i++) {
+			for (int j = 0; j < b; j++) {
+				for (int k = 0; k < c; k++) {
+					long best = 0L;
+					if (i > 0) {
+						best = Math.max(best, dp[i - 1][j][k]);
+					}
+					if (j > 0) {
+						best = Math.max(best, dp[i][j - 1][k]);
+					}
+					if (k > 0) {
+						best = Math.max(best, dp[i][j][k - 1]);
+					}
+					dp[i][j][k] = best + VALUES[(i * b + j) * c + k];
+				}
+			}
+		}
+		return dp[a - 1][b - 1][c - 1];
+	}
+
+	/**
+	 * 3次元の表の格子上の最長路のDPを平坦な配列で求める
+	 *
+	 * @param dp 表（要素数はa * b * c）
+	 * @param a  1次元目の長さ
+	 * @param b  2次元目の長さ
+	 * @param c  3次元目の長さ
+	 * @return 最大値
+	 */
+	private static long flat(LongBigArray dp, int a, int b, int c) {
+		long plane = (long) b * c;
+		for (int i = 0; i < a; i++) {
+			for (int j = 0; j < b; j++) {
+				for (int k = 0; k < c; k++) {
+					long index = i * plane + (long) j * c + k, best = 0L;
+					if (i > 0) {
+						best = Math.max(best, dp.get(index - plane));
+					}
+					if (j > 0) {
+						best = Math.max(best, dp.get(index - c));
+					}
+					if (k > 0) {
+						best = Math.max(best, dp.get(index - 1));
+					}
+					dp.set(index, best + VALUES[(int) index]);
+				}
+			}
+		}
+		return dp.get(dp.size() - 1);
+	}
+
+	@Test
+	void cubeChunked() {
+		// 最も内側の次元が長い場合、long[][][]も行の参照がループの外に出て速い
+		compare(() -> nested(200, 200, 200), () -> flat(new LongBigArray.Chunked(SIZE), 200, 200, 200));
+	}
+
+	@Test
+	void cubeOffHeap() {
+		compare(() -> nested(200, 200, 200), () -> flat(new LongBigArray.OffHeap(SIZE), 200, 200, 200));
+	}
+
+	@Test
+	void thinChunked() {
+		// dp[i][j][2]のように最も内側の次元が短い場合、long[][][]は小さな配列のヘッダーと参照が要素より多くなる
+		compare(() -> nested(2_000, 2_000, 2), () -> flat(new LongBigArray.Chunked(SIZE), 2_000, 2_000, 2));
+	}
+
+	@Test
+	void thinOffHeap() {
+		compare(() -> nested(2_000, 2_000, 2), () -> flat(new LongBigArray.OffHeap(SIZE), 2_000, 2_000, 2));
+	}
+
+	/**
+	 * 表を確保して埋めたときのヒープの使用量のピークの増分を求める
+	 *
+	 * GC・ヒープの大きさ・先に実行したテストに左右されるため、ベンチマークとしてのみ計測する。
+	 *
+	 * @param factory 要素数から配列を作成する処理
+	 * @return ヒープの使用量のピークの増分（バイト）
+	 */
+	private static long heapGrowth(LongFunction<LongBigArray> factory) {
+		List<MemoryPoolMXBean> pools = ManagementFactory.getMemoryPoolMXBeans().stream()
+				.filter(pool -> MemoryType.HEAP == pool.getType()).collect(Collectors.toList());
+		System.gc();
+		long before = pools.stream().mapToLong(pool -> pool.getUsage().getUsed()).sum();
+		pools.forEach(MemoryPoolMXBean::resetPeakUsage);
+		LongBigArray array = factory.apply(SIZE);
+		array.fill(1L);
+		long peak = pools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+		assertEquals(1L, array.get(SIZE - 1));
+		return peak - before;
+	}
+
+	@Test
+	void heapUsage() {
+		long tableBytes = (long) SIZE * Long.BYTES;
+		long chunked = heapGrowth(LongBigArray.Chunked::new), offHeap = heapGrowth(LongBigArray.OffHeap::new);
+		System.err.println(String.format("%s#%s table %dMB, heap grew by %dMB with Chunked, %dMB with OffHeap",
+				testClassName, testCaseName, tableBytes >> 20, chunked >> 20, offHeap >> 20));
+		assertTrue(offHeap < tableBytes / 4,
+				"heap grew by " + offHeap + " bytes for an off-heap table of " + tableBytes + " bytes.");
+	}
+}
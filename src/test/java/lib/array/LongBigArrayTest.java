@@ -0,0 +1,125 @@
+package lib.array;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteOrder;
+import java.util.Random;
+import java.util.function.LongFunction;
+
+import org.junit.jupiter.api.Test;
+
+class LongBigArrayTest {
+
+	/**
+	 * チャンクの境界をまたいで、long[]と同じ結果になることを確認する
+	 *
+	 * @param factory 要素数から配列を作成する処理
+	 */
+	private static void assertSameAsArray(LongFunction<LongBigArray> factory) {
+		int n = LongBigArray.CHUNK_SIZE * 2 + 3;
+		LongBigArray array = factory.apply(n);
+		long[] expected = new long[n];
+		assertEquals(n, array.size());
+		assertEquals(0L, array.get(n - 1));
+		Random random = new Random(1);
+		for (int t = 0; t < 100_000; t++) {
+			// チャンクの境界付近を多めに選ぶ
+			int index = (0 == (t & 1)) ? random.nextInt(n)
+					: Math.max(0, Math.min(n - 1, LongBigArray.CHUNK_SIZE * random.nextInt(3) + random.nextInt(5) - 2));
+			long value = random.nextLong();
+			switch (random.nextInt(4)) {
+			case 0:
+				array.set(index, value);
+				expected[index] = value;
+				break;
+			case 1:
+				array.add(index, value);
+				expected[index] += value;
+				break;
+			case 2:
+				assertEquals(expected[index] < value, array.maximize(index, value));
+				expected[index] = Math.max(expected[index], value);
+				break;
+			default:
+				assertEquals(expected[index] > value, array.minimize(index, value));
+				expected[index] = Math.min(expected[index], value);
+				break;
+			}
+			assertEquals(expected[index], array.get(index));
+		}
+		for (int i = 0; i < n; i++) {
+			assertEquals(expected[i], array.get(i));
+		}
+		array.fill(-7L);
+		assertEquals(-7L, array.get(0));
+		assertEquals(-7L, array.get(LongBigArray.CHUNK_SIZE));
+		assertEquals(-7L, array.get(n - 1));
+	}
+
+	/**
+	 * 範囲外のインデックスで例外になることを確認する
+	 *
+	 * @param factory 要素数から配列を作成する処理
+	 */
+	private static void assertOutOfBounds(LongFunction<LongBigArray> factory) {
+		LongBigArray array = factory.apply(LongBigArray.CHUNK_SIZE + 5);
+		assertThrows(IndexOutOfBoundsException.class, () -> array.get(-1));
+		assertThrows(IndexOutOfBoundsException.class, () -> array.get(LongBigArray.CHUNK_SIZE + 5));
+		assertThrows(IndexOutOfBoundsException.class, () -> array.set(1L << 40, 1L));
+		LongBigArray empty = factory.apply(0);
+		assertEquals(0L, empty.size());
+		assertThrows(IndexOutOfBoundsException.class, () -> empty.get(0));
+		assertThrows(IllegalArgumentException.class, () -> factory.apply(-1));
+	}
+
+	@Test
+	void chunked() {
+		assertSameAsArray(LongBigArray.Chunked::new);
+		assertOutOfBounds(LongBigArray.Chunked::new);
+	}
+
+	@Test
+	void offHeap() {
+		assertSameAsArray(LongBigArray.OffHeap::new);
+		assertOutOfBounds(LongBigArray.OffHeap::new);
+	}
+
+	@Test
+	void chunkedLayout() {
+		LongBigArray.Chunked array = new LongBigArray.Chunked(LongBigArray.CHUNK_SIZE * 2L + 5);
+		assertEquals(LongBigArray.CHUNK_SIZE, array.chunk(0).length);
+		assertEquals(LongBigArray.CHUNK_SIZE, array.chunk(1).length);
+		assertEquals(5, array.chunk(2).length);
+		assertThrows(IndexOutOfBoundsException.class, () -> array.chunk(3));
+	}
+
+	@Test
+	void offHeapLayout() {
+		// 要素はヒープ外のダイレクトバッファーに持ち、最後のチャンクはちょうどの長さで確保する
+		LongBigArray.OffHeap array = new LongBigArray.OffHeap(LongBigArray.CHUNK_SIZE * 2L + 5);
+		for (int i = 0; i < 3; i++) {
+			assertTrue(array.chunk(i).isDirect(), "chunk " + i);
+			assertEquals(ByteOrder.nativeOrder(), array.chunk(i).order(), "chunk " + i);
+		}
+		assertEquals(LongBigArray.CHUNK_SIZE, array.chunk(0).capacity());
+		assertEquals(LongBigArray.CHUNK_SIZE, array.chunk(1).capacity());
+		assertEquals(5, array.chunk(2).capacity());
+		assertThrows(IndexOutOfBoundsException.class, () -> array.chunk(3));
+	}
+
+	@Test
+	void chunks() {
+		// 2^31個以上の要素は、int[]の上限を超えてもチャンクの数で表せる
+		assertEquals(0, LongBigArray.chunkCount(0));
+		assertEquals(1, LongBigArray.chunkCount(1));
+		assertEquals(1, LongBigArray.chunkCount(LongBigArray.CHUNK_SIZE));
+		assertEquals(2, LongBigArray.chunkCount(LongBigArray.CHUNK_SIZE + 1));
+		assertEquals(1 << 12, LongBigArray.chunkCount(1L << 32));
+		assertEquals(LongBigArray.CHUNK_SIZE, LongBigArray.chunkLength(1L << 32, (1 << 12) - 1));
+		assertEquals(1, LongBigArray.chunkLength(LongBigArray.CHUNK_SIZE + 1, 1));
+		assertEquals(1 << 20, LongBigArray.chunkCount(1L << 40));
+		assertEquals(3, LongBigArray.chunkLength(3, 0));
+	}
+}
@@ -0,0 +1,154 @@
+package lib.collection;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import testbase.BenchmarkBase;
+
+class PrimitiveCollectionBenchmarkTest extends BenchmarkBase {
+
+	/** 要素数 */
+	private static final int N = 1_000_000;
+	/** 乱数で作成した入力 */
+	private static final int[] VALUES = new Random(0).ints(N, 0, N).toArray();
+
+	@Test
+	void list() {
+		compare(() -> {
+			List<Integer> list = new ArrayList<>();
+			for (int value : VALUES) {
+				list.add(value);
+			}
+			long sum = 0L;
+			for (int i = 0; i < list.size(); i++) {
+				sum += list.get(i);
+			}
+			return sum;
+		}, () -> {
+			IntList list = new IntList();
+			for (int value : VALUES) {
+				list.add(value);
+			}
+			long sum = 0L;
+			for (int i = 0; i < list.size(); i++) {
+				sum += list.get(i);
+			}
+			return sum;
+		});
+	}
+
+	@Test
+	void hashMap() {
+		compare(() -> {
+			Map<Long, Long> map = new HashMap<>();
+			for (int value : VALUES) {
+				map.merge((long) value * value, 1L, Long::sum);
+			}
+			long sum = map.size();
+			for (int value : VALUES) {
+				sum += map.getOrDefault((long) value, 0L);
+			}
+			return sum;
+		}, () -> {
+			LongLongHashMap map = new LongLongHashMap();
+			for (int value : VALUES) {
+				map.add((long) value * value, 1L);
+			}
+			long sum = map.size();
+			for (int value : VALUES) {
+				sum += map.get(value);
+			}
+			return sum;
+		});
+	}
+
+	@Test
+	void hashSet() {
+		compare(() -> {
+			Set<Integer> set = new HashSet<>();
+			long count = 0L;
+			for (int value : VALUES) {
+				if (!set.add(value)) {
+					count++;
+				}
+			}
+			return count;
+		}, () -> {
+			IntHashSet set = new IntHashSet();
+			long count = 0L;
+			for (int value : VALUES) {
+				if (!set.add(value)) {
+					count++;
+				}
+			}
+			return count;
+		});
+	}
+
+	@Test
+	void heap() {
+		compare(() -> {
+			PriorityQueue<Long> heap = new PriorityQueue<>();
+			for (int value : VALUES) {
+				heap.add((long) value);
+			}
+			long checksum = 0L;
+			while (!heap.isEmpty()) {
+				checksum = checksum * 31 + heap.poll();
+			}
+			return checksum;
+		}, () -> {
+			LongHeap heap = new LongHeap();
+			for (int value : VALUES) {
+				heap.push(value);
+			}
+			long checksum = 0L;
+			while (!heap.isEmpty()) {
+				checksum = checksum * 31 + heap.pop();
+			}
+			return checksum;
+		});
+	}
+
+	@Test
+	void deque() {
+		compare(() -> {
+			ArrayDeque<Integer> deque = new ArrayDeque<>();
+			long checksum = 0L;
+			for (int value : VALUES) {
+				if ((value & 1) == 0) {
+					deque.addLast(value);
+				} else {
+					deque.addFirst(value);
+				}
+				if (deque.size() > 1_000) {
+					checksum = checksum * 31 + deque.pollFirst() + deque.pollLast();
+				}
+			}
+			return checksum;
+		}, () -> {
+			IntDeque deque = new IntDeque();
+			long checksum = 0L;
+			for (int value : VALUES) {
+				if ((value & 1) == 0) {
+					deque.addLast(value);
+				} else {
+					deque.addFirst(value);
+				}
+				if (deque.size() > 1_000) {
+					checksum = checksum * 31 + deque.pollFirst() + deque.pollLast();
+				}
+			}
+			return checksum;
+		});
+	}
+}
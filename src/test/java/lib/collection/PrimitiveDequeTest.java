@@ -0,0 +1,62 @@
+package lib.collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class PrimitiveDequeTest {
+
+	@Test
+	void intDeque() {
+		Random random = new Random(8);
+		IntDeque deque = new IntDeque(1);
+		ArrayDeque<Integer> expected = new ArrayDeque<>();
+		for (int i = 0; i < 100_000; i++) {
+			int value = random.nextInt();
+			switch (expected.isEmpty() ? random.nextInt(2) : random.nextInt(5)) {
+			case 0:
+				deque.addFirst(value);
+				expected.addFirst(value);
+				break;
+			case 1:
+				deque.addLast(value);
+				expected.addLast(value);
+				break;
+			case 2:
+				assertEquals(expected.peekFirst(), deque.peekFirst());
+				assertEquals(expected.pollFirst(), deque.pollFirst());
+				break;
+			case 3:
+				assertEquals(expected.peekLast(), deque.peekLast());
+				assertEquals(expected.pollLast(), deque.pollLast());
+				break;
+			default:
+				int index = random.nextInt(expected.size());
+				assertEquals(new ArrayList<>(expected).get(index), deque.get(index));
+				break;
+			}
+			assertEquals(expected.size(), deque.size());
+		}
+		deque.clear();
+		assertThrows(NoSuchElementException.class, () -> deque.pollFirst());
+	}
+
+	@Test
+	void longDeque() {
+		LongDeque deque = new LongDeque();
+		for (long i = 0; i < 100; i++) {
+			deque.addLast(i << 40);
+			deque.addFirst(-i);
+		}
+		assertEquals(200, deque.size());
+		assertEquals(-99L, deque.pollFirst());
+		assertEquals(99L << 40, deque.pollLast());
+		assertEquals(0L, deque.get(98));
+	}
+}
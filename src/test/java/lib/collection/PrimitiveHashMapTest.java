@@ -0,0 +1,70 @@
+package lib.collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class PrimitiveHashMapTest {
+
+	@Test
+	void intIntHashMap() {
+		Random random = new Random(1);
+		IntIntHashMap map = new IntIntHashMap(1);
+		Map<Integer, Integer> expected = new HashMap<>();
+		for (int i = 0; i < 100_000; i++) {
+			int key = random.nextInt(1_000), value = random.nextInt();
+			switch (random.nextInt(4)) {
+			case 0:
+				map.put(key, value);
+				expected.put(key, value);
+				break;
+			case 1:
+				assertEquals(expected.merge(key, value, Integer::sum), map.add(key, value));
+				break;
+			case 2:
+				assertEquals(null != expected.remove(key), map.remove(key));
+				break;
+			default:
+				assertEquals(expected.getOrDefault(key, -1), map.get(key, -1));
+				assertEquals(expected.containsKey(key), map.containsKey(key));
+				break;
+			}
+			assertEquals(expected.size(), map.size());
+		}
+		int[] keys = map.keys(), values = map.values();
+		for (int i = 0; i < keys.length; i++) {
+			assertEquals(expected.get(keys[i]), values[i]);
+		}
+		map.clear();
+		assertTrue(map.isEmpty());
+		assertFalse(map.containsKey(keys[0]));
+	}
+
+	@Test
+	void longLongHashMap() {
+		Random random = new Random(2);
+		LongLongHashMap map = new LongLongHashMap();
+		Map<Long, Long> expected = new HashMap<>();
+		for (int i = 0; i < 100_000; i++) {
+			long key = random.nextInt(1_000) * 1_000_000_007L, value = random.nextLong();
+			switch (random.nextInt(3)) {
+			case 0:
+				assertEquals(expected.merge(key, value, Long::sum), map.add(key, value));
+				break;
+			case 1:
+				assertEquals(null != expected.remove(key), map.remove(key));
+				break;
+			default:
+				assertEquals(expected.getOrDefault(key, 0L), map.get(key));
+				break;
+			}
+			assertEquals(expected.size(), map.size());
+		}
+	}
+}
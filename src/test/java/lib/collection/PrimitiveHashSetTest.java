@@ -0,0 +1,60 @@
+package lib.collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class PrimitiveHashSetTest {
+
+	@Test
+	void intHashSet() {
+		Random random = new Random(3);
+		IntHashSet set = new IntHashSet();
+		Set<Integer> expected = new HashSet<>();
+		for (int i = 0; i < 100_000; i++) {
+			int key = random.nextInt(2_000) - 1_000;
+			switch (random.nextInt(3)) {
+			case 0:
+				assertEquals(expected.add(key), set.add(key));
+				break;
+			case 1:
+				assertEquals(expected.remove(key), set.remove(key));
+				break;
+			default:
+				assertEquals(expected.contains(key), set.contains(key));
+				break;
+			}
+			assertEquals(expected.size(), set.size());
+		}
+		int[] actual = set.toArray();
+		Arrays.sort(actual);
+		assertEquals(expected.stream().sorted().toList(), Arrays.stream(actual).boxed().toList());
+	}
+
+	@Test
+	void longHashSet() {
+		Random random = new Random(4);
+		LongHashSet set = new LongHashSet(1);
+		Set<Long> expected = new HashSet<>();
+		for (int i = 0; i < 100_000; i++) {
+			long key = (random.nextInt(2_000) - 1_000L) << 32;
+			switch (random.nextInt(3)) {
+			case 0:
+				assertEquals(expected.add(key), set.add(key));
+				break;
+			case 1:
+				assertEquals(expected.remove(key), set.remove(key));
+				break;
+			default:
+				assertEquals(expected.contains(key), set.contains(key));
+				break;
+			}
+			assertEquals(expected.size(), set.size());
+		}
+	}
+}
@@ -0,0 +1,71 @@
+package lib.collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class PrimitiveHeapTest {
+
+	@Test
+	void intHeap() {
+		Random random = new Random(5);
+		IntHeap heap = new IntHeap(1);
+		PriorityQueue<Integer> expected = new PriorityQueue<>();
+		for (int i = 0; i < 100_000; i++) {
+			if (expected.isEmpty() || random.nextBoolean()) {
+				int value = random.nextInt();
+				heap.push(value);
+				expected.add(value);
+			} else {
+				assertEquals(expected.peek(), heap.peek());
+				assertEquals(expected.poll(), heap.pop());
+			}
+			assertEquals(expected.size(), heap.size());
+		}
+		heap.clear();
+		assertTrue(heap.isEmpty());
+		assertThrows(NoSuchElementException.class, () -> heap.pop());
+	}
+
+	@Test
+	void longHeap() {
+		Random random = new Random(6);
+		LongHeap heap = new LongHeap();
+		PriorityQueue<Long> expected = new PriorityQueue<>();
+		for (int i = 0; i < 100_000; i++) {
+			if (expected.isEmpty() || random.nextBoolean()) {
+				long value = random.nextLong();
+				heap.push(value);
+				expected.add(value);
+			} else {
+				assertEquals(expected.poll(), heap.pop());
+			}
+		}
+	}
+
+	@Test
+	void longIntHeap() {
+		Random random = new Random(7);
+		LongIntHeap heap = new LongIntHeap();
+		PriorityQueue<long[]> expected = new PriorityQueue<>((x, y) -> Long.compare(x[0], y[0]));
+		for (int i = 0; i < 100_000; i++) {
+			if (expected.isEmpty() || random.nextBoolean()) {
+				// 優先度が重複しないようにし、取り出す値を一意に決める
+				long key = ((long) random.nextInt() << 20) | i;
+				heap.push(key, i);
+				expected.add(new long[] { key, i });
+			} else {
+				long[] top = expected.poll();
+				assertEquals(top[0], heap.peekKey());
+				assertEquals(top[1], heap.peekValue());
+				assertEquals(top[1], heap.pop());
+			}
+		}
+	}
+}
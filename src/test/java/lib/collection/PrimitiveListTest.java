@@ -0,0 +1,45 @@
+package lib.collection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+class PrimitiveListTest {
+
+	@Test
+	void intList() {
+		IntList list = new IntList(1);
+		for (int i = 0; i < 100; i++) {
+			list.add(100 - i);
+		}
+		assertEquals(100, list.size());
+		assertEquals(100, list.get(0));
+		assertEquals(1, list.last());
+		assertEquals(1, list.removeLast());
+		assertEquals(99, list.size());
+		assertEquals(100, list.set(0, 0));
+		list.sort();
+		assertEquals(0, list.get(0));
+		assertEquals(3, list.binarySearch(4));
+		assertTrue(list.binarySearch(1) < 0);
+		assertThrows(IndexOutOfBoundsException.class, () -> list.get(99));
+		list.clear();
+		assertTrue(list.isEmpty());
+		assertThrows(NoSuchElementException.class, () -> list.removeLast());
+	}
+
+	@Test
+	void longList() {
+		LongList list = LongList.of(3L, 1L, 2L);
+		list.addAll(1L << 40, -1L);
+		assertArrayEquals(new long[] { 3L, 1L, 2L, 1L << 40, -1L }, list.toArray());
+		list.sort();
+		assertArrayEquals(new long[] { -1L, 1L, 2L, 3L, 1L << 40 }, list.toArray());
+		assertEquals("[-1, 1, 2, 3, 1099511627776]", list.toString());
+	}
+}
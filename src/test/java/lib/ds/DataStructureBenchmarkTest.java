@@ -0,0 +1,319 @@
+package lib.ds;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.BinaryOperator;
+
+import org.junit.jupiter.api.Test;
+
+import testbase.BenchmarkBase;
+
+class DataStructureBenchmarkTest extends BenchmarkBase {
+
+	/** 要素数 */
+	private static final int N = 500_000;
+	/** 操作の回数 */
+	private static final int Q = 1_000_000;
+	/** 初期値 */
+	private static final long[] VALUES = new Random(0).longs(N, 0, 1_000_000_000L).toArray();
+	/** 操作の種類 */
+	private static final int[] TYPES = new Random(1).ints(Q, 0, 2).toArray();
+	/** 操作の区間の開始位置・更新位置 */
+	private static final int[] LEFTS = new Random(2).ints(Q, 0, N).toArray();
+	/** 操作の区間の終了位置 */
+	private static final int[] RIGHTS = new int[Q];
+	/** 更新する値 */
+	private static final long[] UPDATES = new Random(3).longs(Q, 0, 1_000_000_000L).toArray();
+
+	static {
+		Random random = new Random(4);
+		for (int i = 0; i < Q; i++) {
+			RIGHTS[i] = LEFTS[i] + 1 + random.nextInt(N - LEFTS[i]);
+		}
+	}
+
+	@Test
+	void segmentTree() {
+		compare(() -> {
+			Long[] values = Arrays.stream(VALUES).boxed().toArray(Long[]::new);
+			GenericSegmentTree<Long> tree = new GenericSegmentTree<>(values, Long.MAX_VALUE, Math::min);
+			long checksum = 0L;
+			for (int i = 0; i < Q; i++) {
+				if (0 == TYPES[i]) {
+					tree.set(LEFTS[i], UPDATES[i]);
+				} else {
+					checksum += tree.query(LEFTS[i], RIGHTS[i]);
+				}
+			}
+			return checksum;
+		}, () -> {
+			LongSegmentTree tree = new LongSegmentTree.Min(VALUES);
+			long checksum = 0L;
+			for (int i = 0; i < Q; i++) {
+				if (0 == TYPES[i]) {
+					tree.set(LEFTS[i], UPDATES[i]);
+				} else {
+					checksum += tree.query(LEFTS[i], RIGHTS[i]);
+				}
+			}
+			return checksum;
+		});
+	}
+
+	@Test
+	void lazySegmentTree() {
+		compare(() -> {
+			Long[] values = Arrays.stream(VALUES).boxed().toArray(Long[]::new);
+			GenericLazySegmentTree<Long, Long> tree = new GenericLazySegmentTree<>(values, 0L, 0L, Long::sum,
+					(f, x, length) -> x + f * length, Long::sum);
+			long checksum = 0L;
+			for (int i = 0; i < Q; i++) {
+				if (0 == TYPES[i]) {
+					tree.apply(LEFTS[i], RIGHTS[i], UPDATES[i]);
+				} else {
+					checksum += tree.query(LEFTS[i], RIGHTS[i]);
+				}
+			}
+			return checksum;
+		}, () -> {
+			LongLazySegmentTree tree = new LongLazySegmentTree.AddSum(VALUES);
+			long checksum = 0L;
+			for (int i = 0; i < Q; i++) {
+				if (0 == TYPES[i]) {
+					tree.apply(LEFTS[i], RIGHTS[i], UPDATES[i]);
+				} else {
+					checksum += tree.query(LEFTS[i], RIGHTS[i]);
+				}
+			}
+			return checksum;
+		});
+	}
+
+	@Test
+	void fenwickTree() {
+		compare(() -> {
+			LongSegmentTree tree = new LongSegmentTree.Sum(VALUES);
+			long checksum = 0L;
+			for (int i = 0; i < Q; i++) {
+				if (0 == TYPES[i]) {
+					tree.update(LEFTS[i], UPDATES[i]);
+				} else {
+					checksum += tree.query(LEFTS[i], RIGHTS[i]);
+				}
+			}
+			return checksum;
+		}, () -> {
+			LongFenwickTree tree = new LongFenwickTree(VALUES);
+			long checksum = 0L;
+			for (int i = 0; i < Q; i++) {
+				if (0 == TYPES[i]) {
+					tree.add(LEFTS[i], UPDATES[i]);
+				} else {
+					checksum += tree.sum(LEFTS[i], RIGHTS[i]);
+				}
+			}
+			return checksum;
+		});
+	}
+
+	@Test
+	void sparseTable() {
+		compare(() -> {
+			LongSegmentTree tree = new LongSegmentTree.Max(VALUES);
+			long checksum = 0L;
+			for (int i = 0; i < Q; i++) {
+				checksum += tree.query(LEFTS[i], RIGHTS[i]);
+			}
+			return checksum;
+		}, () -> {
+			LongSparseTable table = new LongSparseTable.Max(VALUES);
+			long checksum = 0L;
+			for (int i = 0; i < Q; i++) {
+				checksum += table.query(LEFTS[i], RIGHTS[i]);
+			}
+			return checksum;
+		});
+	}
+
+	/**
+	 * 比較用の汎用のセグメント木（要素をボクシングし、演算をラムダ式で受け取る）
+	 *
+	 * @param <T> 要素の型
+	 */
+	private static class GenericSegmentTree<T> {
+
+		/** 葉の数 */
+		private final int leaves;
+		/** 単位元 */
+		private final T identity;
+		/** 演算 */
+		private final BinaryOperator<T> operator;
+		/** 節点の値 */
+		private final Object[] tree;
+
+		/**
+		 * コンストラクター
+		 *
+		 * @param values   初期値
+		 * @param identity 単位元
+		 * @param operator 演算
+		 */
+		GenericSegmentTree(T[] values, T identity, BinaryOperator<T> operator) {
+			this.leaves = Integer.highestOneBit(Math.max(values.length, 1) * 2 - 1);
+			this.identity = identity;
+			this.operator = operator;
+			this.tree = new Object[leaves << 1];
+			Arrays.fill(tree, identity);
+			System.arraycopy(values, 0, tree, leaves, values.length);
+			for (int i = leaves - 1; i > 0; i--) {
+				tree[i] = operator.apply(node(i << 1), node((i << 1) | 1));
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private T node(int k) {
+			return (T) tree[k];
+		}
+
+		void set(int index, T value) {
+			int i = index + leaves;
+			tree[i] = value;
+			for (i >>= 1; i > 0; i >>= 1) {
+				tree[i] = operator.apply(node(i << 1), node((i << 1) | 1));
+			}
+		}
+
+		T query(int from, int to) {
+			T left = identity, right = identity;
+			for (int l = from + leaves, r = to + leaves; l < r; l >>= 1, r >>= 1) {
+				if (0 != (l & 1)) {
+					left = operator.apply(left, node(l++));
+				}
+				if (0 != (r & 1)) {
+					right = operator.apply(node(--r), right);
+				}
+			}
+			return operator.apply(left, right);
+		}
+	}
+
+	/**
+	 * 作用を値に適用する関数
+	 *
+	 * @param <F> 作用の型
+	 * @param <T> 要素の型
+	 */
+	private static interface Mapping<F, T> {
+		T apply(F f, T x, int length);
+	}
+
+	/**
+	 * 比較用の汎用の再帰の遅延評価セグメント木（要素と作用をボクシングし、演算をラムダ式で受け取る）
+	 *
+	 * @param <T> 要素の型
+	 * @param <F> 作用の型
+	 */
+	private static class GenericLazySegmentTree<T, F> {
+
+		/** 葉の数 */
+		private final int leaves;
+		/** 単位元 */
+		private final T identity;
+		/** 恒等写像 */
+		private final F identityMapping;
+		/** 演算 */
+		private final BinaryOperator<T> operator;
+		/** 作用の適用 */
+		private final Mapping<F, T> mapping;
+		/** 作用の合成 */
+		private final BinaryOperator<F> composition;
+		/** 節点の値 */
+		private final Object[] tree;
+		/** 節点の作用 */
+		private final Object[] lazy;
+
+		/**
+		 * コンストラクター
+		 *
+		 * @param values          初期値
+		 * @param identity        単位元
+		 * @param identityMapping 恒等写像
+		 * @param operator        演算
+		 * @param mapping         作用の適用
+		 * @param composition     作用の合成
+		 */
+		GenericLazySegmentTree(T[] values, T identity, F identityMapping, BinaryOperator<T> operator,
+				Mapping<F, T> mapping, BinaryOperator<F> composition) {
+			this.leaves = Integer.highestOneBit(Math.max(values.length, 1) * 2 - 1);
+			this.identity = identity;
+			this.identityMapping = identityMapping;
+			this.operator = operator;
+			this.mapping = mapping;
+			this.composition = composition;
+			this.tree = new Object[leaves << 1];
+			this.lazy = new Object[leaves << 1];
+			Arrays.fill(tree, identity);
+			Arrays.fill(lazy, identityMapping);
+			System.arraycopy(values, 0, tree, leaves, values.length);
+			for (int i = leaves - 1; i > 0; i--) {
+				tree[i] = operator.apply(node(i << 1), node((i << 1) | 1));
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private T node(int k) {
+			return (T) tree[k];
+		}
+
+		@SuppressWarnings("unchecked")
+		private F action(int k) {
+			return (F) lazy[k];
+		}
+
+		private void push(int k, int length) {
+			if (!identityMapping.equals(lazy[k])) {
+				for (int child = k << 1; child <= ((k << 1) | 1); child++) {
+					tree[child] = mapping.apply(action(k), node(child), length >> 1);
+					lazy[child] = composition.apply(action(k), action(child));
+				}
+				lazy[k] = identityMapping;
+			}
+		}
+
+		void apply(int from, int to, F f) {
+			apply(from, to, f, 1, 0, leaves);
+		}
+
+		private void apply(int from, int to, F f, int k, int l, int r) {
+			if ((to <= l) || (r <= from)) {
+				return;
+			}
+			if ((from <= l) && (r <= to)) {
+				tree[k] = mapping.apply(f, node(k), r - l);
+				lazy[k] = composition.apply(f, action(k));
+				return;
+			}
+			push(k, r - l);
+			int m = (l + r) >>> 1;
+			apply(from, to, f, k << 1, l, m);
+			apply(from, to, f, (k << 1) | 1, m, r);
+			tree[k] = operator.apply(node(k << 1), node((k << 1) | 1));
+		}
+
+		T query(int from, int to) {
+			return query(from, to, 1, 0, leaves);
+		}
+
+		private T query(int from, int to, int k, int l, int r) {
+			if ((to <= l) || (r <= from)) {
+				return identity;
+			}
+			if ((from <= l) && (r <= to)) {
+				return node(k);
+			}
+			push(k, r - l);
+			int m = (l + r) >>> 1;
+			return operator.apply(query(from, to, k << 1, l, m), query(from, to, (k << 1) | 1, m, r));
+		}
+	}
+}
@@ -0,0 +1,52 @@
+package lib.ds;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class FenwickTreeTest {
+
+	@Test
+	void addAndSum() {
+		Random random = new Random(1);
+		for (int n : new int[] { 1, 7, 64, 1_000 }) {
+			long[] values = random.longs(n, 0, 1_000).toArray();
+			LongFenwickTree tree = new LongFenwickTree(values);
+			for (int q = 0; q < 10_000; q++) {
+				int index = random.nextInt(n);
+				long value = random.nextInt(1_000);
+				tree.add(index, value);
+				values[index] += value;
+				int l = random.nextInt(n + 1), r = l + random.nextInt(n + 1 - l);
+				long expected = 0L;
+				for (int i = l; i < r; i++) {
+					expected += values[i];
+				}
+				assertEquals(expected, tree.sum(l, r));
+				assertEquals(values[index], tree.get(index));
+				// 累積和がしきい値以上になる最初の位置
+				long threshold = random.nextInt(1_000 * n + 1);
+				int position = 0;
+				long prefix = values[0];
+				while ((position < n) && (prefix < threshold)) {
+					position++;
+					prefix += (position < n) ? values[position] : 0L;
+				}
+				assertEquals(position, tree.lowerBound(threshold));
+			}
+		}
+	}
+
+	@Test
+	void outOfRange() {
+		LongFenwickTree tree = new LongFenwickTree(3);
+		assertThrows(IndexOutOfBoundsException.class, () -> tree.add(3, 1L));
+		assertThrows(IndexOutOfBoundsException.class, () -> tree.sum(4));
+		assertEquals(0L, tree.sum(3));
+		assertEquals(0, tree.lowerBound(0L));
+		assertEquals(3, tree.lowerBound(1L));
+	}
+}
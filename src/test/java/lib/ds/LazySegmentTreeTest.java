@@ -0,0 +1,110 @@
+package lib.ds;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LazySegmentTreeTest {
+
+	@Test
+	void addSumMinMax() {
+		Random random = new Random(1);
+		for (int n : new int[] { 1, 5, 64, 100 }) {
+			long[] values = random.longs(n, -1_000, 1_000).toArray();
+			LongLazySegmentTree sum = new LongLazySegmentTree.AddSum(values);
+			LongLazySegmentTree min = new LongLazySegmentTree.AddMin(values);
+			LongLazySegmentTree max = new LongLazySegmentTree.AddMax(n);
+			for (int i = 0; i < n; i++) {
+				max.set(i, values[i]);
+			}
+			for (int q = 0; q < 20_000; q++) {
+				int l = random.nextInt(n + 1), r = random.nextInt(n + 1);
+				if (l > r) {
+					int t = l;
+					l = r;
+					r = t;
+				}
+				switch (random.nextInt(5)) {
+				case 0:
+					long f = random.nextInt(2_001) - 1_000;
+					sum.apply(l, r, f);
+					min.apply(l, r, f);
+					max.apply(l, r, f);
+					for (int i = l; i < r; i++) {
+						values[i] += f;
+					}
+					break;
+				case 1:
+					int index = random.nextInt(n);
+					f = random.nextInt(2_001) - 1_000;
+					sum.apply(index, f);
+					min.apply(index, f);
+					max.apply(index, f);
+					values[index] += f;
+					break;
+				case 2:
+					index = random.nextInt(n);
+					long value = random.nextInt(2_001) - 1_000;
+					sum.set(index, value);
+					min.set(index, value);
+					max.set(index, value);
+					values[index] = value;
+					break;
+				case 3:
+					long expectedSum = 0L, expectedMin = Long.MAX_VALUE, expectedMax = Long.MIN_VALUE;
+					for (int i = l; i < r; i++) {
+						expectedSum += values[i];
+						expectedMin = Math.min(expectedMin, values[i]);
+						expectedMax = Math.max(expectedMax, values[i]);
+					}
+					assertEquals(expectedSum, sum.query(l, r));
+					assertEquals(expectedMin, min.query(l, r));
+					assertEquals(expectedMax, max.query(l, r));
+					break;
+				default:
+					// 最小値がしきい値以上となる最大の区間
+					long threshold = random.nextInt(2_001) - 1_000;
+					int right = l;
+					while ((right < n) && (values[right] >= threshold)) {
+						right++;
+					}
+					assertEquals(right, min.maxRight(l, v -> v >= threshold));
+					int left = r;
+					while ((left > 0) && (values[left - 1] >= threshold)) {
+						left--;
+					}
+					assertEquals(left, min.minLeft(r, v -> v >= threshold));
+					index = random.nextInt(n);
+					assertEquals(values[index], sum.get(index));
+					break;
+				}
+			}
+		}
+	}
+
+	@Test
+	void affineSum() {
+		Random random = new Random(2);
+		int mod = 998_244_353, n = 200;
+		long[] values = random.longs(n, 0, mod).toArray();
+		LongLazySegmentTree.AffineSum tree = new LongLazySegmentTree.AffineSum(values, mod);
+		for (int q = 0; q < 20_000; q++) {
+			int l = random.nextInt(n), r = l + 1 + random.nextInt(n - l);
+			if (random.nextBoolean()) {
+				long a = random.nextInt(mod), b = random.nextInt(mod);
+				tree.apply(l, r, LongLazySegmentTree.AffineSum.affine(a, b));
+				for (int i = l; i < r; i++) {
+					values[i] = (a * values[i] + b) % mod;
+				}
+			} else {
+				long expected = 0L;
+				for (int i = l; i < r; i++) {
+					expected = (expected + values[i]) % mod;
+				}
+				assertEquals(expected, tree.query(l, r));
+			}
+		}
+	}
+}
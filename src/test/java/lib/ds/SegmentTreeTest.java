@@ -0,0 +1,154 @@
+package lib.ds;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+import java.util.function.LongBinaryOperator;
+
+import org.junit.jupiter.api.Test;
+
+class SegmentTreeTest {
+
+	/**
+	 * ナイーブな実装と比較する
+	 *
+	 * @param tree     セグメント木
+	 * @param values   初期値（ナイーブな実装として更新される）
+	 * @param operator 演算
+	 * @param identity 単位元
+	 * @param random   乱数
+	 */
+	private static void compare(LongSegmentTree tree, long[] values, LongBinaryOperator operator, long identity,
+			Random random) {
+		int n = values.length;
+		for (int q = 0; q < 20_000; q++) {
+			int l = random.nextInt(n + 1), r = random.nextInt(n + 1);
+			if (l > r) {
+				int t = l;
+				l = r;
+				r = t;
+			}
+			switch (random.nextInt(5)) {
+			case 0:
+				int index = random.nextInt(n);
+				long value = random.nextInt(2_000_001) - 1_000_000;
+				tree.set(index, value);
+				values[index] = value;
+				break;
+			case 1:
+				index = random.nextInt(n);
+				value = random.nextInt(2_000_001) - 1_000_000;
+				tree.update(index, value);
+				values[index] = operator.applyAsLong(values[index], value);
+				break;
+			case 2:
+				long expected = identity;
+				for (int i = l; i < r; i++) {
+					expected = operator.applyAsLong(expected, values[i]);
+				}
+				assertEquals(expected, tree.query(l, r));
+				break;
+			case 3:
+				if (Long.MAX_VALUE != identity) {
+					// 「しきい値以上」が単調な条件になるのは最小値のみ
+					break;
+				}
+				long threshold = random.nextInt(2_000_001) - 1_000_000;
+				long x = identity;
+				int right = l;
+				while ((right < n) && (operator.applyAsLong(x, values[right]) >= threshold)) {
+					x = operator.applyAsLong(x, values[right++]);
+				}
+				assertEquals(right, tree.maxRight(l, v -> v >= threshold));
+				x = identity;
+				int left = r;
+				while ((left > 0) && (operator.applyAsLong(values[left - 1], x) >= threshold)) {
+					x = operator.applyAsLong(values[--left], x);
+				}
+				assertEquals(left, tree.minLeft(r, v -> v >= threshold));
+				break;
+			default:
+				index = random.nextInt(n);
+				assertEquals(values[index], tree.get(index));
+				long all = identity;
+				for (long v : values) {
+					all = operator.applyAsLong(all, v);
+				}
+				assertEquals(all, tree.all());
+				break;
+			}
+		}
+	}
+
+	@Test
+	void longSegmentTree() {
+		Random random = new Random(1);
+		for (int n : new int[] { 1, 2, 7, 64, 100 }) {
+			long[] values = random.longs(n, -1_000_000, 1_000_000).toArray();
+			compare(new LongSegmentTree.Min(values.clone()), values.clone(), Math::min, Long.MAX_VALUE, random);
+			compare(new LongSegmentTree.Max(values.clone()), values.clone(), Math::max, Long.MIN_VALUE, random);
+			compare(new LongSegmentTree.Sum(n), new long[n], Long::sum, 0L, random);
+		}
+	}
+
+	@Test
+	void maxRightWithSum() {
+		long[] values = { 3, 1, 4, 1, 5, 9, 2, 6 };
+		LongSegmentTree tree = new LongSegmentTree.Sum(values);
+		assertEquals(0, tree.maxRight(0, v -> v < 3));
+		assertEquals(2, tree.maxRight(0, v -> v <= 4));
+		assertEquals(8, tree.maxRight(0, v -> v <= 31));
+		assertEquals(5, tree.maxRight(3, v -> v <= 10));
+		assertEquals(8, tree.maxRight(8, v -> false));
+		assertEquals(6, tree.minLeft(8, v -> v <= 8));
+		assertEquals(0, tree.minLeft(8, v -> true));
+		assertEquals(0, tree.minLeft(0, v -> false));
+	}
+
+	@Test
+	void intSegmentTree() {
+		Random random = new Random(2);
+		int n = 1_000;
+		int[] values = random.ints(n, -1_000_000, 1_000_000).toArray();
+		IntSegmentTree min = new IntSegmentTree.Min(values.clone()), max = new IntSegmentTree.Max(n);
+		IntSegmentTree sum = new IntSegmentTree.Sum(values.clone());
+		for (int i = 0; i < n; i++) {
+			max.set(i, values[i]);
+		}
+		for (int q = 0; q < 10_000; q++) {
+			int index = random.nextInt(n), value = random.nextInt();
+			min.set(index, value);
+			max.set(index, value);
+			sum.set(index, value);
+			values[index] = value;
+			int l = random.nextInt(n), r = l + 1 + random.nextInt(n - l);
+			int expectedMin = Integer.MAX_VALUE, expectedMax = Integer.MIN_VALUE, expectedSum = 0;
+			for (int i = l; i < r; i++) {
+				expectedMin = Math.min(expectedMin, values[i]);
+				expectedMax = Math.max(expectedMax, values[i]);
+				expectedSum += values[i];
+			}
+			assertEquals(expectedMin, min.query(l, r));
+			assertEquals(expectedMax, max.query(l, r));
+			assertEquals(expectedSum, sum.query(l, r));
+			int threshold = expectedMax;
+			int expectedRight = l;
+			while (values[expectedRight] < threshold) {
+				expectedRight++;
+			}
+			assertEquals(expectedRight, max.maxRight(l, v -> v < threshold));
+		}
+	}
+
+	@Test
+	void outOfRange() {
+		LongSegmentTree tree = new LongSegmentTree.Sum(5);
+		assertThrows(IndexOutOfBoundsException.class, () -> tree.get(5));
+		assertThrows(IndexOutOfBoundsException.class, () -> tree.set(-1, 0L));
+		assertThrows(IndexOutOfBoundsException.class, () -> tree.query(3, 2));
+		assertThrows(IndexOutOfBoundsException.class, () -> tree.query(0, 6));
+		assertEquals(0L, tree.query(2, 2));
+		assertEquals(0L, new LongSegmentTree.Sum(0).all());
+	}
+}
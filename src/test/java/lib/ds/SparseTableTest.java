@@ -0,0 +1,33 @@
+package lib.ds;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class SparseTableTest {
+
+	@Test
+	void query() {
+		Random random = new Random(1);
+		for (int n : new int[] { 1, 2, 3, 8, 100, 1_000 }) {
+			long[] values = random.longs(n).toArray();
+			LongSparseTable min = new LongSparseTable.Min(values), max = new LongSparseTable.Max(values);
+			for (int q = 0; q < 10_000; q++) {
+				int l = random.nextInt(n), r = l + 1 + random.nextInt(n - l);
+				long expectedMin = Long.MAX_VALUE, expectedMax = Long.MIN_VALUE;
+				for (int i = l; i < r; i++) {
+					expectedMin = Math.min(expectedMin, values[i]);
+					expectedMax = Math.max(expectedMax, values[i]);
+				}
+				assertEquals(expectedMin, min.query(l, r));
+				assertEquals(expectedMax, max.query(l, r));
+			}
+		}
+		LongSparseTable empty = new LongSparseTable.Min(new long[0]);
+		assertEquals(0, empty.size());
+		assertThrows(IllegalArgumentException.class, () -> new LongSparseTable.Min(new long[] { 1 }).query(0, 0));
+	}
+}
@@ -0,0 +1,79 @@
+package lib.graph;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class CsrGraphTest {
+
+	@Test
+	void directed() {
+		CsrGraph graph = CsrGraph.directed(4, new int[] { 0, 2, 0, 3, 2 }, new int[] { 1, 3, 2, 0, 1 },
+				new long[] { 10, 20, 30, 40, 50 });
+		assertEquals(4, graph.vertexCount());
+		assertEquals(5, graph.edgeCount());
+		assertEquals(2, graph.degree(0));
+		assertEquals(0, graph.degree(1));
+		// 同じ始点の辺は追加した順に並ぶ
+		assertArrayEquals(new int[] { 1, 2 }, targets(graph, 0));
+		assertArrayEquals(new int[] { 3, 1 }, targets(graph, 2));
+		assertEquals(50L, graph.weight(graph.start(2) + 1));
+		assertEquals(4, graph.edgeId(graph.start(2) + 1));
+	}
+
+	@Test
+	void undirected() {
+		CsrGraph graph = CsrGraph.undirected(3, new int[] { 0, 1 }, new int[] { 1, 2 });
+		assertEquals(4, graph.edgeCount());
+		assertArrayEquals(new int[] { 0, 2 }, targets(graph, 1));
+		assertEquals(1L, graph.weight(0));
+		assertEquals(graph.edgeId(graph.start(0)), graph.edgeId(graph.start(1)));
+	}
+
+	@Test
+	void builder() {
+		Random random = new Random(1);
+		int n = 100;
+		CsrGraph.Builder builder = new CsrGraph.Builder(n);
+		List<List<Integer>> expected = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			expected.add(new ArrayList<>());
+		}
+		for (int i = 0; i < 1_000; i++) {
+			int u = random.nextInt(n), v = random.nextInt(n);
+			builder.addEdge(u, v, i);
+			expected.get(u).add(v);
+		}
+		CsrGraph graph = builder.buildDirected();
+		for (int v = 0; v < n; v++) {
+			assertArrayEquals(expected.get(v).stream().mapToInt(Integer::intValue).toArray(), targets(graph, v));
+		}
+	}
+
+	@Test
+	void invalidEdges() {
+		assertThrows(IndexOutOfBoundsException.class, () -> CsrGraph.directed(2, new int[] { 0 }, new int[] { 2 }));
+		assertThrows(IllegalArgumentException.class, () -> CsrGraph.directed(2, new int[] { 0 }, new int[0]));
+	}
+
+	/**
+	 * 頂点から出る辺の行き先を取得する
+	 *
+	 * @param graph グラフ
+	 * @param v     頂点
+	 * @return 行き先の頂点
+	 */
+	private static int[] targets(CsrGraph graph, int v) {
+		int[] targets = new int[graph.degree(v)];
+		for (int k = graph.start(v); k < graph.end(v); k++) {
+			targets[k - graph.start(v)] = graph.target(k);
+		}
+		return targets;
+	}
+}
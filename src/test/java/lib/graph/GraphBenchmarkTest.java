@@ -0,0 +1,167 @@
+package lib.graph;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import testbase.BenchmarkBase;
+
+class GraphBenchmarkTest extends BenchmarkBase {
+
+	/** 頂点数 */
+	private static final int N = 200_000;
+	/** 辺の数 */
+	private static final int M = 400_000;
+	/** 辺の端点 */
+	private static final int[] FROM = new Random(0).ints(M, 0, N).toArray();
+	/** 辺のもう一方の端点 */
+	private static final int[] TO = new Random(1).ints(M, 0, N).toArray();
+	/** 辺の重み */
+	private static final long[] WEIGHTS = new Random(2).longs(M, 1, 1_000_000_000L).toArray();
+
+	/**
+	 * List&lt;List&lt;Integer&gt;&gt;の隣接リストを作成する
+	 *
+	 * @return 隣接リスト
+	 */
+	private static List<List<Integer>> adjacencyList() {
+		List<List<Integer>> graph = new ArrayList<>(N);
+		for (int i = 0; i < N; i++) {
+			graph.add(new ArrayList<>());
+		}
+		for (int i = 0; i < M; i++) {
+			graph.get(FROM[i]).add(TO[i]);
+			graph.get(TO[i]).add(FROM[i]);
+		}
+		return graph;
+	}
+
+	@Test
+	void breadthFirstSearch() {
+		compare(() -> {
+			List<List<Integer>> graph = adjacencyList();
+			int[] distance = new int[N];
+			Arrays.fill(distance, -1);
+			Deque<Integer> queue = new ArrayDeque<>();
+			distance[0] = 0;
+			queue.add(0);
+			long checksum = 0L;
+			while (!queue.isEmpty()) {
+				int v = queue.poll();
+				checksum += distance[v];
+				for (int u : graph.get(v)) {
+					if (distance[u] < 0) {
+						distance[u] = distance[v] + 1;
+						queue.add(u);
+					}
+				}
+			}
+			return checksum;
+		}, () -> {
+			BreadthFirstSearch bfs = new BreadthFirstSearch(CsrGraph.undirected(N, FROM, TO), 0);
+			long checksum = 0L;
+			for (int v : bfs.order()) {
+				checksum += bfs.distance(v);
+			}
+			return checksum;
+		});
+	}
+
+	@Test
+	void depthFirstSearch() {
+		compare(() -> {
+			List<List<Integer>> graph = adjacencyList();
+			boolean[] visited = new boolean[N];
+			int[] cursor = new int[N];
+			Deque<Integer> stack = new ArrayDeque<>();
+			long checksum = 0L, order = 0L;
+			visited[0] = true;
+			stack.push(0);
+			while (!stack.isEmpty()) {
+				int v = stack.peek();
+				if (cursor[v] < graph.get(v).size()) {
+					int u = graph.get(v).get(cursor[v]++);
+					if (!visited[u]) {
+						visited[u] = true;
+						stack.push(u);
+					}
+				} else {
+					checksum += v * ++order;
+					stack.pop();
+				}
+			}
+			return checksum;
+		}, () -> {
+			DepthFirstSearch dfs = new DepthFirstSearch(CsrGraph.undirected(N, FROM, TO), 0);
+			long checksum = 0L, order = 0L;
+			for (int v : dfs.postorder()) {
+				checksum += v * ++order;
+			}
+			return checksum;
+		});
+	}
+
+	@Test
+	void dijkstra() {
+		compare(() -> {
+			List<List<long[]>> graph = new ArrayList<>(N);
+			for (int i = 0; i < N; i++) {
+				graph.add(new ArrayList<>());
+			}
+			for (int i = 0; i < M; i++) {
+				graph.get(FROM[i]).add(new long[] { TO[i], WEIGHTS[i] });
+				graph.get(TO[i]).add(new long[] { FROM[i], WEIGHTS[i] });
+			}
+			long[] distance = new long[N];
+			Arrays.fill(distance, Long.MAX_VALUE);
+			PriorityQueue<long[]> queue = new PriorityQueue<>((x, y) -> Long.compare(x[0], y[0]));
+			distance[0] = 0L;
+			queue.add(new long[] { 0L, 0L });
+			while (!queue.isEmpty()) {
+				long[] entry = queue.poll();
+				int v = (int) entry[1];
+				if (entry[0] > distance[v]) {
+					continue;
+				}
+				for (long[] edge : graph.get(v)) {
+					int u = (int) edge[0];
+					long next = entry[0] + edge[1];
+					if (next < distance[u]) {
+						distance[u] = next;
+						queue.add(new long[] { next, u });
+					}
+				}
+			}
+			return checksum(distance);
+		}, () -> {
+			Dijkstra dijkstra = new Dijkstra(CsrGraph.undirected(N, FROM, TO, WEIGHTS), 0);
+			long[] distance = new long[N];
+			for (int v = 0; v < N; v++) {
+				distance[v] = dijkstra.distance(v);
+			}
+			return checksum(distance);
+		});
+	}
+
+	/**
+	 * 到達できた頂点の距離の和を求める
+	 *
+	 * @param distance 距離
+	 * @return チェックサム
+	 */
+	private static long checksum(long[] distance) {
+		long checksum = 0L;
+		for (long d : distance) {
+			if (Long.MAX_VALUE != d) {
+				checksum += d;
+			}
+		}
+		return checksum;
+	}
+}
@@ -0,0 +1,190 @@
+package lib.graph;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+class GraphSearchTest {
+
+	/** 深いグラフの頂点数 */
+	private static final int DEEP = 1_000_000;
+
+	/**
+	 * 乱数でグラフを作成する
+	 *
+	 * @param random 乱数
+	 * @param n      頂点数
+	 * @param m      辺の数
+	 * @return 辺の始点、終点、重み
+	 */
+	private static long[][] randomEdges(Random random, int n, int m) {
+		long[][] edges = new long[3][m];
+		for (int i = 0; i < m; i++) {
+			edges[0][i] = random.nextInt(n);
+			edges[1][i] = random.nextInt(n);
+			edges[2][i] = random.nextInt(100);
+		}
+		return edges;
+	}
+
+	/**
+	 * long配列をint配列に変換する
+	 *
+	 * @param values long配列
+	 * @return int配列
+	 */
+	private static int[] toInt(long[] values) {
+		return Arrays.stream(values).mapToInt(Math::toIntExact).toArray();
+	}
+
+	/**
+	 * ベルマン・フォード法で距離を求める
+	 *
+	 * @param n      頂点数
+	 * @param edges  辺
+	 * @param source 始点
+	 * @param weight 重みを使うかどうか
+	 * @return 距離
+	 */
+	private static long[] bellmanFord(int n, long[][] edges, int source, boolean weight) {
+		long[] distance = new long[n];
+		Arrays.fill(distance, Long.MAX_VALUE);
+		distance[source] = 0L;
+		for (boolean updated = true; updated;) {
+			updated = false;
+			for (int i = 0; i < edges[0].length; i++) {
+				int u = (int) edges[0][i], v = (int) edges[1][i];
+				long next = (Long.MAX_VALUE == distance[u]) ? Long.MAX_VALUE : distance[u] + (weight ? edges[2][i] : 1L);
+				if (next < distance[v]) {
+					distance[v] = next;
+					updated = true;
+				}
+			}
+		}
+		return distance;
+	}
+
+	@Test
+	void breadthFirstSearch() {
+		Random random = new Random(1);
+		for (int t = 0; t < 20; t++) {
+			int n = 50;
+			long[][] edges = randomEdges(random, n, 80);
+			CsrGraph graph = CsrGraph.directed(n, toInt(edges[0]), toInt(edges[1]));
+			BreadthFirstSearch bfs = new BreadthFirstSearch(graph, 0);
+			long[] expected = bellmanFord(n, edges, 0, false);
+			int previous = 0;
+			for (int v : bfs.order()) {
+				assertTrue(previous <= bfs.distance(v));
+				previous = bfs.distance(v);
+			}
+			for (int v = 0; v < n; v++) {
+				assertEquals((Long.MAX_VALUE == expected[v]) ? -1 : expected[v], bfs.distance(v));
+				if (bfs.distance(v) > 0) {
+					assertEquals(bfs.distance(v) - 1, bfs.distance(bfs.parent(v)));
+				}
+			}
+		}
+		CsrGraph path = CsrGraph.undirected(5, new int[] { 0, 1, 2, 3 }, new int[] { 1, 2, 3, 4 });
+		BreadthFirstSearch bfs = new BreadthFirstSearch(path, new int[] { 0, 4 });
+		assertArrayEquals(new int[] { 0, 1, 2, 1, 0 }, Arrays.stream(new int[] { 0, 1, 2, 3, 4 }).map(bfs::distance).toArray());
+	}
+
+	@Test
+	void depthFirstSearch() {
+		// 0 - 1 - 3、0 - 2、4は孤立
+		CsrGraph graph = CsrGraph.undirected(5, new int[] { 0, 1, 0 }, new int[] { 1, 3, 2 });
+		DepthFirstSearch dfs = new DepthFirstSearch(graph, 0);
+		assertArrayEquals(new int[] { 0, 1, 3, 2 }, dfs.preorder());
+		assertArrayEquals(new int[] { 3, 1, 2, 0 }, dfs.postorder());
+		assertEquals(1, dfs.parent(3));
+		assertEquals(2, dfs.depth(3));
+		assertEquals(-1, dfs.parent(0));
+		assertEquals(-1, dfs.depth(4));
+		DepthFirstSearch forest = new DepthFirstSearch(graph);
+		assertArrayEquals(new int[] { 0, 1, 3, 2, 4 }, forest.preorder());
+		assertTrue(forest.isReached(4));
+	}
+
+	@Test
+	void deepGraphWithSmallStack() throws InterruptedException {
+		// 再帰に依存しないことを、小さいスタックのスレッドで100万頂点のパスグラフを探索して確認する
+		int[] from = new int[DEEP - 1], to = new int[DEEP - 1];
+		for (int i = 0; i < DEEP - 1; i++) {
+			from[i] = i;
+			to[i] = i + 1;
+		}
+		CsrGraph graph = CsrGraph.undirected(DEEP, from, to);
+		AtomicReference<Throwable> error = new AtomicReference<>();
+		Thread thread = new Thread(null, () -> {
+			try {
+				DepthFirstSearch dfs = new DepthFirstSearch(graph, 0);
+				assertEquals(DEEP - 1, dfs.depth(DEEP - 1));
+				assertEquals(0, dfs.postorder()[DEEP - 1]);
+				UnionFind unionFind = new UnionFind(DEEP);
+				for (int i = DEEP - 1; i > 0; i--) {
+					unionFind.union(i, i - 1);
+				}
+				assertEquals(DEEP, unionFind.size(0));
+			} catch (Throwable e) {
+				error.set(e);
+			}
+		}, "small-stack", 256 * 1024);
+		thread.start();
+		thread.join();
+		assertNull(error.get());
+	}
+
+	@Test
+	void dijkstra() {
+		Random random = new Random(2);
+		for (int t = 0; t < 20; t++) {
+			int n = 50;
+			long[][] edges = randomEdges(random, n, 150);
+			CsrGraph graph = CsrGraph.directed(n, toInt(edges[0]), toInt(edges[1]), edges[2]);
+			Dijkstra dijkstra = new Dijkstra(graph, 0);
+			long[] expected = bellmanFord(n, edges, 0, true);
+			for (int v = 0; v < n; v++) {
+				assertEquals(expected[v], dijkstra.distance(v));
+				int[] path = dijkstra.path(v);
+				if (Dijkstra.UNREACHABLE == expected[v]) {
+					assertEquals(0, path.length);
+				} else {
+					assertEquals(0, path[0]);
+					assertEquals(v, path[path.length - 1]);
+				}
+			}
+		}
+	}
+
+	@Test
+	void topologicalSort() {
+		Random random = new Random(3);
+		for (int t = 0; t < 20; t++) {
+			int n = 50, m = 100;
+			int[] from = new int[m], to = new int[m];
+			for (int i = 0; i < m; i++) {
+				// 番号の小さい頂点から大きい頂点への辺のみで、閉路のないグラフを作る
+				int u = random.nextInt(n - 1);
+				from[i] = u;
+				to[i] = u + 1 + random.nextInt(n - 1 - u);
+			}
+			int[] order = TopologicalSort.sort(CsrGraph.directed(n, from, to));
+			int[] position = new int[n];
+			for (int i = 0; i < n; i++) {
+				position[order[i]] = i;
+			}
+			for (int i = 0; i < m; i++) {
+				assertTrue(position[from[i]] < position[to[i]]);
+			}
+		}
+		assertNull(TopologicalSort.sort(CsrGraph.directed(3, new int[] { 0, 1, 2 }, new int[] { 1, 2, 0 })));
+	}
+}
@@ -0,0 +1,67 @@
+package lib.graph;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class UnionFindTest {
+
+	@Test
+	void union() {
+		Random random = new Random(1);
+		int n = 200;
+		UnionFind unionFind = new UnionFind(n);
+		// 各要素の集合の番号（ナイーブな実装）
+		int[] group = new int[n];
+		for (int i = 0; i < n; i++) {
+			group[i] = i;
+		}
+		for (int q = 0; q < 1_000; q++) {
+			int x = random.nextInt(n), y = random.nextInt(n);
+			if (random.nextBoolean()) {
+				boolean merged = group[x] != group[y];
+				assertEquals(merged, unionFind.union(x, y));
+				int from = group[y];
+				for (int i = 0; i < n; i++) {
+					if (group[i] == from) {
+						group[i] = group[x];
+					}
+				}
+			} else {
+				assertEquals(group[x] == group[y], unionFind.same(x, y));
+				int size = 0;
+				for (int i = 0; i < n; i++) {
+					size += (group[i] == group[x]) ? 1 : 0;
+				}
+				assertEquals(size, unionFind.size(x));
+			}
+		}
+		int total = 0;
+		for (int[] members : unionFind.groups()) {
+			total += members.length;
+			for (int member : members) {
+				assertTrue(unionFind.same(members[0], member));
+			}
+		}
+		assertEquals(n, total);
+		assertEquals(unionFind.count(), unionFind.groups().length);
+	}
+
+	@Test
+	void groups() {
+		UnionFind unionFind = new UnionFind(5);
+		unionFind.union(3, 1);
+		unionFind.union(4, 0);
+		assertFalse(unionFind.union(0, 4));
+		assertEquals(3, unionFind.count());
+		int[][] groups = unionFind.groups();
+		assertArrayEquals(new int[] { 0, 4 }, groups[0]);
+		assertArrayEquals(new int[] { 1, 3 }, groups[1]);
+		assertArrayEquals(new int[] { 2 }, groups[2]);
+	}
+}
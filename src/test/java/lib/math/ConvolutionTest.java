@@ -0,0 +1,97 @@
+package lib.math;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class ConvolutionTest {
+
+	/**
+	 * ナイーブに畳み込みを求める
+	 *
+	 * @param a   値の列
+	 * @param b   値の列
+	 * @param mod 法
+	 * @return 畳み込みの結果
+	 */
+	private static int[] naive(int[] a, int[] b, int mod) {
+		if ((0 == a.length) || (0 == b.length)) {
+			return new int[0];
+		}
+		BigInteger[] c = new BigInteger[a.length + b.length - 1];
+		Arrays.fill(c, BigInteger.ZERO);
+		for (int i = 0; i < a.length; i++) {
+			for (int j = 0; j < b.length; j++) {
+				c[i + j] = c[i + j].add(BigInteger.valueOf(a[i]).multiply(BigInteger.valueOf(b[j])));
+			}
+		}
+		int[] result = new int[c.length];
+		for (int i = 0; i < c.length; i++) {
+			result[i] = c[i].mod(BigInteger.valueOf(mod)).intValue();
+		}
+		return result;
+	}
+
+	@Test
+	void convolution() {
+		Random random = new Random(1);
+		for (int mod : new int[] { 998_244_353, 754_974_721, 167_772_161, 469_762_049 }) {
+			for (int[] size : new int[][] { { 0, 5 }, { 1, 1 }, { 3, 100 }, { 61, 61 }, { 64, 65 }, { 500, 300 },
+					{ 1_000, 1 } }) {
+				int[] a = random.ints(size[0], 0, mod).toArray(), b = random.ints(size[1], 0, mod).toArray();
+				assertArrayEquals(naive(a, b, mod), Convolution.convolution(a, b, mod));
+			}
+		}
+		assertArrayEquals(new int[] { 5, 16, 34, 60, 70, 70, 59, 36 },
+				Convolution.convolution(new int[] { 1, 2, 3, 4 }, new int[] { 5, 6, 7, 8, 9 }));
+		// 998244353 - 1 = 2^23 * 119 のため、結果の長さが2^23を超えると変換できない
+		assertThrows(IllegalArgumentException.class,
+				() -> Convolution.convolution(new int[(1 << 22) + 1], new int[(1 << 22) + 1]));
+	}
+
+	@Test
+	void negativeAndLargeValues() {
+		// ナイーブな計算とNTTの境界（短い方の長さ60）の前後で、負の値・mod以上の値の扱いが同じになる
+		Random random = new Random(3);
+		for (int mod : new int[] { 998_244_353, 167_772_161 }) {
+			for (int[] size : new int[][] { { 1, 1 }, { 60, 60 }, { 60, 200 }, { 61, 61 }, { 61, 200 } }) {
+				int[] a = random.ints(size[0]).toArray(), b = random.ints(size[1]).toArray();
+				a[0] = Integer.MIN_VALUE;
+				b[b.length - 1] = Integer.MAX_VALUE;
+				assertArrayEquals(naive(a, b, mod), Convolution.convolution(a, b, mod),
+						size[0] + " x " + size[1] + " mod " + mod);
+			}
+		}
+		for (int mod : new int[] { 2, 1_000_000_007, Integer.MAX_VALUE }) {
+			for (int[] size : new int[][] { { 60, 60 }, { 61, 61 }, { 300, 100 } }) {
+				int[] a = random.ints(size[0]).toArray(), b = random.ints(size[1]).toArray();
+				assertArrayEquals(naive(a, b, mod), Convolution.convolutionAnyMod(a, b, mod),
+						size[0] + " x " + size[1] + " mod " + mod);
+			}
+		}
+	}
+
+	@Test
+	void convolutionAnyMod() {
+		Random random = new Random(2);
+		for (int mod : new int[] { 1, 2, 1_000_000_007, Integer.MAX_VALUE }) {
+			for (int[] size : new int[][] { { 0, 0 }, { 1, 7 }, { 100, 100 }, { 700, 900 } }) {
+				int[] a = random.ints(size[0], 0, mod).toArray(), b = random.ints(size[1], 0, mod).toArray();
+				assertArrayEquals(naive(a, b, mod), Convolution.convolutionAnyMod(a, b, mod));
+			}
+		}
+		// 値が最大の場合も3つの素数の積を超えない
+		int mod = 1_000_000_007, n = 200_000;
+		int[] a = new int[n];
+		Arrays.fill(a, mod - 1);
+		int[] c = Convolution.convolutionAnyMod(a, a, mod);
+		assertEquals(BigInteger.valueOf(mod - 1).pow(2).multiply(BigInteger.valueOf(n)).mod(BigInteger.valueOf(mod))
+				.intValue(), c[n - 1]);
+	}
+}
@@ -0,0 +1,202 @@
+package lib.math;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import testbase.BenchmarkBase;
+
+class ModArithmeticBenchmarkTest extends BenchmarkBase {
+
+	/** 乗算の回数 */
+	private static final int N = 10_000_000;
+	/** 二項係数の最大値・問い合わせ回数 */
+	private static final int MAX = 1_000_000;
+	/** 畳み込みの長さ（ナイーブな実装で比較できる長さ） */
+	private static final int CONVOLUTION_LENGTH = 20_000;
+	/** 畳み込みの最大の長さ（制約の最大値） */
+	private static final int MAX_CONVOLUTION_LENGTH = 200_000;
+	/** 定数畳み込みされないように、法はフィールドから読み込む */
+	private int mod = 998_244_353;
+
+	@Test
+	void montgomery() {
+		compare(() -> {
+			long x = 1L, mod = this.mod;
+			for (int i = 1; i <= N; i++) {
+				x = x * (x + i) % mod;
+			}
+			return x;
+		}, () -> {
+			Montgomery montgomery = new Montgomery(mod);
+			int x = montgomery.toMontgomery(1L);
+			for (int i = 1; i <= N; i++) {
+				x = montgomery.multiply(x, montgomery.add(x, montgomery.toMontgomery(i)));
+			}
+			return montgomery.fromMontgomery(x);
+		});
+	}
+
+	@Test
+	void barrett() {
+		compare(() -> {
+			long x = 1L, mod = this.mod;
+			for (int i = 1; i <= N; i++) {
+				x = x * ((x + i) % mod) % mod;
+			}
+			return x;
+		}, () -> {
+			Barrett barrett = new Barrett(mod);
+			long x = 1L;
+			for (int i = 1; i <= N; i++) {
+				x = barrett.multiply(x, barrett.reduce(x + i));
+			}
+			return x;
+		});
+	}
+
+	@Test
+	void combination() {
+		Random random = new Random(0);
+		int[] ns = new int[MAX], ks = new int[MAX];
+		for (int i = 0; i < MAX; i++) {
+			ns[i] = random.nextInt(MAX);
+			ks[i] = random.nextInt(ns[i] + 1);
+		}
+		compare(() -> {
+			// 階乗の表のみを作り、逆元は問い合わせごとにべき乗で求める
+			long[] factorial = new long[MAX];
+			factorial[0] = 1L;
+			for (int i = 1; i < MAX; i++) {
+				factorial[i] = factorial[i - 1] * i % mod;
+			}
+			long sum = 0L;
+			for (int i = 0; i < MAX; i++) {
+				long denominator = factorial[ks[i]] * factorial[ns[i] - ks[i]] % mod;
+				sum += factorial[ns[i]] * ModMath.pow(denominator, mod - 2, mod) % mod;
+			}
+			return sum;
+		}, () -> {
+			ModCombination combination = new ModCombination(MAX, mod);
+			long sum = 0L;
+			for (int i = 0; i < MAX; i++) {
+				sum += combination.combination(ns[i], ks[i]);
+			}
+			return sum;
+		});
+	}
+
+	@Test
+	void convolution() {
+		Random random = new Random(1);
+		int[] a = random.ints(CONVOLUTION_LENGTH, 0, mod).toArray();
+		int[] b = random.ints(CONVOLUTION_LENGTH, 0, mod).toArray();
+		compare(() -> {
+			long[] c = new long[a.length + b.length - 1];
+			for (int i = 0; i < a.length; i++) {
+				for (int j = 0; j < b.length; j++) {
+					c[i + j] = (c[i + j] + (long) a[i] * b[j]) % mod;
+				}
+			}
+			long sum = 0L;
+			for (long value : c) {
+				sum += value;
+			}
+			return sum;
+		}, () -> {
+			long sum = 0L;
+			for (int value : Convolution.convolution(a, b)) {
+				sum += value;
+			}
+			return sum;
+		});
+	}
+
+	@Test
+	void convolutionMaxSize() {
+		// 制約の最大値ではナイーブな実装は数十秒かかるため、%演算を使う実装と比較する
+		Random random = new Random(2);
+		int[] a = random.ints(MAX_CONVOLUTION_LENGTH, 0, mod).toArray();
+		int[] b = random.ints(MAX_CONVOLUTION_LENGTH, 0, mod).toArray();
+		compare(() -> {
+			long sum = 0L;
+			for (long value : remainderConvolution(a, b, mod)) {
+				sum += value;
+			}
+			return sum;
+		}, () -> {
+			long sum = 0L;
+			for (int value : Convolution.convolution(a, b)) {
+				sum += value;
+			}
+			return sum;
+		});
+	}
+
+	/**
+	 * %演算で剰余を求めるNTTで畳み込みを求める
+	 *
+	 * @param a   値の列
+	 * @param b   値の列
+	 * @param mod 法
+	 * @return 畳み込みの結果
+	 */
+	private static long[] remainderConvolution(int[] a, int[] b, int mod) {
+		int size = Integer.highestOneBit(a.length + b.length - 2) << 1;
+		long[] fa = new long[size], fb = new long[size];
+		for (int i = 0; i < a.length; i++) {
+			fa[i] = a[i];
+		}
+		for (int i = 0; i < b.length; i++) {
+			fb[i] = b[i];
+		}
+		long root = ModMath.pow(ModMath.primitiveRoot(mod), (mod - 1) / size, mod);
+		transform(fa, root, mod);
+		transform(fb, root, mod);
+		for (int i = 0; i < size; i++) {
+			fa[i] = fa[i] * fb[i] % mod;
+		}
+		transform(fa, ModMath.inverse(root, mod), mod);
+		long inverseSize = ModMath.inverse(size, mod);
+		long[] c = new long[a.length + b.length - 1];
+		for (int i = 0; i < c.length; i++) {
+			c[i] = fa[i] * inverseSize % mod;
+		}
+		return c;
+	}
+
+	/**
+	 * ビット反転並べ替えを使う一般的なNTT
+	 *
+	 * @param a    列（長さは2のべき乗）
+	 * @param root 1の原始n乗根
+	 * @param mod  法
+	 */
+	private static void transform(long[] a, long root, int mod) {
+		int n = a.length;
+		for (int i = 1, j = 0; i < n; i++) {
+			int bit = n >> 1;
+			for (; 0 != (j & bit); bit >>= 1) {
+				j ^= bit;
+			}
+			j ^= bit;
+			if (i < j) {
+				long t = a[i];
+				a[i] = a[j];
+				a[j] = t;
+			}
+		}
+		for (int len = 1; len < n; len <<= 1) {
+			long w = ModMath.pow(root, n / (len << 1), mod);
+			for (int i = 0; i < n; i += len << 1) {
+				long x = 1L;
+				for (int j = 0; j < len; j++) {
+					long u = a[i + j], v = a[i + j + len] * x % mod;
+					a[i + j] = (u + v) % mod;
+					a[i + j + len] = (u - v + mod) % mod;
+					x = x * w % mod;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package lib.math;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class ModArithmeticTest {
+
+	/** テストに使う法 */
+	private static final int[] MODS = { 3, 1_000_000_007, 998_244_353, 754_974_721, (1 << 30) - 1 };
+
+	@Test
+	void pow() {
+		Random random = new Random(1);
+		for (int mod : new int[] { 1, 2, 1_000_000_007, Integer.MAX_VALUE }) {
+			for (int i = 0; i < 1_000; i++) {
+				long base = random.nextLong(), exponent = random.nextInt(Integer.MAX_VALUE);
+				assertEquals(BigInteger.valueOf(base).modPow(BigInteger.valueOf(exponent), BigInteger.valueOf(mod))
+						.longValue(), ModMath.pow(base, exponent, mod));
+			}
+		}
+		assertEquals(1L, ModMath.pow(0L, 0L, 7));
+		assertThrows(IllegalArgumentException.class, () -> ModMath.pow(2L, -1L, 7));
+	}
+
+	@Test
+	void inverse() {
+		Random random = new Random(2);
+		for (int i = 0; i < 1_000; i++) {
+			int mod = random.nextInt(Integer.MAX_VALUE - 1) + 2;
+			long value = random.nextLong();
+			BigInteger big = BigInteger.valueOf(value);
+			if (big.gcd(BigInteger.valueOf(mod)).equals(BigInteger.ONE)) {
+				assertEquals(big.modInverse(BigInteger.valueOf(mod)).longValue(), ModMath.inverse(value, mod));
+			} else {
+				assertThrows(ArithmeticException.class, () -> ModMath.inverse(value, mod));
+			}
+		}
+	}
+
+	@Test
+	void primitiveRoot() {
+		assertEquals(3, ModMath.primitiveRoot(998_244_353));
+		assertEquals(11, ModMath.primitiveRoot(754_974_721));
+		assertEquals(3, ModMath.primitiveRoot(167_772_161));
+		assertEquals(3, ModMath.primitiveRoot(469_762_049));
+		assertEquals(5, ModMath.primitiveRoot(1_000_000_007));
+		assertEquals(1, ModMath.primitiveRoot(2));
+	}
+
+	@Test
+	void montgomery() {
+		Random random = new Random(3);
+		for (int mod : MODS) {
+			Montgomery montgomery = new Montgomery(mod);
+			for (int i = 0; i < 10_000; i++) {
+				long a = random.nextLong(), b = random.nextLong();
+				int x = montgomery.toMontgomery(a), y = montgomery.toMontgomery(b);
+				long expectedA = Math.floorMod(a, mod), expectedB = Math.floorMod(b, mod);
+				assertEquals(expectedA, montgomery.fromMontgomery(x));
+				assertEquals(expectedA * expectedB % mod, montgomery.fromMontgomery(montgomery.multiply(x, y)));
+				assertEquals((expectedA + expectedB) % mod, montgomery.fromMontgomery(montgomery.add(x, y)));
+				assertEquals(Math.floorMod(expectedA - expectedB, mod),
+						montgomery.fromMontgomery(montgomery.subtract(x, y)));
+				long exponent = random.nextInt(Integer.MAX_VALUE);
+				assertEquals(ModMath.pow(a, exponent, mod), montgomery.fromMontgomery(montgomery.pow(x, exponent)));
+			}
+		}
+		assertThrows(IllegalArgumentException.class, () -> new Montgomery(1 << 30));
+		assertThrows(IllegalArgumentException.class, () -> new Montgomery(1_000_000));
+	}
+
+	@Test
+	void barrett() {
+		Random random = new Random(4);
+		for (int mod : new int[] { 2, 3, 1_000_000, 1_000_000_007, 998_244_353, Integer.MAX_VALUE }) {
+			Barrett barrett = new Barrett(mod);
+			for (int i = 0; i < 10_000; i++) {
+				long a = random.nextInt(mod), b = random.nextInt(mod);
+				assertEquals(a * b % mod, barrett.multiply(a, b));
+				long x = random.nextLong() & Long.MAX_VALUE;
+				assertEquals(x % mod, barrett.reduce(x));
+				long exponent = random.nextInt(Integer.MAX_VALUE);
+				assertEquals(ModMath.pow(a, exponent, mod), barrett.pow(a, exponent));
+			}
+			assertEquals((long) (mod - 1) * (mod - 1) % mod, barrett.multiply(mod - 1, mod - 1));
+			assertEquals(Long.MAX_VALUE % mod, barrett.reduce(Long.MAX_VALUE));
+		}
+		assertThrows(IllegalArgumentException.class, () -> new Barrett(1));
+	}
+
+	@Test
+	void modCombination() {
+		int mod = 1_000_000_007, max = 1_000;
+		ModCombination combination = new ModCombination(max, mod);
+		BigInteger bigMod = BigInteger.valueOf(mod);
+		for (int n = 0; n <= max; n += 37) {
+			BigInteger factorial = BigInteger.ONE;
+			for (int i = 2; i <= n; i++) {
+				factorial = factorial.multiply(BigInteger.valueOf(i));
+			}
+			assertEquals(factorial.mod(bigMod).longValue(), combination.factorial(n));
+			assertEquals(factorial.modInverse(bigMod).longValue(), combination.inverseFactorial(n));
+			if (n > 0) {
+				assertEquals(ModMath.inverse(n, mod), combination.inverse(n));
+			}
+			BigInteger expected = BigInteger.ONE;
+			for (int k = 0; k <= n; k++) {
+				assertEquals(expected.mod(bigMod).longValue(), combination.combination(n, k));
+				expected = expected.multiply(BigInteger.valueOf(n - k)).divide(BigInteger.valueOf(k + 1));
+			}
+			assertEquals(0L, combination.combination(n, -1));
+			assertEquals(0L, combination.combination(n, n + 1));
+		}
+		assertEquals(20_160L, combination.permutation(8, 6));
+		assertEquals(0L, combination.permutation(8, 9));
+		assertEquals(combination.combination(5 + 3 - 1, 3), combination.multichoose(5, 3));
+		assertEquals(1L, combination.multichoose(0, 0));
+		assertEquals(0L, new ModCombination(3, 5).combination(3, 4));
+		assertThrows(IllegalArgumentException.class, () -> new ModCombination(7, 7));
+	}
+}
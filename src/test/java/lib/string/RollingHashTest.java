@@ -0,0 +1,55 @@
+package lib.string;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class RollingHashTest {
+
+	@Test
+	void multiply() {
+		Random random = new Random(1);
+		BigInteger mod = BigInteger.valueOf(RollingHash.MOD);
+		for (int i = 0; i < 100_000; i++) {
+			long a = (random.nextLong() >>> 3) % RollingHash.MOD, b = (random.nextLong() >>> 3) % RollingHash.MOD;
+			assertEquals(BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)).mod(mod).longValue(),
+					RollingHash.multiply(a, b));
+		}
+		assertEquals(1L, RollingHash.multiply(RollingHash.MOD - 1, RollingHash.MOD - 1));
+	}
+
+	@Test
+	void hash() {
+		Random random = new Random(2);
+		int n = 300;
+		char[] s = new char[n];
+		for (int i = 0; i < n; i++) {
+			s[i] = (char) ('a' + random.nextInt(2));
+		}
+		String string = new String(s);
+		RollingHash hash = new RollingHash(s);
+		assertEquals(n, hash.length());
+		for (int t = 0; t < 100_000; t++) {
+			int length = random.nextInt(10);
+			int i = random.nextInt(n - length + 1), j = random.nextInt(n - length + 1);
+			boolean same = string.regionMatches(i, string, j, length);
+			assertEquals(same, hash.hash(i, i + length) == hash.hash(j, j + length));
+		}
+		// 連結したハッシュ値は、連結した部分文字列のハッシュ値と一致する
+		assertEquals(hash.hash(10, 30), hash.concat(hash.hash(10, 17), hash.hash(17, 30), 13));
+	}
+
+	@Test
+	void lcp() {
+		byte[] s = "abracadabra".getBytes(), t = "cadabrabra".getBytes();
+		RollingHash hs = new RollingHash(s), ht = new RollingHash(t);
+		assertEquals(7, hs.lcp(4, ht, 0));
+		assertEquals(4, hs.lcp(0, hs, 7));
+		assertEquals(0, hs.lcp(0, ht, 0));
+		assertEquals(0, hs.lcp(11, ht, 0));
+		assertEquals(hs.hash(0, 4), new RollingHash(new int[] { 'a', 'b', 'r', 'a' }).hash(0, 4));
+	}
+}
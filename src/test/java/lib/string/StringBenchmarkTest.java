@@ -0,0 +1,128 @@
+package lib.string;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import lib.collection.LongHashSet;
+import testbase.BenchmarkBase;
+
+class StringBenchmarkTest extends BenchmarkBase {
+
+	/** 文字列の長さ */
+	private static final int N = 500_000;
+	/** 部分文字列の長さ */
+	private static final int LENGTH = 20;
+	/** 乱数で作成した文字列（文字の種類が少なく、繰り返しが多い） */
+	private static final char[] TEXT = new char[N];
+	/** 検索するパターンの長さ */
+	private static final int PATTERN_LENGTH = 1_000;
+
+	static {
+		Random random = new Random(0);
+		for (int i = 0; i < N; i++) {
+			TEXT[i] = (char) ('a' + random.nextInt(2));
+		}
+	}
+
+	@Test
+	void suffixArray() {
+		compare(() -> {
+			// 一般的なダブリング（Integer配列のソート、O(n log^2 n)）
+			Integer[] sa = new Integer[N];
+			int[] rank = new int[N], tmp = new int[N];
+			for (int i = 0; i < N; i++) {
+				sa[i] = i;
+				rank[i] = TEXT[i];
+			}
+			for (int k = 1; k < N; k <<= 1) {
+				int[] r = rank;
+				int step = k;
+				Comparator<Integer> comparator = (x, y) -> (r[x] != r[y]) ? Integer.compare(r[x], r[y])
+						: Integer.compare((x + step < N) ? r[x + step] : -1, (y + step < N) ? r[y + step] : -1);
+				Arrays.sort(sa, comparator);
+				tmp[sa[0]] = 0;
+				for (int i = 1; i < N; i++) {
+					tmp[sa[i]] = tmp[sa[i - 1]] + ((comparator.compare(sa[i - 1], sa[i]) < 0) ? 1 : 0);
+				}
+				int[] t = tmp;
+				tmp = rank;
+				rank = t;
+				if (N - 1 == rank[sa[N - 1]]) {
+					break;
+				}
+			}
+			long checksum = 0L;
+			for (int i = 0; i < N; i++) {
+				checksum += (long) i * sa[i];
+			}
+			return checksum;
+		}, () -> {
+			int[] sa = SuffixArray.suffixArray(TEXT);
+			long checksum = 0L;
+			for (int i = 0; i < N; i++) {
+				checksum += (long) i * sa[i];
+			}
+			return checksum;
+		});
+	}
+
+	@Test
+	void findAll() {
+		// ナイーブな検索の最悪ケース（aの並びの中から、aの並びの後にbが続くパターンを探す）
+		char[] text = new char[N], pattern = new char[PATTERN_LENGTH];
+		Arrays.fill(text, 'a');
+		for (int i = PATTERN_LENGTH - 1; i < N; i += PATTERN_LENGTH << 1) {
+			text[i] = 'b';
+		}
+		Arrays.fill(pattern, 'a');
+		pattern[PATTERN_LENGTH - 1] = 'b';
+		String textString = new String(text), patternString = new String(pattern);
+		compare(() -> {
+			long checksum = 0L;
+			for (int i = textString.indexOf(patternString); i >= 0; i = textString.indexOf(patternString, i + 1)) {
+				checksum += i;
+			}
+			return checksum;
+		}, () -> {
+			long checksum = 0L;
+			for (int i : StringSearch.findAll(text, pattern)) {
+				checksum += i;
+			}
+			return checksum;
+		});
+	}
+
+	@Test
+	void distinctSubstrings() {
+		compare(() -> {
+			String text = new String(TEXT);
+			Set<String> set = new HashSet<>();
+			for (int i = 0; i + LENGTH <= N; i++) {
+				set.add(text.substring(i, i + LENGTH));
+			}
+			return set.size();
+		}, () -> {
+			RollingHash hash = new RollingHash(TEXT);
+			LongHashSet set = new LongHashSet();
+			for (int i = 0; i + LENGTH <= N; i++) {
+				set.add(hash.hash(i, i + LENGTH));
+			}
+			return set.size();
+		});
+	}
+
+	@Test
+	void replace() {
+		char[] chars = TEXT.clone();
+		for (int i = 0; i < N; i += 7) {
+			chars[i] = ',';
+		}
+		String s = new String(chars);
+		compare(() -> s.replaceAll(",", " ").hashCode(), () -> s.replace(',', ' ').hashCode());
+	}
+}
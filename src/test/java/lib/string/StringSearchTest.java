@@ -0,0 +1,80 @@
+package lib.string;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class StringSearchTest {
+
+	/**
+	 * 乱数で文字列を作成する
+	 *
+	 * @param random   乱数
+	 * @param n        長さ
+	 * @param alphabet 文字の種類
+	 * @return 文字列
+	 */
+	private static String randomString(Random random, int n, int alphabet) {
+		char[] chars = new char[n];
+		for (int i = 0; i < n; i++) {
+			chars[i] = (char) ('a' + random.nextInt(alphabet));
+		}
+		return new String(chars);
+	}
+
+	@Test
+	void zAlgorithm() {
+		Random random = new Random(1);
+		for (int n = 0; n <= 100; n++) {
+			String s = randomString(random, n, 1 + n % 3);
+			int[] expected = new int[n];
+			for (int i = 0; i < n; i++) {
+				while ((i + expected[i] < n) && (s.charAt(expected[i]) == s.charAt(i + expected[i]))) {
+					expected[i]++;
+				}
+			}
+			assertArrayEquals(expected, StringSearch.zAlgorithm(s.toCharArray()), s);
+			assertArrayEquals(expected, StringSearch.zAlgorithm(s.getBytes()), s);
+		}
+	}
+
+	@Test
+	void prefixFunction() {
+		Random random = new Random(2);
+		for (int n = 0; n <= 100; n++) {
+			String s = randomString(random, n, 2);
+			int[] expected = new int[n];
+			for (int i = 0; i < n; i++) {
+				for (int k = i; k > 0; k--) {
+					if (s.substring(0, k).equals(s.substring(i + 1 - k, i + 1))) {
+						expected[i] = k;
+						break;
+					}
+				}
+			}
+			assertArrayEquals(expected, StringSearch.prefixFunction(Strings.toInts(s.toCharArray())), s);
+		}
+	}
+
+	@Test
+	void findAll() {
+		Random random = new Random(3);
+		for (int t = 0; t < 1_000; t++) {
+			String text = randomString(random, random.nextInt(100), 2);
+			String pattern = randomString(random, random.nextInt(5), 2);
+			List<Integer> expected = new ArrayList<>();
+			for (int i = 0; i <= text.length(); i++) {
+				if (text.startsWith(pattern, i)) {
+					expected.add(i);
+				}
+			}
+			int[] expectedArray = expected.stream().mapToInt(Integer::intValue).toArray();
+			assertArrayEquals(expectedArray, StringSearch.findAll(text.toCharArray(), pattern.toCharArray()));
+			assertArrayEquals(expectedArray, StringSearch.findAll(text.getBytes(), pattern.getBytes()));
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package lib.string;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class SuffixArrayTest {
+
+	/**
+	 * 接尾辞配列をナイーブに求める
+	 *
+	 * @param s 文字列
+	 * @return 接尾辞配列
+	 */
+	private static int[] naiveSuffixArray(String s) {
+		return IntStream.range(0, s.length()).boxed()
+				.sorted((x, y) -> s.substring(x).compareTo(s.substring(y))).mapToInt(Integer::intValue).toArray();
+	}
+
+	/**
+	 * 高さ配列をナイーブに求める
+	 *
+	 * @param s  文字列
+	 * @param sa 接尾辞配列
+	 * @return 高さ配列
+	 */
+	private static int[] naiveLcpArray(String s, int[] sa) {
+		int[] lcp = new int[Math.max(s.length() - 1, 0)];
+		for (int i = 0; i < lcp.length; i++) {
+			int h = 0;
+			while ((sa[i] + h < s.length()) && (sa[i + 1] + h < s.length())
+					&& (s.charAt(sa[i] + h) == s.charAt(sa[i + 1] + h))) {
+				h++;
+			}
+			lcp[i] = h;
+		}
+		return lcp;
+	}
+
+	@Test
+	void randomStrings() {
+		Random random = new Random(1);
+		// ナイーブ、ダブリング、SA-ISのそれぞれの長さを、少ない種類の文字（繰り返しが多い）で確認する
+		for (int n = 0; n <= 200; n++) {
+			for (int alphabet : new int[] { 1, 2, 3, 26 }) {
+				char[] chars = new char[n];
+				for (int i = 0; i < n; i++) {
+					chars[i] = (char) ('a' + random.nextInt(alphabet));
+				}
+				String s = new String(chars);
+				int[] expected = naiveSuffixArray(s);
+				assertArrayEquals(expected, SuffixArray.suffixArray(chars), s);
+				assertArrayEquals(expected, SuffixArray.suffixArray(s.getBytes()), s);
+				assertArrayEquals(naiveLcpArray(s, expected), SuffixArray.lcpArray(chars, expected), s);
+			}
+		}
+	}
+
+	@Test
+	void intArray() {
+		int[] s = { 3, 1, 4, 1, 5, 9, 2, 6, 5, 3, 5, 8, 9, 7, 9, 3, 2, 3, 8, 4, 6, 2, 6, 4, 3, 3, 8, 3, 2, 7, 9, 5, 0,
+				2, 8, 8, 4, 1, 9, 7, 1, 6, 9, 3, 9, 9, 3, 7, 5, 1 };
+		char[] chars = new char[s.length];
+		for (int i = 0; i < s.length; i++) {
+			chars[i] = (char) ('0' + s[i]);
+		}
+		int[] sa = SuffixArray.suffixArray(s, 9);
+		assertArrayEquals(naiveSuffixArray(new String(chars)), sa);
+		assertArrayEquals(SuffixArray.lcpArray(chars, sa), SuffixArray.lcpArray(s, sa));
+		assertThrows(IllegalArgumentException.class, () -> SuffixArray.suffixArray(new int[] { 10 }, 9));
+	}
+
+	@Test
+	void largeRepetitive() {
+		// 同じ文字の繰り返しでも線形時間で求まる
+		int n = 500_000;
+		byte[] s = new byte[n];
+		Arrays.fill(s, (byte) 'a');
+		int[] expected = new int[n];
+		for (int i = 0; i < n; i++) {
+			expected[i] = n - 1 - i;
+		}
+		assertArrayEquals(expected, SuffixArray.suffixArray(s));
+	}
+}
@@ -0,0 +1,45 @@
+package other.dp;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import testbase.TestBase;
+
+class ProblemDTest extends TestBase {
+
+	@Test
+	void case1() {
+		check("3 8" + LF + "3 30" + LF + "4 50" + LF + "5 60", "90");
+	}
+
+	@Test
+	void case2() {
+		check("5 5" + LF + "1 1000000000" + LF + "1 1000000000" + LF + "1 1000000000" + LF + "1 1000000000" + LF
+				+ "1 1000000000", "5000000000");
+	}
+
+	@Test
+	void case3() {
+		check("6 15" + LF + "6 5" + LF + "5 6" + LF + "6 4" + LF + "6 6" + LF + "3 5" + LF + "7 2", "17");
+	}
+
+	/**
+	 * 最大ケース（N = 100、W = 10^5、表は約80MB）の結果を、1次元のDPで求めた値と比較する
+	 */
+	@Test
+	void maxCase() {
+		int n = 100, w = 100_000;
+		Random random = new Random(0);
+		StringBuilder input = new StringBuilder().append(n).append(' ').append(w).append(LF);
+		long[] best = new long[w + 1];
+		for (int i = 0; i < n; i++) {
+			int weight = 1 + random.nextInt(w), value = 1 + random.nextInt(1_000_000_000);
+			input.append(weight).append(' ').append(value).append(LF);
+			for (int j = w; j >= weight; j--) {
+				best[j] = Math.max(best[j], best[j - weight] + value);
+			}
+		}
+		check(input.toString(), String.valueOf(best[w]));
+	}
+}
@@ -0,0 +1,13 @@
+package other.practice2;
+
+import org.junit.jupiter.api.Test;
+
+import testbase.TestBase;
+
+class ProblemATest extends TestBase {
+
+	@Test
+	void case1() {
+		check("4 7\n1 0 1\n0 0 1\n0 2 3\n1 0 1\n1 1 2\n0 0 2\n1 1 3", "0\n1\n0\n1");
+	}
+}
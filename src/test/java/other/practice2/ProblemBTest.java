@@ -0,0 +1,13 @@
+package other.practice2;
+
+import org.junit.jupiter.api.Test;
+
+import testbase.TestBase;
+
+class ProblemBTest extends TestBase {
+
+	@Test
+	void case1() {
+		check("5 5\n1 2 3 4 5\n1 0 5\n1 2 4\n0 3 10\n1 0 5\n1 0 3", "15\n7\n25\n6");
+	}
+}
@@ -0,0 +1,18 @@
+package other.practice2;
+
+import org.junit.jupiter.api.Test;
+
+import testbase.TestBase;
+
+class ProblemFTest extends TestBase {
+
+	@Test
+	void case1() {
+		check("4 5\n1 2 3 4\n5 6 7 8 9", "5 16 34 60 70 70 59 36");
+	}
+
+	@Test
+	void case2() {
+		check("1 1\n10000000\n10000000", "871938225");
+	}
+}
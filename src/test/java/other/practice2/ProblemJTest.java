@@ -0,0 +1,13 @@
+package other.practice2;
+
+import org.junit.jupiter.api.Test;
+
+import testbase.TestBase;
+
+class ProblemJTest extends TestBase {
+
+	@Test
+	void case1() {
+		check("5 5\n1 2 3 2 1\n2 1 5\n3 2 3\n1 3 1\n2 2 4\n3 1 3", "3\n3\n2\n6");
+	}
+}
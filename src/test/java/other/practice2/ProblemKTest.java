@@ -0,0 +1,14 @@
+package other.practice2;
+
+import org.junit.jupiter.api.Test;
+
+import testbase.TestBase;
+
+class ProblemKTest extends TestBase {
+
+	@Test
+	void case1() {
+		check("5 7\n1 2 3 4 5\n1 0 5\n0 2 4 100 101\n1 0 3\n0 1 3 102 103\n1 2 5\n0 2 5 104 105\n1 0 5",
+				"15\n404\n41511\n4317767");
+	}
+}
@@ -0,0 +1,153 @@
+package testbase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+import java.util.function.LongSupplier;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.TestInfo;
+
+/**
+ * ライブラリのベンチマーク用の基底クラス
+ *
+ * 処理は「結果のチェックサム」を返すLongSupplierとして渡す。チェックサムは比較対象同士で一致するかを確認し、
+ * JITによる処理の除去も防ぐ。
+ */
+@DisplayNameGeneration(CustomDisplayNameGenerator.class)
+public abstract class BenchmarkBase {
+
+	/** ベンチマーク用プロパティーファイル */
+	private static final String BENCHMARK_PROPERTIES_FILE = "benchmark.properties";
+	/** ベンチマーク用プロパティーファイル読み込み用 */
+	private static final Properties BENCHMARK_PROPERTIES = new Properties();
+	/** ベンチマークを実施するかどうかのキー */
+	private static final String RUN_BENCHMARK_KEY = "RUN_BENCHMARK";
+	/** ウォームアップの回数のキー */
+	private static final String WARMUP_ITERATIONS_KEY = "WARMUP_ITERATIONS";
+	/** 計測の回数のキー */
+	private static final String MEASUREMENT_ITERATIONS_KEY = "MEASUREMENT_ITERATIONS";
+	/** ウォームアップの回数のデフォルト値 */
+	private static final String WARMUP_ITERATIONS_DEFAULT_VALUE = "3";
+	/** 計測の回数のデフォルト値 */
+	private static final String MEASUREMENT_ITERATIONS_DEFAULT_VALUE = "5";
+	/** ベンチマークを実施するかどうか */
+	private static boolean RUN_BENCHMARK = false;
+	/** ウォームアップの回数 */
+	private static int WARMUP_ITERATIONS = 3;
+	/** 計測の回数 */
+	private static int MEASUREMENT_ITERATIONS = 5;
+
+	/** 現在のテストクラス名を取得する */
+	protected String testClassName;
+	/** 現在のテストケース名を取得する */
+	protected String testCaseName;
+
+	static {
+		try {
+			InputStream benchmarkIs = BenchmarkBase.class.getClassLoader()
+					.getResourceAsStream(BENCHMARK_PROPERTIES_FILE);
+			if (null != benchmarkIs) {
+				BENCHMARK_PROPERTIES.load(benchmarkIs);
+			}
+			RUN_BENCHMARK = Boolean.parseBoolean(getProperty(RUN_BENCHMARK_KEY, Boolean.FALSE.toString()));
+			WARMUP_ITERATIONS = Integer.parseInt(getProperty(WARMUP_ITERATIONS_KEY, WARMUP_ITERATIONS_DEFAULT_VALUE));
+			MEASUREMENT_ITERATIONS = Integer
+					.parseInt(getProperty(MEASUREMENT_ITERATIONS_KEY, MEASUREMENT_ITERATIONS_DEFAULT_VALUE));
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * 設定値を取得する（システムプロパティーが指定された場合はそちらを優先する）
+	 *
+	 * @param key          キー
+	 * @param defaultValue デフォルト値
+	 * @return 設定値
+	 */
+	private static String getProperty(String key, String defaultValue) {
+		return System.getProperty(key, BENCHMARK_PROPERTIES.getProperty(key, defaultValue));
+	}
+
+	/**
+	 * ベンチマークが無効の場合、テストクラス全体をスキップする
+	 */
+	@BeforeAll
+	static void assumeBenchmarkEnabled() {
+		assumeTrue(RUN_BENCHMARK, RUN_BENCHMARK_KEY + " is not true.");
+	}
+
+	/**
+	 * テストケース実行前の処理
+	 *
+	 * @param testInfo
+	 */
+	@BeforeEach
+	void beforeEach(TestInfo testInfo) {
+		testClassName = testInfo.getTestClass().get().getName();
+		testCaseName = testInfo.getDisplayName();
+	}
+
+	/**
+	 * 処理の平均実行時間を計測する
+	 *
+	 * @param task 計測する処理（結果のチェックサムを返す）
+	 * @return 平均実行時間(ms)とチェックサム
+	 */
+	protected Result measure(LongSupplier task) {
+		long checksum = 0L;
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			checksum = task.getAsLong();
+		}
+		System.gc();
+		long total = 0L;
+		for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+			long start = System.nanoTime();
+			checksum = task.getAsLong();
+			total += System.nanoTime() - start;
+		}
+		return new Result(total / 1_000_000.0d / Math.max(MEASUREMENT_ITERATIONS, 1), checksum);
+	}
+
+	/**
+	 * 基準の処理と比較対象の処理の実行時間を比較し、結果を出力する
+	 *
+	 * @param baseline  基準の処理（ナイーブな実装、JDKのコレクションなど）
+	 * @param candidate 比較対象の処理
+	 */
+	protected void compare(LongSupplier baseline, LongSupplier candidate) {
+		Result baselineResult = measure(baseline), candidateResult = measure(candidate);
+		assertEquals(baselineResult.checksum, candidateResult.checksum, "checksum differs.");
+		System.err.println(String.format("%s#%s baseline %.1fms, candidate %.1fms (%.2fx)", testClassName,
+				testCaseName, baselineResult.millis, candidateResult.millis,
+				baselineResult.millis / Math.max(candidateResult.millis, 1e-3)));
+	}
+
+	/**
+	 * 計測結果
+	 */
+	protected static class Result {
+
+		/** 平均実行時間(ms) */
+		public final double millis;
+		/** 処理結果のチェックサム */
+		public final long checksum;
+
+		/**
+		 * コンストラクター
+		 *
+		 * @param millis   平均実行時間(ms)
+		 * @param checksum 処理結果のチェックサム
+		 */
+		Result(double millis, long checksum) {
+			this.millis = millis;
+			this.checksum = checksum;
+		}
+	}
+}
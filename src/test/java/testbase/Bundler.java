@@ -0,0 +1,792 @@
+package testbase;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+import com.sun.source.tree.AnnotationTree;
+import com.sun.source.tree.BlockTree;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.ImportTree;
+import com.sun.source.tree.MemberReferenceTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.ModifiersTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.DocTrees;
+import com.sun.source.util.JavacTask;
+import com.sun.source.util.SourcePositions;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreePathScanner;
+
+/**
+ * 解答クラスと、そこから到達できるライブラリのクラス・メンバーだけを1つのMain.javaにまとめる
+ *
+ * <pre>
+ * mvn test-compile exec:java@bundle -Dexec.args=abc.abc051.ProblemA
+ * </pre>
+ *
+ * ライブラリ（{@value #LIBRARY_PACKAGE}パッケージ以下）のクラスはMainのstaticなネストクラスとして埋め込まれ、
+ * 解答から呼ばれないメソッド・フィールド・ネストクラスは取り除かれる。作成したMain.javaはコンパイルした上で、
+ * 元の解答と同じテストクラス（ProblemXTest）を実行し、結果が一致することを確認する。
+ */
+public class Bundler {
+
+	/** ソースフォルダー */
+	private static final String SOURCE_FOLDER = "src/main/java";
+	/** 出力フォルダー */
+	private static final String OUTPUT_FOLDER = "target/bundle";
+	/** ライブラリのパッケージ */
+	private static final String LIBRARY_PACKAGE = "lib";
+	/** 提出用のクラス名 */
+	private static final String MAIN_CLASS_NAME = "Main";
+	/** インデント */
+	private static final String INDENT = "\t";
+	/** Main.javaをコンパイルするJavaのバージョンのキー（pom.xmlのjava.versionを渡す） */
+	private static final String RELEASE_KEY = "BUNDLE_RELEASE";
+
+	/** 構文木とソース位置を扱うユーティリティー */
+	private final DocTrees trees;
+	/** 要素を扱うユーティリティー */
+	private final Elements elements;
+	/** 型を扱うユーティリティー */
+	private final Types types;
+	/** ソースファイルごとの構文木 */
+	private final List<CompilationUnitTree> units = new ArrayList<>();
+	/** 到達済みの要素 */
+	private final Set<Element> reached = new HashSet<>();
+	/** 処理待ちの要素 */
+	private final Deque<Element> queue = new ArrayDeque<>();
+
+	/**
+	 * 解答クラスをバンドルし、テストで検証する
+	 *
+	 * @param args 解答クラスの完全修飾名の一覧
+	 * @throws Exception
+	 */
+	public static void main(String[] args) throws Exception {
+		if (0 == args.length) {
+			throw new IllegalArgumentException("usage: Bundler <problem class name>...");
+		}
+		for (String className : args) {
+			Path mainFile = bundle(className);
+			System.out.println("bundled " + className + " into " + mainFile);
+			verify(className, mainFile);
+		}
+	}
+
+	/**
+	 * 解答クラスをバンドルし、Main.javaを出力する
+	 *
+	 * @param className 解答クラスの完全修飾名
+	 * @return 出力されたMain.java
+	 * @throws IOException
+	 */
+	static Path bundle(String className) throws IOException {
+		return bundle(className, Paths.get(SOURCE_FOLDER), Paths.get(OUTPUT_FOLDER));
+	}
+
+	/**
+	 * ソースフォルダーにある解答クラスをバンドルし、出力フォルダーにMain.javaを出力する
+	 *
+	 * @param className    解答クラスの完全修飾名
+	 * @param sourceFolder ソースフォルダー
+	 * @param outputFolder 出力フォルダー
+	 * @return 出力されたMain.java
+	 * @throws IOException
+	 */
+	static Path bundle(String className, Path sourceFolder, Path outputFolder) throws IOException {
+		Path problemFile = sourceFolder.resolve(className.replace('.', File.separatorChar) + ".java");
+		List<Path> files = new ArrayList<>();
+		files.add(problemFile);
+		Path libraryFolder = sourceFolder.resolve(LIBRARY_PACKAGE);
+		if (Files.isDirectory(libraryFolder)) {
+			try (Stream<Path> stream = Files.walk(libraryFolder)) {
+				stream.filter(path -> path.toString().endsWith(".java")).sorted().forEach(files::add);
+			}
+		}
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null,
+				StandardCharsets.UTF_8)) {
+			StringWriter messages = new StringWriter();
+			JavacTask task = (JavacTask) compiler.getTask(new PrintWriter(messages), fileManager, null, null, null,
+					fileManager.getJavaFileObjectsFromPaths(files));
+			Iterable<? extends CompilationUnitTree> parsed = task.parse();
+			task.analyze();
+			if (!messages.toString().isBlank()) {
+				throw new IllegalStateException("failed to analyze sources." + System.lineSeparator() + messages);
+			}
+			Bundler bundler = new Bundler(task);
+			parsed.forEach(bundler.units::add);
+			String source = bundler.bundle(bundler.units.get(0), className);
+			Path mainFile = outputFolder.resolve(className).resolve(MAIN_CLASS_NAME + ".java");
+			Files.createDirectories(mainFile.getParent());
+			Files.writeString(mainFile, source, StandardCharsets.UTF_8);
+			return mainFile;
+		}
+	}
+
+	/**
+	 * Main.javaをコンパイルし、解答クラスのテストクラスを元の解答とMainの両方で実行して結果を比較する
+	 *
+	 * @param className 解答クラスの完全修飾名
+	 * @param mainFile  Main.java
+	 * @throws IOException
+	 */
+	static void verify(String className, Path mainFile) throws IOException {
+		Path classFolder = compile(mainFile);
+		Class<?> testClass;
+		try {
+			testClass = Class.forName(className + "Test");
+		} catch (ClassNotFoundException e) {
+			System.out.println("no test class for " + className + ", skip verification.");
+			return;
+		}
+		Map<String, TestExecutionResult.Status> originalResults = new TreeMap<>(),
+				bundledResults = new TreeMap<>();
+		TestExecutionSummary original = runTests(testClass, originalResults);
+		TestBase.TargetClassResolver resolver = TestBase.targetClassResolver;
+		try (URLClassLoader loader = new URLClassLoader(new URL[] { classFolder.toUri().toURL() },
+				Bundler.class.getClassLoader())) {
+			TestBase.targetClassResolver = name -> Class.forName(MAIN_CLASS_NAME, true, loader);
+			TestExecutionSummary bundled = runTests(testClass, bundledResults);
+			System.out.println(String.format("%s: original %d/%d passed, bundled %d/%d passed.", testClass.getName(),
+					original.getTestsSucceededCount(), original.getTestsFoundCount(), bundled.getTestsSucceededCount(),
+					bundled.getTestsFoundCount()));
+			// 件数ではなくテストケースごとの結果を比較する
+			if (!originalResults.equals(bundledResults)) {
+				StringWriter failures = new StringWriter();
+				PrintWriter writer = new PrintWriter(failures);
+				Set<String> testIds = new TreeSet<>(originalResults.keySet());
+				testIds.addAll(bundledResults.keySet());
+				for (String testId : testIds) {
+					if (originalResults.get(testId) != bundledResults.get(testId)) {
+						writer.println(testId + ": original " + originalResults.get(testId) + ", bundled "
+								+ bundledResults.get(testId));
+					}
+				}
+				bundled.printFailuresTo(writer, 20);
+				throw new IllegalStateException(
+						"bundled " + mainFile + " does not reproduce the test results." + System.lineSeparator()
+								+ failures);
+			}
+		} finally {
+			TestBase.targetClassResolver = resolver;
+		}
+	}
+
+	/**
+	 * Main.javaを、プロジェクトと同じJavaのバージョンでコンパイルする
+	 *
+	 * バージョンはシステムプロパティー{@value #RELEASE_KEY}（exec:java@bundleではpom.xmlのjava.version）で、
+	 * 指定されていない場合は実行中のJDKのバージョンとする。
+	 *
+	 * @param mainFile Main.java
+	 * @return クラスファイルの出力フォルダー
+	 * @throws IOException
+	 */
+	static Path compile(Path mainFile) throws IOException {
+		Path classFolder = mainFile.getParent().resolve("classes");
+		Files.createDirectories(classFolder);
+		String release = System.getProperty(RELEASE_KEY, String.valueOf(Runtime.version().feature()));
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null,
+				StandardCharsets.UTF_8)) {
+			Iterable<? extends JavaFileObject> sources = fileManager.getJavaFileObjects(mainFile);
+			StringWriter messages = new StringWriter();
+			boolean compiled = compiler.getTask(new PrintWriter(messages), fileManager, null,
+					List.of("--release", release, "-d", classFolder.toString()), null, sources).call();
+			if (!compiled) {
+				throw new IllegalStateException("failed to compile " + mainFile + System.lineSeparator() + messages);
+			}
+		}
+		return classFolder;
+	}
+
+	/**
+	 * テストクラスを実行する
+	 *
+	 * @param testClass テストクラス
+	 * @param results   テストケースのIDごとの結果を格納する
+	 * @return 実行結果
+	 */
+	private static TestExecutionSummary runTests(Class<?> testClass, Map<String, TestExecutionResult.Status> results) {
+		Launcher launcher = LauncherFactory.create();
+		SummaryGeneratingListener listener = new SummaryGeneratingListener();
+		TestExecutionListener resultListener = new TestExecutionListener() {
+			@Override
+			public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+				if (testIdentifier.isTest()) {
+					results.put(testIdentifier.getUniqueId(), testExecutionResult.getStatus());
+				}
+			}
+		};
+		launcher.execute(LauncherDiscoveryRequestBuilder.request().selectors(selectClass(testClass)).build(), listener,
+				resultListener);
+		return listener.getSummary();
+	}
+
+	/**
+	 * コンストラクター
+	 *
+	 * @param task 解析済みのコンパイルタスク
+	 */
+	private Bundler(JavacTask task) {
+		trees = DocTrees.instance(task);
+		elements = task.getElements();
+		types = task.getTypes();
+	}
+
+	/**
+	 * 解答のソースにライブラリのクラスを埋め込んだMain.javaのソースを作成する
+	 *
+	 * @param problemUnit 解答クラスの構文木
+	 * @param className   解答クラスの完全修飾名
+	 * @return Main.javaのソース
+	 * @throws IOException
+	 */
+	private String bundle(CompilationUnitTree problemUnit, String className) throws IOException {
+		// 解答のファイルにあるものはすべて使うものとして扱う
+		for (Tree typeDecl : problemUnit.getTypeDecls()) {
+			new ReferenceScanner().scan(new TreePath(new TreePath(problemUnit), typeDecl), null);
+		}
+		resolveReachable();
+
+		// ライブラリのトップレベルのクラスを、到達したものだけ集める
+		Map<String, ClassTree> libraryClasses = new TreeMap<>();
+		Map<ClassTree, CompilationUnitTree> libraryUnits = new HashMap<>();
+		Set<String> imports = new TreeSet<>();
+		for (CompilationUnitTree unit : units) {
+			for (Tree typeDecl : unit.getTypeDecls()) {
+				if (typeDecl instanceof ClassTree) {
+					TypeElement type = (TypeElement) trees.getElement(new TreePath(new TreePath(unit), typeDecl));
+					if (isLibrary(type) && reached.contains(type)) {
+						String simpleName = type.getSimpleName().toString();
+						if (libraryClasses.containsKey(simpleName)) {
+							throw new IllegalStateException("duplicate library class name: " + simpleName);
+						}
+						libraryClasses.put(simpleName, (ClassTree) typeDecl);
+						libraryUnits.put((ClassTree) typeDecl, unit);
+						imports.addAll(collectImports(unit));
+					}
+				}
+			}
+		}
+		imports.addAll(collectImports(problemUnit));
+
+		// 解答クラスの本体を取り出し、クラス名をMainに変更する
+		String problemSource = problemUnit.getSourceFile().getCharContent(true).toString();
+		SourcePositions positions = trees.getSourcePositions();
+		String simpleClassName = className.substring(className.lastIndexOf('.') + 1);
+		ClassTree problemClass = null;
+		for (Tree typeDecl : problemUnit.getTypeDecls()) {
+			if ((typeDecl instanceof ClassTree)
+					&& ((ClassTree) typeDecl).getSimpleName().contentEquals(simpleClassName)) {
+				problemClass = (ClassTree) typeDecl;
+			}
+		}
+		if (null == problemClass) {
+			throw new IllegalStateException("class " + simpleClassName + " is not found.");
+		}
+		long bodyStart = positions.getStartPosition(problemUnit, problemUnit.getTypeDecls().get(0));
+		long bodyEnd = positions.getEndPosition(problemUnit,
+				problemUnit.getTypeDecls().get(problemUnit.getTypeDecls().size() - 1));
+		long problemClassEnd = positions.getEndPosition(problemUnit, problemClass);
+		// 解答クラスの最後の「}」の直前にライブラリのクラスを挿入する
+		int insertAt = problemSource.lastIndexOf('}', (int) problemClassEnd - 1);
+		StringBuilder libraries = new StringBuilder();
+		for (ClassTree libraryClass : libraryClasses.values()) {
+			libraries.append(System.lineSeparator());
+			libraries.append(indent(extractClass(libraryUnits.get(libraryClass), libraryClass)));
+		}
+		// 解答クラスを指す名前だけをMainに変更する（文字列リテラル、コメント、ライブラリのソースは変更しない）
+		TypeElement problemType = (TypeElement) trees
+				.getElement(new TreePath(new TreePath(problemUnit), problemClass));
+		List<int[]> renames = new ArrayList<>();
+		for (Tree typeDecl : problemUnit.getTypeDecls()) {
+			new RenameScanner(problemUnit, problemSource, problemType, renames)
+					.scan(new TreePath(new TreePath(problemUnit), typeDecl), null);
+		}
+		renames.sort(Comparator.comparingInt(range -> range[0]));
+		String body = rename(problemSource, (int) bodyStart, insertAt, renames) + libraries
+				+ rename(problemSource, insertAt, (int) bodyEnd, renames);
+
+		StringBuilder sb = new StringBuilder();
+		for (String importLine : imports) {
+			sb.append(importLine).append(System.lineSeparator());
+		}
+		if (!imports.isEmpty()) {
+			sb.append(System.lineSeparator());
+		}
+		return sb.append(body).append(System.lineSeparator()).toString();
+	}
+
+	/**
+	 * ソースの範囲を取り出し、その中の解答クラスを指す名前をMainに変更する
+	 *
+	 * @param source  ソース
+	 * @param start   開始位置
+	 * @param end     終了位置
+	 * @param renames 変更する範囲（開始位置、終了位置）の一覧（開始位置の昇順）
+	 * @return 変更したソース
+	 */
+	private static String rename(String source, int start, int end, List<int[]> renames) {
+		StringBuilder sb = new StringBuilder();
+		int position = start;
+		for (int[] range : renames) {
+			if ((range[0] >= position) && (range[1] <= end)) {
+				sb.append(source, position, range[0]).append(MAIN_CLASS_NAME);
+				position = range[1];
+			}
+		}
+		return sb.append(source, position, end).toString();
+	}
+
+	/**
+	 * ライブラリ以外のimport文を集める
+	 *
+	 * @param unit 構文木
+	 * @return import文の一覧
+	 */
+	private Set<String> collectImports(CompilationUnitTree unit) {
+		Set<String> imports = new LinkedHashSet<>();
+		for (ImportTree importTree : unit.getImports()) {
+			String name = importTree.getQualifiedIdentifier().toString();
+			if (name.equals(LIBRARY_PACKAGE) || name.startsWith(LIBRARY_PACKAGE + ".")) {
+				if (importTree.isStatic()) {
+					throw new IllegalStateException("static import of library is not supported: " + name);
+				}
+				continue;
+			}
+			imports.add("import " + (importTree.isStatic() ? "static " : "") + name + ";");
+		}
+		return imports;
+	}
+
+	/**
+	 * 到達した要素から参照される要素をすべて到達済みにする
+	 */
+	private void resolveReachable() {
+		boolean changed = true;
+		while (changed) {
+			while (!queue.isEmpty()) {
+				process(queue.poll());
+			}
+			changed = false;
+			// 到達済みのクラスのメソッドのうち、JDKのメソッドまたは到達済みのメソッドをオーバーライドするものを追加する
+			for (Element element : new ArrayList<>(reached)) {
+				if (element instanceof TypeElement) {
+					for (Element member : element.getEnclosedElements()) {
+						if (reached.contains(member)) {
+							continue;
+						}
+						if (((member.getKind() == ElementKind.METHOD) && overridesReachable((ExecutableElement) member))
+								|| (member.getKind() == ElementKind.ENUM_CONSTANT)
+								|| (member.getKind() == ElementKind.RECORD_COMPONENT)) {
+							mark(member);
+							changed = true;
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * メソッドが、JDKのメソッドまたは到達済みのメソッドをオーバーライドしているかどうかを判定する
+	 *
+	 * @param method メソッド
+	 * @return オーバーライドしている場合はtrue
+	 */
+	private boolean overridesReachable(ExecutableElement method) {
+		TypeElement owner = (TypeElement) method.getEnclosingElement();
+		Deque<TypeMirror> supertypes = new ArrayDeque<>(types.directSupertypes(owner.asType()));
+		while (!supertypes.isEmpty()) {
+			TypeMirror supertype = supertypes.poll();
+			Element superElement = types.asElement(supertype);
+			if (superElement instanceof TypeElement) {
+				for (Element superMember : superElement.getEnclosedElements()) {
+					if ((superMember.getKind() == ElementKind.METHOD)
+							&& superMember.getSimpleName().equals(method.getSimpleName())
+							&& elements.overrides(method, (ExecutableElement) superMember, owner)
+							&& (!isLibrary(superMember) || reached.contains(superMember))) {
+						return true;
+					}
+				}
+			}
+			supertypes.addAll(types.directSupertypes(supertype));
+		}
+		return false;
+	}
+
+	/**
+	 * 要素を到達済みにする（ライブラリの要素のみ）
+	 *
+	 * @param element 要素
+	 */
+	private void mark(Element element) {
+		if ((null == element) || !isLibrary(element)) {
+			return;
+		}
+		if (reached.add(element)) {
+			queue.add(element);
+		}
+		// ネストクラスのメンバーを使う場合、外側のクラスも必要になる
+		Element enclosing = element.getEnclosingElement();
+		if (enclosing instanceof TypeElement) {
+			mark(enclosing);
+		}
+	}
+
+	/**
+	 * 到達した要素の宣言を走査する
+	 *
+	 * @param element 要素
+	 */
+	private void process(Element element) {
+		TreePath path = trees.getPath(element);
+		if (null == path) {
+			return;
+		}
+		ReferenceScanner scanner = new ReferenceScanner();
+		if (path.getLeaf() instanceof ClassTree) {
+			// クラスの場合は宣言部と初期化ブロックだけを走査し、メンバーは到達したときに走査する
+			ClassTree classTree = (ClassTree) path.getLeaf();
+			List<Tree> headers = new ArrayList<>(classTree.getModifiers().getAnnotations());
+			headers.addAll(classTree.getTypeParameters());
+			if (null != classTree.getExtendsClause()) {
+				headers.add(classTree.getExtendsClause());
+			}
+			headers.addAll(classTree.getImplementsClause());
+			for (Tree member : classTree.getMembers()) {
+				if (member instanceof BlockTree) {
+					headers.add(member);
+				}
+			}
+			for (Tree header : headers) {
+				scanner.scan(new TreePath(path, header), null);
+			}
+		} else {
+			scanner.scan(path, null);
+		}
+	}
+
+	/**
+	 * 要素がライブラリのものかどうかを判定する
+	 *
+	 * @param element 要素
+	 * @return ライブラリのものの場合はtrue
+	 */
+	private boolean isLibrary(Element element) {
+		PackageElement packageElement = elements.getPackageOf(element);
+		if ((null == packageElement) || packageElement.isUnnamed()) {
+			return false;
+		}
+		String name = packageElement.getQualifiedName().toString();
+		return name.equals(LIBRARY_PACKAGE) || name.startsWith(LIBRARY_PACKAGE + ".");
+	}
+
+	/**
+	 * ライブラリのクラスのソースから、到達していないメンバーを取り除き、staticなネストクラスに書き換える
+	 *
+	 * @param unit      構文木
+	 * @param classTree トップレベルのクラス
+	 * @return ネストクラスとしてのソース
+	 * @throws IOException
+	 */
+	private String extractClass(CompilationUnitTree unit, ClassTree classTree) throws IOException {
+		String source = unit.getSourceFile().getCharContent(true).toString();
+		SourcePositions positions = trees.getSourcePositions();
+		int classStart = (int) positions.getStartPosition(unit, classTree);
+		int classEnd = (int) positions.getEndPosition(unit, classTree);
+		List<int[]> removals = new ArrayList<>();
+		collectRemovals(unit, new TreePath(new TreePath(unit), classTree), source, removals);
+		removals.sort(Comparator.comparingInt(range -> range[0]));
+
+		StringBuilder sb = new StringBuilder();
+		int position = classStart;
+		for (int[] range : removals) {
+			if (range[0] >= position) {
+				sb.append(source, position, range[0]);
+				position = range[1];
+			} else if (range[1] > position) {
+				position = range[1];
+			}
+		}
+		sb.append(source, position, classEnd);
+
+		// 修飾子を書き換える（アクセス修飾子を除き、staticを追加する）
+		ModifiersTree modifiers = classTree.getModifiers();
+		int modifiersEnd = (int) positions.getEndPosition(unit, modifiers);
+		StringBuilder header = new StringBuilder();
+		for (AnnotationTree annotation : modifiers.getAnnotations()) {
+			header.append(source, (int) positions.getStartPosition(unit, annotation),
+					(int) positions.getEndPosition(unit, annotation)).append(System.lineSeparator());
+		}
+		header.append("static ");
+		for (Modifier modifier : modifiers.getFlags()) {
+			if ((modifier != Modifier.PUBLIC) && (modifier != Modifier.PROTECTED) && (modifier != Modifier.PRIVATE)) {
+				header.append(modifier).append(' ');
+			}
+		}
+		String rest = (modifiersEnd > classStart) ? sb.substring(modifiersEnd - classStart).stripLeading()
+				: sb.toString();
+		return header + rest;
+	}
+
+	/**
+	 * クラスのメンバーのうち、到達していないものの範囲を集める（ネストクラスは再帰的に処理する）
+	 *
+	 * @param unit      構文木
+	 * @param classPath クラスのパス
+	 * @param source    ソース
+	 * @param removals  取り除く範囲の一覧
+	 */
+	private void collectRemovals(CompilationUnitTree unit, TreePath classPath, String source, List<int[]> removals) {
+		SourcePositions positions = trees.getSourcePositions();
+		ClassTree classTree = (ClassTree) classPath.getLeaf();
+		// 「int a, b;」のように1つの宣言に複数の変数がある場合、どれかが到達済みならすべて残す
+		Map<Long, Boolean> keepVariables = new HashMap<>();
+		for (Tree member : classTree.getMembers()) {
+			if (member instanceof VariableTree) {
+				long start = positions.getStartPosition(unit, member);
+				boolean keep = reached.contains(trees.getElement(new TreePath(classPath, member)));
+				keepVariables.merge(start, keep, Boolean::logicalOr);
+			}
+		}
+		for (Tree member : classTree.getMembers()) {
+			long start = positions.getStartPosition(unit, member), end = positions.getEndPosition(unit, member);
+			if ((start < 0) || (end < 0) || (member instanceof BlockTree)) {
+				// コンパイラーが生成したデフォルトコンストラクターと初期化ブロックはそのまま
+				continue;
+			}
+			TreePath memberPath = new TreePath(classPath, member);
+			boolean keep;
+			if (member instanceof VariableTree) {
+				keep = keepVariables.get(start);
+			} else if ((member instanceof MethodTree) || (member instanceof ClassTree)) {
+				keep = reached.contains(trees.getElement(memberPath));
+			} else {
+				keep = true;
+			}
+			if (!keep) {
+				removals.add(removalRange(source, memberPath, (int) start, (int) end));
+			} else if (member instanceof ClassTree) {
+				collectRemovals(unit, memberPath, source, removals);
+			}
+		}
+	}
+
+	/**
+	 * メンバーを取り除く範囲を求める（ドキュメンテーションコメントと前の空行を含める）
+	 *
+	 * @param source     ソース
+	 * @param memberPath メンバーのパス
+	 * @param start      メンバーの開始位置
+	 * @param end        メンバーの終了位置
+	 * @return 取り除く範囲（開始位置、終了位置）
+	 */
+	private int[] removalRange(String source, TreePath memberPath, int start, int end) {
+		if (null != trees.getDocCommentTree(memberPath)) {
+			int commentStart = source.lastIndexOf("/**", start);
+			if (commentStart >= 0) {
+				start = commentStart;
+			}
+		}
+		int lineStart = source.lastIndexOf('\n', start - 1) + 1;
+		if (source.substring(lineStart, start).isBlank()) {
+			start = lineStart;
+			// 直前の行が空行の場合は合わせて取り除く
+			int previousLineStart = source.lastIndexOf('\n', lineStart - 2) + 1;
+			if ((lineStart > 0) && source.substring(previousLineStart, lineStart).isBlank()) {
+				start = previousLineStart;
+			}
+		}
+		int lineEnd = source.indexOf('\n', end);
+		if ((lineEnd >= 0) && source.substring(end, lineEnd).isBlank()) {
+			end = lineEnd + 1;
+		}
+		return new int[] { start, end };
+	}
+
+	/**
+	 * 各行の先頭にインデントを追加する
+	 *
+	 * @param source ソース
+	 * @return インデントされたソース
+	 */
+	private static String indent(String source) {
+		return source.lines().map(line -> line.isBlank() ? "" : INDENT + line)
+				.collect(Collectors.joining(System.lineSeparator(), "", System.lineSeparator()));
+	}
+
+	/**
+	 * 構文木から参照されている要素を到達済みにするスキャナー
+	 */
+	private class ReferenceScanner extends TreePathScanner<Void, Void> {
+
+		@Override
+		public Void visitIdentifier(IdentifierTree node, Void p) {
+			mark(trees.getElement(getCurrentPath()));
+			return super.visitIdentifier(node, p);
+		}
+
+		@Override
+		public Void visitMemberSelect(MemberSelectTree node, Void p) {
+			mark(trees.getElement(getCurrentPath()));
+			return super.visitMemberSelect(node, p);
+		}
+
+		@Override
+		public Void visitNewClass(NewClassTree node, Void p) {
+			mark(trees.getElement(getCurrentPath()));
+			return super.visitNewClass(node, p);
+		}
+
+		@Override
+		public Void visitMemberReference(MemberReferenceTree node, Void p) {
+			mark(trees.getElement(getCurrentPath()));
+			return super.visitMemberReference(node, p);
+		}
+	}
+
+	/**
+	 * 解答クラスの宣言・コンストラクター・参照のうち、クラス名を書いている範囲を集めるスキャナー
+	 */
+	private class RenameScanner extends TreePathScanner<Void, Void> {
+
+		/** 解答の構文木 */
+		private final CompilationUnitTree unit;
+		/** 解答のソース */
+		private final String source;
+		/** 解答クラス */
+		private final TypeElement problemType;
+		/** クラス名を書いている範囲（開始位置、終了位置）の一覧 */
+		private final List<int[]> renames;
+		/** ソース位置 */
+		private final SourcePositions positions;
+
+		/**
+		 * コンストラクター
+		 *
+		 * @param unit        解答の構文木
+		 * @param source      解答のソース
+		 * @param problemType 解答クラス
+		 * @param renames     クラス名を書いている範囲を格納する
+		 */
+		RenameScanner(CompilationUnitTree unit, String source, TypeElement problemType, List<int[]> renames) {
+			this.unit = unit;
+			this.source = source;
+			this.problemType = problemType;
+			this.renames = renames;
+			positions = trees.getSourcePositions();
+		}
+
+		@Override
+		public Void visitClass(ClassTree node, Void p) {
+			if (problemType.equals(trees.getElement(getCurrentPath()))) {
+				addName(node.getModifiers(), node);
+			}
+			return super.visitClass(node, p);
+		}
+
+		@Override
+		public Void visitMethod(MethodTree node, Void p) {
+			// コンストラクターの名前はクラス名（コンパイラーが生成したデフォルトコンストラクターは位置を持たない）
+			Element method = trees.getElement(getCurrentPath());
+			if ((null != method) && (method.getKind() == ElementKind.CONSTRUCTOR)
+					&& problemType.equals(method.getEnclosingElement())
+					&& (positions.getEndPosition(unit, node) >= 0)) {
+				addName(node.getModifiers(), node);
+			}
+			return super.visitMethod(node, p);
+		}
+
+		@Override
+		public Void visitIdentifier(IdentifierTree node, Void p) {
+			if (problemType.equals(trees.getElement(getCurrentPath()))) {
+				int start = (int) positions.getStartPosition(unit, node);
+				renames.add(new int[] { start, start + node.getName().length() });
+			}
+			return super.visitIdentifier(node, p);
+		}
+
+		@Override
+		public Void visitMemberSelect(MemberSelectTree node, Void p) {
+			if (problemType.equals(trees.getElement(getCurrentPath()))) {
+				// パッケージ名で修飾した参照は、Mainがデフォルトパッケージになるため修飾ごと置き換える
+				renames.add(new int[] { (int) positions.getStartPosition(unit, node),
+						(int) positions.getEndPosition(unit, node) });
+				return null;
+			}
+			return super.visitMemberSelect(node, p);
+		}
+
+		/**
+		 * 宣言の修飾子より後で最初に現れるクラス名の範囲を追加する
+		 *
+		 * @param modifiers 宣言の修飾子
+		 * @param node      宣言
+		 */
+		private void addName(ModifiersTree modifiers, Tree node) {
+			int from = (int) Math.max(positions.getEndPosition(unit, modifiers), positions.getStartPosition(unit, node));
+			Matcher matcher = Pattern.compile("\\b" + Pattern.quote(problemType.getSimpleName().toString()) + "\\b")
+					.matcher(source).region(from, (int) positions.getEndPosition(unit, node));
+			if (matcher.find()) {
+				renames.add(new int[] { matcher.start(), matcher.end() });
+			}
+		}
+	}
+}
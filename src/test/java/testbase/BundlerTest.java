@@ -0,0 +1,123 @@
+package testbase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BundlerTest {
+
+	@TempDir
+	Path folder;
+
+	/**
+	 * ソースファイルを書き込む
+	 *
+	 * @param sourceFolder ソースフォルダー
+	 * @param className    クラスの完全修飾名
+	 * @param source       ソース
+	 * @throws IOException
+	 */
+	private static void writeSource(Path sourceFolder, String className, String source) throws IOException {
+		Path file = sourceFolder.resolve(className.replace('.', '/') + ".java");
+		Files.createDirectories(file.getParent());
+		Files.writeString(file, source, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * バンドルしたMainクラスのmainメソッドを実行し、標準出力を取得する
+	 *
+	 * @param classFolder クラスファイルの出力フォルダー
+	 * @return 標準出力
+	 * @throws Exception
+	 */
+	private static String runMain(Path classFolder) throws Exception {
+		PrintStream systemOut = System.out;
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (URLClassLoader loader = new URLClassLoader(new URL[] { classFolder.toUri().toURL() },
+				BundlerTest.class.getClassLoader())) {
+			Method main = Class.forName("Main", true, loader).getMethod("main", String[].class);
+			System.setOut(new PrintStream(out, true, StandardCharsets.UTF_8));
+			main.invoke(null, (Object) new String[0]);
+		} finally {
+			System.setOut(systemOut);
+		}
+		return out.toString(StandardCharsets.UTF_8);
+	}
+
+	@Test
+	void bundleLibraryAndRenameOnlyTheProblemClass() throws Exception {
+		Path sourceFolder = folder.resolve("src");
+		writeSource(sourceFolder, "lib.util.Counter", String.join("\n", //
+				"package lib.util;", //
+				"", //
+				"import java.util.ArrayList;", //
+				"", //
+				"/** ProblemXからも使うカウンター */", //
+				"public class Counter {", //
+				"", //
+				"	private int count = 0;", //
+				"", //
+				"	public int increment() {", //
+				"		return ++count;", //
+				"	}", //
+				"", //
+				"	public ArrayList<Integer> unused() {", //
+				"		return new ArrayList<>();", //
+				"	}", //
+				"}", ""));
+		writeSource(sourceFolder, "p.ProblemX", String.join("\n", //
+				"package p;", //
+				"", //
+				"import lib.util.Counter;", //
+				"", //
+				"public class ProblemX {", //
+				"", //
+				"	ProblemX() {", //
+				"	}", //
+				"", //
+				"	public static void main(String[] args) {", //
+				"		// ProblemX を生成する", //
+				"		p.ProblemX problem = new ProblemX();", //
+				"		Counter counter = new Counter();", //
+				"		counter.increment();", //
+				"		System.out.println(\"ProblemX \" + counter.increment() + \" \" + problem.getClass().getName());", //
+				"	}", //
+				"}", ""));
+		Path mainFile = Bundler.bundle("p.ProblemX", sourceFolder, folder.resolve("bundle"));
+		String source = Files.readString(mainFile, StandardCharsets.UTF_8);
+		assertFalse(source.contains("import lib."), source);
+		assertFalse(source.contains("package "), source);
+		// 到達しないメソッドは取り除かれ、ライブラリのコメントや文字列リテラル中のクラス名は変更されない
+		assertFalse(source.contains("unused"), source);
+		assertTrue(source.contains("static class Counter"), source);
+		assertTrue(source.contains("// ProblemX を生成する"), source);
+		assertTrue(source.contains("\"ProblemX \""), source);
+		assertTrue(source.contains("Main problem = new Main();"), source);
+		assertEquals("ProblemX 2 Main" + System.lineSeparator(), runMain(Bundler.compile(mainFile)));
+	}
+
+	@Test
+	void bundleProjectSolution() throws IOException {
+		// LongBigArrayを使う解答を、プロジェクトのソースからバンドルしてコンパイルできる
+		Path mainFile = Bundler.bundle("other.dp.ProblemD", Paths.get("src/main/java"), folder.resolve("bundle"));
+		String source = Files.readString(mainFile, StandardCharsets.UTF_8);
+		assertFalse(source.contains("import lib."), source);
+		assertTrue(source.contains("public class Main"), source);
+		assertTrue(source.contains("static abstract class LongBigArray"), source);
+		assertTrue(Files.isRegularFile(Bundler.compile(mainFile).resolve("Main.class")));
+	}
+}
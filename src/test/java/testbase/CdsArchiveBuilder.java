@@ -0,0 +1,207 @@
+package testbase;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectMethod;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.platform.engine.DiscoverySelector;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+
+/**
+ * 解答クラスをテストクラスのサンプル入力で実行し、起動を速くするためのCDSアーカイブを作成する
+ *
+ * <pre>
+ * mvn test-compile exec:java@cds
+ * </pre>
+ *
+ * 1. 各ProblemXTestの@Testのテストケースを実行し、解答クラスに渡された入力を集める。
+ * 2. target/classesとCdsTrainerをJARファイルにまとめる（CDSはJARファイルのクラスしかアーカイブできない）。
+ * 3. -XX:ArchiveClassesAtExitを指定したJVMで、集めた入力を使って解答クラスを順番に実行し、アーカイブを作成する。
+ */
+public class CdsArchiveBuilder {
+
+	/** 学習用の入力の出力フォルダー */
+	private static final Path TRAINING_FOLDER = ForkedRunner.CDS_FOLDER.resolve("training");
+	/** 学習リスト */
+	private static final Path TRAINING_LIST = ForkedRunner.CDS_FOLDER.resolve("training.txt");
+	/** クラスファイルの拡張子 */
+	private static final String CLASS_EXTENSION = ".class";
+	/** テストクラス名の接尾辞 */
+	private static final String TEST_SUFFIX = "Test";
+
+	/**
+	 * CDSアーカイブを作成する
+	 *
+	 * @param args 対象の解答クラスの完全修飾名の一覧（空の場合はすべての解答クラス）
+	 * @throws Exception
+	 */
+	public static void main(String[] args) throws Exception {
+		List<Class<?>> testClasses = findTestClasses(List.of(args));
+		List<String> training = recordInputs(testClasses);
+		if (training.isEmpty()) {
+			System.out.println("no sample inputs found, skip creating CDS archive.");
+			return;
+		}
+		Files.write(TRAINING_LIST, training, StandardCharsets.UTF_8);
+		createJar(ForkedRunner.CDS_JAR, ForkedRunner.classesFolder());
+		createArchive(ForkedRunner.CDS_ARCHIVE, ForkedRunner.CDS_JAR, TRAINING_LIST);
+		System.out.println("created " + ForkedRunner.CDS_ARCHIVE + " from " + testClasses.size() + " test classes and "
+				+ training.size() + " inputs.");
+	}
+
+	/**
+	 * 解答クラスのテストクラスを探す
+	 *
+	 * @param classNames 対象の解答クラスの完全修飾名の一覧（空の場合はすべての解答クラス）
+	 * @return テストクラスの一覧
+	 * @throws IOException
+	 */
+	private static List<Class<?>> findTestClasses(List<String> classNames) throws IOException {
+		Path testClassesFolder = ForkedRunner.codeSource(TestBase.class);
+		List<Class<?>> testClasses = new ArrayList<>();
+		try (Stream<Path> stream = Files.walk(testClassesFolder)) {
+			for (Path path : stream.sorted().collect(Collectors.toList())) {
+				String relative = testClassesFolder.relativize(path).toString();
+				if (!relative.endsWith(TEST_SUFFIX + CLASS_EXTENSION) || relative.contains("$")) {
+					continue;
+				}
+				String testClassName = relative.substring(0, relative.length() - CLASS_EXTENSION.length())
+						.replace(path.getFileSystem().getSeparator(), ".");
+				String className = testClassName.substring(0, testClassName.length() - TEST_SUFFIX.length());
+				if (!classNames.isEmpty() && !classNames.contains(className)) {
+					continue;
+				}
+				try {
+					Class<?> testClass = Class.forName(testClassName);
+					if (TestBase.class.isAssignableFrom(testClass)) {
+						Class.forName(className);
+						testClasses.add(testClass);
+					}
+				} catch (ClassNotFoundException e) {
+					// 解答クラスがないテストクラス（ライブラリのテストなど）は対象外
+				}
+			}
+		}
+		return testClasses;
+	}
+
+	/**
+	 * テストクラスの@Testのテストケースを実行し、解答クラスに渡された入力を保存する
+	 *
+	 * @param testClasses テストクラスの一覧
+	 * @return 学習リストの行の一覧
+	 * @throws IOException
+	 */
+	private static List<String> recordInputs(List<Class<?>> testClasses) throws IOException {
+		Files.createDirectories(TRAINING_FOLDER);
+		List<String> training = new ArrayList<>();
+		List<IOException> errors = new ArrayList<>();
+		BiConsumer<String, byte[]> recorder = TestBase.executionRecorder;
+		TestBase.executionRecorder = (className, input) -> {
+			Path inputFile = TRAINING_FOLDER.resolve(training.size() + ".in").toAbsolutePath();
+			try {
+				Files.write(inputFile, input);
+				training.add(className + "\t" + inputFile);
+			} catch (IOException e) {
+				errors.add(e);
+			}
+		};
+		try {
+			// 外部のテストケース（動的テスト）は数が多いため、サンプルの@Testのみを実行する
+			List<DiscoverySelector> selectors = new ArrayList<>();
+			for (Class<?> testClass : testClasses) {
+				for (Method method : testClass.getDeclaredMethods()) {
+					if (method.isAnnotationPresent(Test.class)) {
+						selectors.add(selectMethod(testClass, method));
+					}
+				}
+			}
+			LauncherFactory.create().execute(LauncherDiscoveryRequestBuilder.request().selectors(selectors).build(),
+					new SummaryGeneratingListener());
+		} finally {
+			TestBase.executionRecorder = recorder;
+		}
+		if (!errors.isEmpty()) {
+			throw errors.get(0);
+		}
+		return training;
+	}
+
+	/**
+	 * 解答クラスとCdsTrainerをJARファイルにまとめる
+	 *
+	 * @param jarFile       JARファイル
+	 * @param classesFolder 解答クラスのコンパイル先フォルダー
+	 * @throws IOException
+	 */
+	static void createJar(Path jarFile, Path classesFolder) throws IOException {
+		Manifest manifest = new Manifest();
+		manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		Path trainerClass = ForkedRunner.codeSource(CdsTrainer.class)
+				.resolve(CdsTrainer.class.getName().replace('.', '/') + CLASS_EXTENSION);
+		try (OutputStream os = Files.newOutputStream(jarFile);
+				JarOutputStream jar = new JarOutputStream(os, manifest);
+				Stream<Path> stream = Files.walk(classesFolder)) {
+			for (Path path : stream.filter(Files::isRegularFile).sorted().collect(Collectors.toList())) {
+				addEntry(jar, classesFolder.relativize(path).toString(), path);
+			}
+			addEntry(jar, CdsTrainer.class.getName().replace('.', '/') + CLASS_EXTENSION, trainerClass);
+		}
+	}
+
+	/**
+	 * JARファイルにファイルを追加する
+	 *
+	 * @param jar  JARファイル
+	 * @param name エントリー名
+	 * @param path 追加するファイル
+	 * @throws IOException
+	 */
+	private static void addEntry(JarOutputStream jar, String name, Path path) throws IOException {
+		jar.putNextEntry(new JarEntry(name.replace('\\', '/')));
+		Files.copy(path, jar);
+		jar.closeEntry();
+	}
+
+	/**
+	 * -XX:ArchiveClassesAtExitを指定したJVMで解答クラスを実行し、CDSアーカイブを作成する
+	 *
+	 * @param archive      CDSアーカイブ
+	 * @param jarFile      クラスパスとなるJARファイル
+	 * @param trainingList 学習リスト
+	 * @throws IOException
+	 * @throws InterruptedException
+	 */
+	static void createArchive(Path archive, Path jarFile, Path trainingList) throws IOException, InterruptedException {
+		Files.deleteIfExists(archive);
+		List<String> command = new ArrayList<>();
+		command.add(ForkedRunner.javaCommand());
+		command.addAll(ForkedRunner.splitOptions(TestBase.FORK_JVM_OPTIONS));
+		command.add("-XX:ArchiveClassesAtExit=" + archive.toAbsolutePath());
+		command.add("-cp");
+		command.add(jarFile.toAbsolutePath().toString());
+		command.add(CdsTrainer.class.getName());
+		command.add(trainingList.toAbsolutePath().toString());
+		int exitCode = new ProcessBuilder(command).inheritIO().start().waitFor();
+		if ((0 != exitCode) || !Files.isRegularFile(archive)) {
+			throw new IllegalStateException("failed to create " + archive + ", exit code is " + exitCode + ".");
+		}
+	}
+}
@@ -0,0 +1,52 @@
+package testbase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.jar.JarFile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CdsArchiveBuilderTest {
+
+	@TempDir
+	Path folder;
+
+	@Test
+	void jarContainsClassesAndTrainer() throws Exception {
+		Path classes = folder.resolve("classes"), jar = folder.resolve("app.jar");
+		Path classFile = classes.resolve("p").resolve("ProblemA.class");
+		Files.createDirectories(classFile.getParent());
+		Files.write(classFile, new byte[] { 1, 2, 3 });
+		CdsArchiveBuilder.createJar(jar, classes);
+		try (JarFile jarFile = new JarFile(jar.toFile())) {
+			assertNotNull(jarFile.getManifest());
+			assertEquals(3, jarFile.getEntry("p/ProblemA.class").getSize());
+			assertNotNull(jarFile.getEntry(CdsTrainer.class.getName().replace('.', '/') + ".class"));
+		}
+	}
+
+	@Test
+	void archiveIsUsableByForkedRun() throws Exception {
+		Path jar = folder.resolve("app.jar"), archive = folder.resolve("app.jsa");
+		Path input = folder.resolve("0.in"), list = folder.resolve("training.txt");
+		Files.writeString(input, "happy,newyear,enjoy\n", StandardCharsets.UTF_8);
+		Files.write(list, List.of("abc.abc051.ProblemA\t" + input.toAbsolutePath()), StandardCharsets.UTF_8);
+		CdsArchiveBuilder.createJar(jar, ForkedRunner.classesFolder());
+		CdsArchiveBuilder.createArchive(archive, jar, list);
+		assertTrue(Files.size(archive) > 0);
+		// 作成したアーカイブを指定して、同じJARファイルから解答クラスを実行できる
+		ForkedRunner.Result result = ForkedRunner.run("abc.abc051.ProblemA",
+				Files.readAllBytes(input), jar, archive, "-Xshare:on", 60_000L);
+		assertFalse(result.timedOut);
+		assertEquals(0, result.exitCode);
+		assertEquals("happy newyear enjoy" + System.lineSeparator(), new String(result.output, StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,53 @@
+package testbase;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * CDSアーカイブを作成するJVM（-XX:ArchiveClassesAtExit）の中で、解答クラスをサンプル入力で順番に実行する
+ *
+ * アーカイブ用のJARファイルに含めるため、JDK以外のクラスには依存しない。
+ */
+public class CdsTrainer {
+
+	/**
+	 * 学習リストの解答クラスをすべて実行する
+	 *
+	 * @param args 学習リストのファイル（1行に「解答クラス名 TAB 入力ファイル」）
+	 * @throws Exception
+	 */
+	public static void main(String[] args) throws Exception {
+		List<String> lines = Files.readAllLines(Paths.get(args[0]), StandardCharsets.UTF_8);
+		InputStream systemIn = System.in;
+		PrintStream systemOut = System.out;
+		int executed = 0;
+		try (PrintStream nullOut = new PrintStream(OutputStream.nullOutputStream())) {
+			for (String line : lines) {
+				String[] fields = line.split("\t");
+				Path inputFile = Paths.get(fields[1]);
+				System.setIn(new ByteArrayInputStream(Files.readAllBytes(inputFile)));
+				System.setOut(nullOut);
+				try {
+					Method method = Class.forName(fields[0]).getDeclaredMethod("main", String[].class);
+					method.invoke(null, (Object) new String[0]);
+					executed++;
+				} catch (ReflectiveOperationException e) {
+					// 失敗したケースがあっても、読み込まれたクラスはアーカイブの対象になる
+					e.printStackTrace();
+				} finally {
+					System.setIn(systemIn);
+					System.setOut(systemOut);
+				}
+			}
+		}
+		System.out.println("trained " + executed + "/" + lines.size() + " inputs.");
+	}
+}
@@ -0,0 +1,44 @@
+package testbase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CdsTrainerTest {
+
+	@TempDir
+	Path folder;
+
+	@Test
+	void runEveryInput() throws Exception {
+		Path input = folder.resolve("0.in"), list = folder.resolve("training.txt");
+		Files.writeString(input, "happy,newyear,enjoy\n", StandardCharsets.UTF_8);
+		// 存在しないクラスがあっても、残りの入力は実行する
+		Files.write(list, List.of("abc.abc051.NoSuchProblem\t" + input, "abc.abc051.ProblemA\t" + input,
+				"abc.abc051.ProblemA\t" + input), StandardCharsets.UTF_8);
+		InputStream systemIn = System.in;
+		PrintStream systemOut = System.out, systemErr = System.err;
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try {
+			System.setOut(new PrintStream(out, true, StandardCharsets.UTF_8));
+			System.setErr(new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8));
+			CdsTrainer.main(new String[] { list.toString() });
+		} finally {
+			System.setErr(systemErr);
+			System.setOut(systemOut);
+		}
+		// 解答クラスの出力は捨て、標準入出力は元に戻す
+		assertEquals("trained 2/3 inputs." + System.lineSeparator(), out.toString(StandardCharsets.UTF_8));
+		assertSame(systemIn, System.in);
+	}
+}
@@ -0,0 +1,109 @@
+package testbase;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * 外部のテストケースの予想される結果のハッシュ値を、外部のZipファイル・フォルダーの隣のファイルにキャッシュする
+ *
+ * ファイルの各行は「出力ファイル名=サイズ,バージョン,ハッシュ値」の形式で、バージョンはZipファイルの場合はCRC、
+ * フォルダーの場合は更新日時とする。サイズかバージョンが変わった場合はハッシュ値を計算し直す。
+ */
+class ExpectedOutputIndex {
+
+	/** 読み込み済みのインデックス */
+	private static final Map<Path, ExpectedOutputIndex> INDEXES = new HashMap<>();
+	/** 値の区切り文字 */
+	private static final String SEPARATOR = ",";
+
+	/** インデックスのファイル */
+	private final Path file;
+	/** 出力ファイル名ごとの「サイズ,バージョン,ハッシュ値」 */
+	private final Properties entries = new Properties();
+	/** 保存されていない変更があるかどうか */
+	private boolean dirty = false;
+
+	/**
+	 * コンストラクター
+	 *
+	 * @param file インデックスのファイル
+	 */
+	private ExpectedOutputIndex(Path file) {
+		this.file = file;
+		if (Files.isRegularFile(file)) {
+			try (InputStream is = Files.newInputStream(file)) {
+				entries.load(is);
+			} catch (IOException e) {
+				// 読み込めない場合は作り直す
+				e.printStackTrace();
+				entries.clear();
+			}
+		}
+	}
+
+	/**
+	 * インデックスを取得する（初回は読み込む）
+	 *
+	 * @param file インデックスのファイル
+	 * @return インデックス
+	 */
+	static synchronized ExpectedOutputIndex of(Path file) {
+		return INDEXES.computeIfAbsent(file.toAbsolutePath().normalize(), ExpectedOutputIndex::new);
+	}
+
+	/**
+	 * 予想される結果のハッシュ値を取得する（キャッシュにない場合は計算する）
+	 *
+	 * @param name    出力ファイル名
+	 * @param size    出力ファイルのサイズ
+	 * @param version 出力ファイルのバージョン（CRC、更新日時など）
+	 * @param opener  出力ファイルを開く方法
+	 * @return ハッシュ値
+	 * @throws IOException
+	 */
+	synchronized String hash(String name, long size, long version, ExpectedOpener opener) throws IOException {
+		String prefix = size + SEPARATOR + version + SEPARATOR;
+		String cached = entries.getProperty(name);
+		if ((null != cached) && cached.startsWith(prefix)) {
+			return cached.substring(prefix.length());
+		}
+		NormalizedHasher hasher = new NormalizedHasher();
+		try (InputStream is = opener.open()) {
+			is.transferTo(hasher);
+		}
+		String hash = hasher.hash();
+		entries.setProperty(name, prefix + hash);
+		dirty = true;
+		return hash;
+	}
+
+	/**
+	 * 変更されたインデックスをすべて保存する
+	 */
+	static synchronized void saveAll() {
+		for (ExpectedOutputIndex index : INDEXES.values()) {
+			if (index.dirty) {
+				try (OutputStream os = Files.newOutputStream(index.file)) {
+					index.entries.store(os, null);
+					index.dirty = false;
+				} catch (IOException e) {
+					// 外部フォルダーに書き込めない場合は、次回も計算し直す
+					e.printStackTrace();
+				}
+			}
+		}
+	}
+
+	/**
+	 * 予想される結果のファイルを開くメソッドを定義
+	 */
+	static interface ExpectedOpener {
+		InputStream open() throws IOException;
+	}
+}
@@ -0,0 +1,91 @@
+package testbase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ExpectedOutputIndexTest {
+
+	@TempDir
+	Path folder;
+
+	/** インデックスのファイル */
+	private Path file;
+	/** 予想される結果のファイルを開いた回数 */
+	private int opened;
+
+	@BeforeEach
+	void beforeEach() {
+		file = folder.resolve("out.hash");
+		opened = 0;
+	}
+
+	/**
+	 * 内容を返す予想される結果のファイルを開く方法を作成する（開いた回数を数える）
+	 *
+	 * @param text 内容
+	 * @return 開く方法
+	 */
+	private ExpectedOutputIndex.ExpectedOpener opener(String text) {
+		return () -> {
+			opened++;
+			return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+		};
+	}
+
+	@Test
+	void sameIndexForSameFile() {
+		assertSame(ExpectedOutputIndex.of(file), ExpectedOutputIndex.of(folder.resolve(".").resolve("out.hash")));
+	}
+
+	@Test
+	void cachedWhileSizeAndVersionAreSame() throws IOException {
+		ExpectedOutputIndex index = ExpectedOutputIndex.of(file);
+		String hash = index.hash("01.out", 4, 100, opener("1\r\n2"));
+		assertEquals(hash, index.hash("01.out", 4, 100, opener("other")));
+		assertEquals(1, opened);
+	}
+
+	@Test
+	void recalculatedWhenVersionChanges() throws IOException {
+		ExpectedOutputIndex index = ExpectedOutputIndex.of(file);
+		String hash = index.hash("01.out", 2, 100, opener("1\n"));
+		// 更新日時・CRCが変わった場合は、サイズが同じでも計算し直す
+		assertNotEquals(hash, index.hash("01.out", 2, 101, opener("2\n")));
+		assertEquals(2, opened);
+	}
+
+	@Test
+	void recalculatedWhenSizeChanges() throws IOException {
+		ExpectedOutputIndex index = ExpectedOutputIndex.of(file);
+		String hash = index.hash("01.out", 2, 100, opener("1\n"));
+		assertNotEquals(hash, index.hash("01.out", 3, 100, opener("10\n")));
+		assertEquals(2, opened);
+	}
+
+	@Test
+	void savedToFile() throws IOException {
+		ExpectedOutputIndex index = ExpectedOutputIndex.of(file);
+		String hash = index.hash("01.out", 2, 100, opener("1\n"));
+		ExpectedOutputIndex.saveAll();
+		assertTrue(Files.isRegularFile(file));
+		Properties saved = new Properties();
+		try (InputStream is = Files.newInputStream(file)) {
+			saved.load(is);
+		}
+		assertEquals("2,100," + hash, saved.getProperty("01.out"));
+	}
+}
@@ -0,0 +1,205 @@
+package testbase;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 解答クラスを別のJVMで実行する（CDSアーカイブがある場合はそれを使う）
+ */
+class ForkedRunner {
+
+	/** CDS関連のファイルの出力フォルダー */
+	static final Path CDS_FOLDER = Paths.get("target", "cds");
+	/** CDSアーカイブ */
+	static final Path CDS_ARCHIVE = CDS_FOLDER.resolve("app.jsa");
+	/** CDSアーカイブ作成時のクラスパスとなるJARファイル（CDSはJARファイルのクラスしかアーカイブできない） */
+	static final Path CDS_JAR = CDS_FOLDER.resolve("app.jar");
+
+	private ForkedRunner() {
+	}
+
+	/**
+	 * 解答クラスを別のJVMで実行するコマンドを作成する
+	 *
+	 * CDSアーカイブの有無で起動時間を比較する場合は、同じクラスパスを渡してアーカイブの指定だけを変える。
+	 *
+	 * @param className  解答クラスの完全修飾名
+	 * @param classpath  クラスパス（フォルダーまたはJARファイル）
+	 * @param archive    CDSアーカイブ（使わない場合はnull）
+	 * @param jvmOptions JVMのオプション
+	 * @return コマンド
+	 */
+	static List<String> command(String className, Path classpath, Path archive, String jvmOptions) {
+		List<String> command = new ArrayList<>();
+		command.add(javaCommand());
+		command.addAll(splitOptions(jvmOptions));
+		if (null != archive) {
+			command.add("-XX:SharedArchiveFile=" + archive.toAbsolutePath());
+		}
+		command.add("-cp");
+		command.add(classpath.toAbsolutePath().toString());
+		command.add(className);
+		return command;
+	}
+
+	/**
+	 * 解答クラスを別のJVMで実行する（制限時間を過ぎた場合は強制終了する）
+	 *
+	 * @param className  解答クラスの完全修飾名
+	 * @param input      標準入力
+	 * @param classpath  クラスパス（フォルダーまたはJARファイル）
+	 * @param archive    CDSアーカイブ（使わない場合はnull）
+	 * @param jvmOptions JVMのオプション
+	 * @param timeout    制限時間(ms)
+	 * @return 実行結果
+	 * @throws IOException
+	 */
+	static Result run(String className, byte[] input, Path classpath, Path archive, String jvmOptions, long timeout)
+			throws IOException {
+		List<String> command = command(className, classpath, archive, jvmOptions);
+		Path inputFile = Files.createTempFile("forked", ".in"), outputFile = Files.createTempFile("forked", ".out");
+		Process process = null;
+		try {
+			Files.write(inputFile, input);
+			// 標準出力はファイルに書き込ませ、読み込みで待たずに制限時間までプロセスの終了を待つ
+			ProcessBuilder builder = new ProcessBuilder(command).redirectInput(inputFile.toFile())
+					.redirectOutput(outputFile.toFile()).redirectError(ProcessBuilder.Redirect.INHERIT);
+			long start = System.nanoTime();
+			process = builder.start();
+			if (!process.waitFor(timeout, TimeUnit.MILLISECONDS)) {
+				process.destroyForcibly().waitFor();
+				return new Result(-1, Files.readAllBytes(outputFile), (System.nanoTime() - start) / 1_000_000L, true);
+			}
+			long millis = (System.nanoTime() - start) / 1_000_000L;
+			return new Result(process.exitValue(), Files.readAllBytes(outputFile), millis, false);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			if (null != process) {
+				process.destroyForcibly();
+			}
+			throw new IOException(e);
+		} finally {
+			Files.deleteIfExists(inputFile);
+			Files.deleteIfExists(outputFile);
+		}
+	}
+
+	/**
+	 * CDSアーカイブが使えるかどうかを判定する（アーカイブ作成後に解答クラスが再コンパイルされた場合は使えない）
+	 *
+	 * target/classesをすべて走査するため、呼び出し側でテストクラスごとに1回だけ呼ぶ。
+	 *
+	 * @return 使える場合はtrue
+	 * @throws IOException
+	 */
+	static boolean isArchiveAvailable() throws IOException {
+		return isArchiveAvailable(CDS_ARCHIVE, CDS_JAR, classesFolder());
+	}
+
+	/**
+	 * CDSアーカイブが使えるかどうかを判定する（JARファイルより新しいクラスファイルがある場合は使えない）
+	 *
+	 * @param archive       CDSアーカイブ
+	 * @param jar           CDSアーカイブ作成時のクラスパスとなるJARファイル
+	 * @param classesFolder 解答クラスのコンパイル先フォルダー
+	 * @return 使える場合はtrue
+	 * @throws IOException
+	 */
+	static boolean isArchiveAvailable(Path archive, Path jar, Path classesFolder) throws IOException {
+		if (!Files.isRegularFile(archive) || !Files.isRegularFile(jar)) {
+			return false;
+		}
+		FileTime jarTime = Files.getLastModifiedTime(jar);
+		try (Stream<Path> stream = Files.walk(classesFolder)) {
+			return stream.filter(Files::isRegularFile).noneMatch(path -> {
+				try {
+					return Files.getLastModifiedTime(path).compareTo(jarTime) > 0;
+				} catch (IOException e) {
+					return true;
+				}
+			});
+		}
+	}
+
+	/**
+	 * 解答クラスのコンパイル先フォルダー（target/classes）を取得する
+	 *
+	 * @return フォルダー
+	 */
+	static Path classesFolder() {
+		Path testClasses = codeSource(TestBase.class);
+		return testClasses.resolveSibling("classes");
+	}
+
+	/**
+	 * クラスの読み込み元を取得する
+	 *
+	 * @param clazz クラス
+	 * @return 読み込み元のフォルダーまたはJARファイル
+	 */
+	static Path codeSource(Class<?> clazz) {
+		try {
+			return Paths.get(clazz.getProtectionDomain().getCodeSource().getLocation().toURI());
+		} catch (URISyntaxException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * 現在のJVMと同じjavaコマンドを取得する
+	 *
+	 * @return javaコマンドのパス
+	 */
+	static String javaCommand() {
+		return Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+	}
+
+	/**
+	 * 空白区切りのJVMのオプションを分割する
+	 *
+	 * @param options JVMのオプション
+	 * @return オプションの一覧
+	 */
+	static List<String> splitOptions(String options) {
+		return options.isBlank() ? new ArrayList<>() : new ArrayList<>(Arrays.asList(options.trim().split("\\s+")));
+	}
+
+	/**
+	 * 実行結果
+	 */
+	static class Result {
+
+		/** 終了コード */
+		final int exitCode;
+		/** 標準出力 */
+		final byte[] output;
+		/** 起動から終了までの時間(ms) */
+		final long millis;
+		/** 制限時間を過ぎて強制終了したかどうか */
+		final boolean timedOut;
+
+		/**
+		 * コンストラクター
+		 *
+		 * @param exitCode 終了コード
+		 * @param output   標準出力
+		 * @param millis   起動から終了までの時間(ms)
+		 * @param timedOut 制限時間を過ぎて強制終了したかどうか
+		 */
+		Result(int exitCode, byte[] output, long millis, boolean timedOut) {
+			this.exitCode = exitCode;
+			this.output = output;
+			this.millis = millis;
+			this.timedOut = timedOut;
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package testbase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ForkedRunnerTest {
+
+	@TempDir
+	Path folder;
+
+	/**
+	 * 終了しない解答クラスの代わり
+	 */
+	public static class Sleeper {
+
+		public static void main(String[] args) throws InterruptedException {
+			Thread.sleep(60_000L);
+		}
+	}
+
+	@Test
+	void commandsDifferOnlyInArchive() {
+		// CDSアーカイブの有無の比較では、クラスパスを含めてアーカイブの指定以外は同じコマンドになる
+		Path jar = folder.resolve("app.jar"), archive = folder.resolve("app.jsa");
+		List<String> withArchive = ForkedRunner.command("p.ProblemA", jar, archive, "-Xss512M -Xshare:auto");
+		List<String> withoutArchive = ForkedRunner.command("p.ProblemA", jar, null, "-Xss512M -Xshare:auto");
+		List<String> removed = new ArrayList<>(withArchive);
+		assertTrue(removed.remove("-XX:SharedArchiveFile=" + archive.toAbsolutePath()), withArchive.toString());
+		assertEquals(withoutArchive, removed);
+		assertEquals(List.of("-Xss512M", "-Xshare:auto", "-cp", jar.toAbsolutePath().toString(), "p.ProblemA"),
+				withoutArchive.subList(1, withoutArchive.size()));
+	}
+
+	@Test
+	void splitOptions() {
+		assertEquals(List.of(), ForkedRunner.splitOptions(" "));
+		assertEquals(List.of("-Xss512M", "-Xmx1G"), ForkedRunner.splitOptions(" -Xss512M \t-Xmx1G "));
+	}
+
+	@Test
+	void runSolution() throws IOException {
+		ForkedRunner.Result result = ForkedRunner.run("abc.abc051.ProblemA",
+				"happy,newyear,enjoy\n".getBytes(StandardCharsets.UTF_8), ForkedRunner.classesFolder(), null, "",
+				60_000L);
+		assertFalse(result.timedOut);
+		assertEquals(0, result.exitCode);
+		assertEquals("happy newyear enjoy" + System.lineSeparator(), new String(result.output, StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void killedAfterTimeout() throws IOException {
+		ForkedRunner.Result result = ForkedRunner.run(Sleeper.class.getName(), new byte[0],
+				ForkedRunner.codeSource(ForkedRunnerTest.class), null, "", 500L);
+		assertTrue(result.timedOut);
+		assertTrue(result.millis < 30_000L, result.millis + "ms");
+	}
+
+	@Test
+	void archiveIsStaleAfterRecompile() throws IOException {
+		Path archive = folder.resolve("app.jsa"), jar = folder.resolve("app.jar"), classes = folder.resolve("classes");
+		Path classFile = classes.resolve("p").resolve("ProblemA.class");
+		Files.createDirectories(classFile.getParent());
+		Files.write(classFile, new byte[1]);
+		Files.write(jar, new byte[1]);
+		assertFalse(ForkedRunner.isArchiveAvailable(archive, jar, classes));
+		Files.write(archive, new byte[1]);
+		FileTime jarTime = Files.getLastModifiedTime(jar);
+		Files.setLastModifiedTime(classFile, FileTime.fromMillis(jarTime.toMillis() - 1_000L));
+		assertTrue(ForkedRunner.isArchiveAvailable(archive, jar, classes));
+		// JARファイルの作成後に再コンパイルされたクラスがある場合は使わない
+		Files.setLastModifiedTime(classFile, FileTime.fromMillis(jarTime.toMillis() + 1_000L));
+		assertFalse(ForkedRunner.isArchiveAvailable(archive, jar, classes));
+	}
+}
@@ -0,0 +1,66 @@
+package testbase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class HashingOutputStreamTest {
+
+	/**
+	 * ハッシュ値を計算しながら書き込む
+	 *
+	 * @param out  出力
+	 * @param text 書き込む内容
+	 * @return ハッシュ値
+	 */
+	private static String writeHashing(TestBase.HashingOutputStream out, String text) {
+		out.startHashing();
+		for (String line : text.split("(?<=\n)")) {
+			out.writeBytes(line.getBytes(StandardCharsets.UTF_8));
+		}
+		return out.finishHashing();
+	}
+
+	/**
+	 * 内容のハッシュ値を求める
+	 *
+	 * @param text 内容
+	 * @return ハッシュ値
+	 */
+	private static String hash(String text) {
+		NormalizedHasher hasher = new NormalizedHasher();
+		byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		hasher.write(bytes, 0, bytes.length);
+		return hasher.hash();
+	}
+
+	@Test
+	void keepsOutputInMemory() throws IOException {
+		TestBase.HashingOutputStream out = new TestBase.HashingOutputStream(1 << 10);
+		String text = "1\n2\r\n3\n";
+		assertEquals(hash(text), writeHashing(out, text));
+		assertFalse(out.isSpilled());
+		assertEquals(text, out.captured());
+	}
+
+	@Test
+	void spillsLargeOutputToFile() throws IOException {
+		TestBase.HashingOutputStream out = new TestBase.HashingOutputStream(16);
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 100; i++) {
+			sb.append(i).append('\n');
+		}
+		String text = sb.toString();
+		assertEquals(hash(text), writeHashing(out, text));
+		assertTrue(out.isSpilled());
+		assertEquals(text, out.captured());
+		out.reset();
+		assertFalse(out.isSpilled());
+		assertEquals("", out.captured());
+	}
+}
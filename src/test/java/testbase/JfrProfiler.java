@@ -0,0 +1,168 @@
+package testbase;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * テストケースの実行をJava Flight Recorderで記録し、遅いケースの記録を保存して集計結果を出力する
+ */
+class JfrProfiler implements AutoCloseable {
+
+	/** 記録ファイルの出力フォルダー */
+	private static final String OUTPUT_FOLDER = "target/jfr";
+	/** CPUサンプリングのイベント */
+	private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+	/** メモリー割り当てのサンプリングのイベント */
+	private static final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+	/** CPUサンプリングの間隔(ms)のデフォルト値 */
+	static final long SAMPLING_PERIOD_DEFAULT_VALUE = 10L;
+	/** 集計結果に出力する件数のデフォルト値 */
+	static final int TOP_COUNT_DEFAULT_VALUE = 10;
+
+	/** 記録 */
+	private final Recording recording = new Recording();
+	/** 集計結果に出力する件数 */
+	private final int topCount;
+
+	/**
+	 * 記録を開始する
+	 *
+	 * @param samplingPeriod CPUサンプリングの間隔(ms)
+	 * @param topCount       集計結果に出力する件数
+	 */
+	JfrProfiler(long samplingPeriod, int topCount) {
+		if ((samplingPeriod <= 0) || (topCount <= 0)) {
+			throw new IllegalArgumentException(
+					"samplingPeriod=" + samplingPeriod + ", topCount=" + topCount + " must be positive");
+		}
+		this.topCount = topCount;
+		recording.enable(EXECUTION_SAMPLE).withPeriod(Duration.ofMillis(samplingPeriod)).withStackTrace();
+		recording.enable(ALLOCATION_SAMPLE).withStackTrace();
+		recording.start();
+	}
+
+	/**
+	 * 記録を終了し、記録ファイルを保存して集計結果を標準エラーに出力する
+	 *
+	 * @param name 記録の名前（テストクラス名#テストケース名）
+	 * @return 保存された記録ファイル
+	 * @throws IOException
+	 */
+	Path save(String name) throws IOException {
+		recording.stop();
+		Path file = Paths.get(OUTPUT_FOLDER, name.replaceAll("[^\\w.#-]", "_") + ".jfr");
+		Files.createDirectories(file.getParent());
+		recording.dump(file);
+		System.err.print(report(name, file));
+		return file;
+	}
+
+	/**
+	 * 記録ファイルを集計する
+	 *
+	 * @param name 記録の名前
+	 * @param file 記録ファイル
+	 * @return 集計結果
+	 * @throws IOException
+	 */
+	String report(String name, Path file) throws IOException {
+		Map<String, Long> hotMethods = new HashMap<>(), allocationSites = new HashMap<>();
+		long samples = 0L, allocated = 0L;
+		for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+			RecordedStackTrace stackTrace = event.getStackTrace();
+			if ((null == stackTrace) || stackTrace.getFrames().isEmpty()) {
+				continue;
+			}
+			String eventName = event.getEventType().getName();
+			if (EXECUTION_SAMPLE.equals(eventName)) {
+				hotMethods.merge(format(stackTrace.getFrames().get(0), false), 1L, Long::sum);
+				samples++;
+			} else if (ALLOCATION_SAMPLE.equals(eventName)) {
+				long weight = event.getLong("weight");
+				allocationSites.merge(event.getClass("objectClass").getName() + " at "
+						+ format(firstApplicationFrame(stackTrace.getFrames()), true), weight, Long::sum);
+				allocated += weight;
+			}
+		}
+		StringBuilder sb = new StringBuilder();
+		sb.append(name).append(" profile saved to ").append(file).append(System.lineSeparator());
+		sb.append("  hot methods (").append(samples).append(" samples):").append(System.lineSeparator());
+		appendTop(sb, hotMethods, samples, "");
+		sb.append("  allocation sites (").append(allocated >> 20).append("MB sampled):")
+				.append(System.lineSeparator());
+		appendTop(sb, allocationSites, allocated, "MB");
+		return sb.toString();
+	}
+
+	/**
+	 * 記録の設定を取得する
+	 *
+	 * @return 設定（イベント名#設定名と値）
+	 */
+	Map<String, String> settings() {
+		return recording.getSettings();
+	}
+
+	/**
+	 * 記録を破棄する
+	 */
+	@Override
+	public void close() {
+		recording.close();
+	}
+
+	/**
+	 * 件数の多い順に上位を出力する
+	 *
+	 * @param sb     出力先
+	 * @param counts 集計結果
+	 * @param total  合計
+	 * @param unit   単位（"MB"の場合はメガバイトに換算する）
+	 */
+	private void appendTop(StringBuilder sb, Map<String, Long> counts, long total, String unit) {
+		counts.entrySet().stream().sorted(Map.Entry.<String, Long>comparingByValue().reversed()).limit(topCount)
+				.forEach(entry -> sb.append(String.format("    %5.1f%% %8d%s  %s%n",
+						100.0d * entry.getValue() / Math.max(total, 1L),
+						unit.isEmpty() ? entry.getValue() : entry.getValue() >> 20, unit, entry.getKey())));
+	}
+
+	/**
+	 * JDK以外の最初のフレームを取得する（すべてJDKの場合は先頭のフレーム）
+	 *
+	 * @param frames スタックトレースのフレーム
+	 * @return フレーム
+	 */
+	private static RecordedFrame firstApplicationFrame(List<RecordedFrame> frames) {
+		for (RecordedFrame frame : frames) {
+			String typeName = frame.getMethod().getType().getName();
+			if (!typeName.startsWith("java.") && !typeName.startsWith("jdk.") && !typeName.startsWith("sun.")) {
+				return frame;
+			}
+		}
+		return frames.get(0);
+	}
+
+	/**
+	 * フレームを「クラス名.メソッド名(:行番号)」の形式にする
+	 *
+	 * @param frame    フレーム
+	 * @param withLine 行番号を含めるかどうか
+	 * @return 文字列
+	 */
+	private static String format(RecordedFrame frame, boolean withLine) {
+		String method = frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+		return withLine ? method + ":" + frame.getLineNumber() : method;
+	}
+}
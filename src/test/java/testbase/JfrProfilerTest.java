@@ -0,0 +1,105 @@
+package testbase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class JfrProfilerTest {
+
+	/** 最適化で消されないようにする計算結果 */
+	static volatile long sink;
+
+	/**
+	 * 複数のメソッドでCPU時間と割り当てを消費する
+	 *
+	 * @param millis 実行時間(ms)
+	 */
+	private static void busy(long millis) {
+		long end = System.nanoTime() + millis * 1_000_000L;
+		while (System.nanoTime() < end) {
+			sink += sum(1_000) + allocate(1_000).size() + String.valueOf(sink).length();
+		}
+	}
+
+	private static long sum(int n) {
+		long sum = 0L;
+		for (int i = 0; i < n; i++) {
+			sum += (long) i * i % 7;
+		}
+		return sum;
+	}
+
+	private static List<long[]> allocate(int n) {
+		List<long[]> list = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			list.add(new long[8]);
+		}
+		return list;
+	}
+
+	/**
+	 * 集計結果の見出しの次から、次の見出しまでの行数を数える
+	 *
+	 * @param lines   集計結果の行
+	 * @param heading 見出しの先頭
+	 * @return 行数
+	 */
+	private static int countEntries(List<String> lines, String heading) {
+		int count = -1;
+		for (String line : lines) {
+			if (line.startsWith(heading)) {
+				count = 0;
+			} else if (count >= 0) {
+				if (!line.startsWith("    ")) {
+					break;
+				}
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Test
+	void samplingPeriod() {
+		try (JfrProfiler profiler = new JfrProfiler(20, 3)) {
+			assertEquals("20000000 ns", profiler.settings().get("jdk.ExecutionSample#period"));
+		}
+	}
+
+	@Test
+	void topCount() throws IOException {
+		String name = "testbase.JfrProfilerTest#topCount";
+		Path file = null;
+		try (JfrProfiler profiler = new JfrProfiler(1, 2)) {
+			busy(500);
+			file = profiler.save(name);
+			assertTrue(Files.size(file) > 0);
+			assertTrue(file.getFileName().toString().endsWith(".jfr"));
+
+			List<String> lines = profiler.report(name, file).lines().toList();
+			assertTrue(lines.get(0).startsWith(name + " profile saved to "));
+			int hotMethods = countEntries(lines, "  hot methods ");
+			assertTrue((hotMethods > 0) && (hotMethods <= 2), String.join("\n", lines));
+			int allocationSites = countEntries(lines, "  allocation sites ");
+			assertTrue((allocationSites >= 0) && (allocationSites <= 2), String.join("\n", lines));
+		} finally {
+			if (null != file) {
+				Files.deleteIfExists(file);
+			}
+		}
+	}
+
+	@Test
+	void invalidSettings() {
+		assertThrows(IllegalArgumentException.class, () -> new JfrProfiler(0, 10));
+		assertThrows(IllegalArgumentException.class, () -> new JfrProfiler(10, 0));
+	}
+}
@@ -0,0 +1,69 @@
+package testbase;
+
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 改行コード（CRLF、CR）をLFに揃えながら、書き込まれたバイトのハッシュ値を逐次計算する
+ */
+class NormalizedHasher extends OutputStream {
+
+	/** ハッシュ値のアルゴリズム */
+	private static final String ALGORITHM = "SHA-256";
+
+	/** ハッシュ値の計算 */
+	private final MessageDigest digest;
+	/** 直前のバイトがCRかどうか */
+	private boolean pendingCr = false;
+
+	/**
+	 * コンストラクター
+	 */
+	NormalizedHasher() {
+		try {
+			digest = MessageDigest.getInstance(ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Override
+	public void write(int b) {
+		write(new byte[] { (byte) b }, 0, 1);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) {
+		// 改行コード以外の区間はまとめて計算する
+		int start = off, end = off + len;
+		for (int i = off; i < end; i++) {
+			if ('\r' == b[i]) {
+				digest.update(b, start, i - start);
+				digest.update((byte) '\n');
+				pendingCr = true;
+				start = i + 1;
+			} else if (pendingCr) {
+				// CRLFのLFは、CRの時点でLFとして計算済みのため飛ばす
+				if ('\n' == b[i]) {
+					start = i + 1;
+				}
+				pendingCr = false;
+			}
+		}
+		digest.update(b, start, end - start);
+	}
+
+	/**
+	 * ハッシュ値を取得する
+	 *
+	 * @return ハッシュ値の16進数文字列
+	 */
+	String hash() {
+		StringBuilder sb = new StringBuilder();
+		for (byte b : digest.digest()) {
+			sb.append(String.format("%02x", b));
+		}
+		return sb.toString();
+	}
+}
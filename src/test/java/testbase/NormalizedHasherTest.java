@@ -0,0 +1,91 @@
+package testbase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.junit.jupiter.api.Test;
+
+class NormalizedHasherTest {
+
+	/** 改行コードの境界を含むテキスト */
+	private static final String TEXT = "1 2\r\n3\r4\n\r\n5\r\r\n\n6\r";
+
+	/**
+	 * TestBaseの比較と同じく改行コードを揃えた文字列のハッシュ値を求める
+	 *
+	 * @param text テキスト
+	 * @return ハッシュ値の16進数文字列
+	 * @throws NoSuchAlgorithmException
+	 */
+	private static String expectedHash(String text) throws NoSuchAlgorithmException {
+		String normalized = new TestBase() {
+		}.replaceLineSeparator(text).replace(TestBase.LF, "\n");
+		StringBuilder sb = new StringBuilder();
+		for (byte b : MessageDigest.getInstance("SHA-256").digest(normalized.getBytes(StandardCharsets.UTF_8))) {
+			sb.append(String.format("%02x", b));
+		}
+		return sb.toString();
+	}
+
+	@Test
+	void sameAsNormalizedString() throws NoSuchAlgorithmException {
+		NormalizedHasher hasher = new NormalizedHasher();
+		byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+		hasher.write(bytes, 0, bytes.length);
+		assertEquals(expectedHash(TEXT), hasher.hash());
+	}
+
+	@Test
+	void splitAtEveryPosition() throws NoSuchAlgorithmException {
+		// 2か所で分割し、CR・LF・CRLFの境界が書き込みの区切りに来る場合をすべて試す
+		byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+		String expected = expectedHash(TEXT);
+		for (int i = 0; i <= bytes.length; i++) {
+			for (int j = i; j <= bytes.length; j++) {
+				NormalizedHasher hasher = new NormalizedHasher();
+				hasher.write(bytes, 0, i);
+				hasher.write(bytes, i, j - i);
+				hasher.write(bytes, j, bytes.length - j);
+				assertEquals(expected, hasher.hash(), "split at " + i + ", " + j);
+			}
+		}
+	}
+
+	@Test
+	void byteByByte() throws NoSuchAlgorithmException {
+		NormalizedHasher hasher = new NormalizedHasher();
+		for (byte b : TEXT.getBytes(StandardCharsets.UTF_8)) {
+			hasher.write(b);
+		}
+		assertEquals(expectedHash(TEXT), hasher.hash());
+	}
+
+	@Test
+	void lineSeparatorsGiveSameHash() {
+		String[] texts = { "a\nb\n", "a\r\nb\r\n", "a\rb\r", "a\r\nb\n" };
+		String expected = null;
+		for (String text : texts) {
+			NormalizedHasher hasher = new NormalizedHasher();
+			byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+			hasher.write(bytes, 0, bytes.length);
+			String hash = hasher.hash();
+			if (null == expected) {
+				expected = hash;
+			}
+			assertEquals(expected, hash, text);
+		}
+	}
+
+	@Test
+	void differentTextGivesDifferentHash() {
+		// 空行の数の違い（LFCRとCRLF）は区別する
+		NormalizedHasher crlf = new NormalizedHasher(), lfcr = new NormalizedHasher();
+		crlf.write("a\r\nb".getBytes(StandardCharsets.UTF_8), 0, 4);
+		lfcr.write("a\n\rb".getBytes(StandardCharsets.UTF_8), 0, 4);
+		assertNotEquals(crlf.hash(), lfcr.hash());
+	}
+}
@@ -0,0 +1,111 @@
+package testbase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class OpenArchiveTest {
+
+	@TempDir
+	Path folder;
+
+	@BeforeEach
+	void setUp() {
+		TestBase.reuseArchives = true;
+	}
+
+	@AfterEach
+	void tearDown() {
+		TestBase.closeArchives();
+		TestBase.reuseArchives = false;
+	}
+
+	/**
+	 * Zipファイルを作成する
+	 *
+	 * @param zipFile 作成するZipファイル
+	 * @param names   エントリー名の一覧（内容はエントリー名）
+	 * @throws IOException
+	 */
+	private static void writeZip(File zipFile, String... names) throws IOException {
+		try (OutputStream os = Files.newOutputStream(zipFile.toPath()); ZipOutputStream zos = new ZipOutputStream(os)) {
+			for (String name : names) {
+				zos.putNextEntry(new ZipEntry(name));
+				zos.write(name.getBytes());
+				zos.closeEntry();
+			}
+		}
+	}
+
+	@Test
+	void reuseUnchanged() throws IOException {
+		File zipFile = folder.resolve("ABC051.zip").toFile();
+		writeZip(zipFile, "A/in/sample_01.txt");
+		ZipFile first = TestBase.openArchive(zipFile);
+		assertSame(first, TestBase.openArchive(zipFile));
+		assertEquals(1, first.size());
+	}
+
+	@Test
+	void reloadWhenSizeChanges() throws IOException {
+		File zipFile = folder.resolve("ABC051.zip").toFile();
+		writeZip(zipFile, "A/in/sample_01.txt");
+		long lastModified = zipFile.lastModified();
+		ZipFile first = TestBase.openArchive(zipFile);
+		// 更新日時の精度が粗く、同じ時刻に書き換えられた場合を再現する
+		writeZip(zipFile, "A/in/sample_01.txt", "A/in/sample_02.txt");
+		zipFile.setLastModified(lastModified);
+		assertEquals(lastModified, zipFile.lastModified());
+
+		ZipFile second = TestBase.openArchive(zipFile);
+		assertNotSame(first, second);
+		assertNotNull(second.getEntry("A/in/sample_02.txt"));
+		assertThrows(IllegalStateException.class, first::size);
+		assertSame(second, TestBase.openArchive(zipFile));
+	}
+
+	@Test
+	void reloadWhenLastModifiedChanges() throws IOException {
+		File zipFile = folder.resolve("ABC051.zip").toFile();
+		writeZip(zipFile, "A/in/sample_01.txt");
+		long size = zipFile.length(), lastModified = zipFile.lastModified();
+		ZipFile first = TestBase.openArchive(zipFile);
+		// 同じサイズで内容だけが変わった場合
+		writeZip(zipFile, "A/in/sample_02.txt");
+		zipFile.setLastModified(lastModified + 60_000L);
+		assertEquals(size, zipFile.length());
+
+		ZipFile second = TestBase.openArchive(zipFile);
+		assertNotSame(first, second);
+		assertNull(second.getEntry("A/in/sample_01.txt"));
+		assertNotNull(second.getEntry("A/in/sample_02.txt"));
+		assertThrows(IllegalStateException.class, first::size);
+	}
+
+	@Test
+	void noReuse() throws IOException {
+		TestBase.reuseArchives = false;
+		File zipFile = folder.resolve("ABC051.zip").toFile();
+		writeZip(zipFile, "A/in/sample_01.txt");
+		try (ZipFile first = TestBase.openArchive(zipFile); ZipFile second = TestBase.openArchive(zipFile)) {
+			assertNotSame(first, second);
+		}
+	}
+}
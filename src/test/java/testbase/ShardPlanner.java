@@ -0,0 +1,347 @@
+package testbase;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 外部のテストケースの実行時間を記録し、過去の実行時間が均等になるようにテストケースをシャードに割り当てる
+ *
+ * 割り当ては起動時に読み込んだ実行時間（計画の入力）だけから決まり、実行中に変わることはない。
+ * 分割して実行する場合、計測した実行時間は記録ファイルではなく、外部フォルダーを汚さないようtarget/などの出力フォルダーの
+ * シャードごとのファイル（記録ファイル名.shard-i-of-n）に書き込むため、後から起動したシャードも先に終わったシャードと
+ * 同じ記録ファイルを読み、同じ割り当てになる。
+ * シャードごとのファイルは、分割せずに実行したとき、または{@link #main(String[])}で記録ファイルにまとめる。
+ * 複数のマシンで実行する場合は、同じ内容のファイルを計画の入力として全シャードに渡す（-DSHARD_PLAN=ファイル）。
+ */
+public class ShardPlanner {
+
+	/** シャードごとの実行時間のファイルの、記録ファイル名に続く接尾辞 */
+	private static final String SHARD_FILE_SUFFIX = ".shard-";
+	/** シャードごとの実行時間のファイルの出力フォルダーのデフォルト値 */
+	static final String SHARD_FOLDER_DEFAULT_VALUE = "target";
+
+	/** シャードの番号（0始まり） */
+	private final int shardIndex;
+	/** シャードの数 */
+	private final int shardCount;
+	/** 計画の入力となるテストケースごとの実行時間(ms) */
+	private final Map<String, Long> history = new HashMap<>();
+	/** 今回計測したテストケースごとの実行時間(ms) */
+	private final Map<String, Long> measured = new HashMap<>();
+	/** 実行時間が記録されているテストケースのシャードの割り当て */
+	private final Map<String, Integer> assignments = new HashMap<>();
+	/** 今回計測した実行時間の書き込み先（nullの場合は書き込まない） */
+	private Path output = null;
+
+	/**
+	 * コンストラクター
+	 *
+	 * @param history    計画の入力となるテストケースごとの実行時間(ms)
+	 * @param shardIndex シャードの番号（0始まり）
+	 * @param shardCount シャードの数
+	 */
+	ShardPlanner(Map<String, Long> history, int shardIndex, int shardCount) {
+		if ((shardCount < 1) || (shardIndex < 0) || (shardIndex >= shardCount)) {
+			throw new IllegalArgumentException("shard count must be positive and shard index must be in [0, shard count) : "
+					+ shardIndex + "/" + shardCount);
+		}
+		this.shardIndex = shardIndex;
+		this.shardCount = shardCount;
+		this.history.putAll(history);
+		plan();
+	}
+
+	/**
+	 * シャードの設定値を取得する（システムプロパティー、環境変数の順に探す）
+	 *
+	 * CIのマトリックスのジョブではシャードの番号を環境変数で渡すことが多いため、どちらでも指定できるようにする。
+	 *
+	 * @param key          キー
+	 * @param properties   システムプロパティー
+	 * @param environment  環境変数
+	 * @param defaultValue どちらにもない場合の値
+	 * @return 設定値
+	 */
+	static String setting(String key, Properties properties, Map<String, String> environment, String defaultValue) {
+		String value = properties.getProperty(key);
+		if (null == value) {
+			value = environment.get(key);
+		}
+		return (null != value) ? value : defaultValue;
+	}
+
+	/**
+	 * 記録ファイルから計画を作成し、JVMの終了時に今回計測した実行時間を書き込むようにする
+	 *
+	 * @param file        実行時間の記録ファイル（nullの場合は記録しない）
+	 * @param planFile    計画の入力とするファイル（nullの場合は記録ファイル）
+	 * @param shardFolder シャードごとの実行時間のファイルの出力フォルダー
+	 * @param shardIndex  シャードの番号（0始まり）
+	 * @param shardCount  シャードの数
+	 * @return 割り当て
+	 */
+	static ShardPlanner open(Path file, Path planFile, Path shardFolder, int shardIndex, int shardCount) {
+		if (null == file) {
+			return new ShardPlanner(Map.of(), shardIndex, shardCount);
+		}
+		ShardPlanner planner;
+		if (1 == shardCount) {
+			// 分割しない場合は割り当てに使わないため、前回までのシャードごとの実行時間をここでまとめる
+			merge(file, shardFolder);
+			planner = new ShardPlanner(Map.of(), shardIndex, shardCount);
+			planner.output = file;
+		} else {
+			Path input = (null != planFile) ? planFile : file;
+			planner = new ShardPlanner(load(input), shardIndex, shardCount);
+			planner.output = shardFile(file, shardFolder, shardIndex, shardCount);
+			// 複数のマシンで実行する場合に、全シャードの計画の入力が同じであることを確認できるようにする
+			System.err.println(String.format("shard %d/%d planned from %s (%d cases, checksum %08x).", shardIndex,
+					shardCount, input, planner.history.size(), planner.checksum()));
+		}
+		Runtime.getRuntime().addShutdownHook(new Thread(planner::save));
+		return planner;
+	}
+
+	/**
+	 * シャードごとの実行時間のファイルを、記録ファイルにまとめる
+	 *
+	 * <pre>
+	 * mvn test-compile exec:java@durations -Dexec.args=/folder/of/atcoder/data/durations.properties
+	 * mvn test-compile exec:java@durations -Dexec.args="/folder/of/atcoder/data/durations.properties shards"
+	 * </pre>
+	 *
+	 * @param args 実行時間の記録ファイル、シャードごとの実行時間のファイルのフォルダー（省略した場合はtarget）
+	 */
+	public static void main(String[] args) {
+		if ((1 != args.length) && (2 != args.length)) {
+			throw new IllegalArgumentException("usage: ShardPlanner <duration file> [<shard folder>]");
+		}
+		merge(Paths.get(args[0]), Paths.get((2 == args.length) ? args[1] : SHARD_FOLDER_DEFAULT_VALUE));
+	}
+
+	/**
+	 * シャードごとの実行時間のファイルを記録ファイルにまとめ、削除する
+	 *
+	 * @param file   実行時間の記録ファイル
+	 * @param folder シャードごとの実行時間のファイルのフォルダー
+	 */
+	static void merge(Path file, Path folder) {
+		if (!Files.isDirectory(folder)) {
+			return;
+		}
+		String prefix = file.getFileName() + SHARD_FILE_SUFFIX;
+		List<Path> shardFiles = new ArrayList<>();
+		try (Stream<Path> stream = Files.list(folder)) {
+			stream.filter(path -> path.getFileName().toString().startsWith(prefix)).sorted().forEach(shardFiles::add);
+		} catch (IOException e) {
+			e.printStackTrace();
+			return;
+		}
+		if (shardFiles.isEmpty()) {
+			return;
+		}
+		Map<String, Long> durations = new HashMap<>();
+		for (Path shardFile : shardFiles) {
+			durations.putAll(load(shardFile));
+		}
+		if (write(file, durations)) {
+			for (Path shardFile : shardFiles) {
+				try {
+					Files.deleteIfExists(shardFile);
+				} catch (IOException e) {
+					e.printStackTrace();
+				}
+			}
+		}
+	}
+
+	/**
+	 * シャードごとの実行時間のファイルを取得する
+	 *
+	 * @param file       実行時間の記録ファイル
+	 * @param folder     シャードごとの実行時間のファイルのフォルダー
+	 * @param shardIndex シャードの番号（0始まり）
+	 * @param shardCount シャードの数
+	 * @return シャードごとの実行時間のファイル
+	 */
+	static Path shardFile(Path file, Path folder, int shardIndex, int shardCount) {
+		return folder.resolve(file.getFileName() + SHARD_FILE_SUFFIX + shardIndex + "-of-" + shardCount);
+	}
+
+	/**
+	 * 計画の入力のチェックサムを求める
+	 *
+	 * @return チェックサム
+	 */
+	private int checksum() {
+		return history.entrySet().stream().sorted(Map.Entry.comparingByKey())
+				.map(entry -> entry.getKey() + "=" + entry.getValue()).collect(Collectors.joining("\n")).hashCode();
+	}
+
+	/**
+	 * 実行時間の長い順に、合計時間が最も少ないシャードへ割り当てる
+	 */
+	private void plan() {
+		if (1 == shardCount) {
+			return;
+		}
+		long[] loads = new long[shardCount];
+		List<Map.Entry<String, Long>> entries = history.entrySet().stream()
+				.sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+				.collect(Collectors.toList());
+		for (Map.Entry<String, Long> entry : entries) {
+			int lightest = 0;
+			for (int i = 1; i < shardCount; i++) {
+				if (loads[i] < loads[lightest]) {
+					lightest = i;
+				}
+			}
+			// 0msのケースも件数で分散させるため、最低1msとして数える
+			loads[lightest] += Math.max(entry.getValue(), 1L);
+			assignments.put(entry.getKey(), lightest);
+		}
+	}
+
+	/**
+	 * テストケースがこのシャードに割り当てられているかどうかを判定する
+	 *
+	 * @param key テストケースのキー（テストクラス名#テストケース名）
+	 * @return 割り当てられている場合はtrue
+	 */
+	boolean isAssigned(String key) {
+		if (1 == shardCount) {
+			return true;
+		}
+		Integer shard = assignments.get(key);
+		// 実行時間が記録されていないテストケースは、キーのハッシュ値で割り当てる
+		return shardIndex == ((null != shard) ? shard : Math.floorMod(key.hashCode(), shardCount));
+	}
+
+	/**
+	 * テストケースの実行時間を記録する
+	 *
+	 * @param key    テストケースのキー（テストクラス名#テストケース名）
+	 * @param millis 実行時間(ms)
+	 */
+	synchronized void record(String key, long millis) {
+		measured.put(key, millis);
+	}
+
+	/**
+	 * 今回計測した実行時間を書き込み先のファイルに反映する
+	 */
+	synchronized void save() {
+		if ((null == output) || measured.isEmpty()) {
+			return;
+		}
+		if (write(output, measured)) {
+			measured.clear();
+		}
+	}
+
+	/**
+	 * 実行時間をファイルに反映する（他のJVMの書き込みとはロックで排他する）
+	 *
+	 * @param file      ファイル
+	 * @param durations テストケースごとの実行時間(ms)
+	 * @return 書き込めた場合はtrue
+	 */
+	private static boolean write(Path file, Map<String, Long> durations) {
+		try {
+			Path folder = file.toAbsolutePath().getParent();
+			if (null != folder) {
+				Files.createDirectories(folder);
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+			return false;
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE)) {
+			FileLock lock = channel.lock();
+			try {
+				Properties properties = new Properties();
+				properties.load(Channels.newInputStream(channel));
+				durations.forEach((key, value) -> properties.setProperty(key, value.toString()));
+				channel.truncate(0L);
+				channel.position(0L);
+				OutputStream os = Channels.newOutputStream(channel);
+				// 差分が見やすいよう、キーの順に出力する
+				for (String key : properties.stringPropertyNames().stream().sorted().collect(Collectors.toList())) {
+					os.write((escape(key) + "=" + properties.getProperty(key) + System.lineSeparator())
+							.getBytes(StandardCharsets.ISO_8859_1));
+				}
+				os.flush();
+			} finally {
+				lock.release();
+			}
+			return true;
+		} catch (IOException e) {
+			// 書き込めない場合は、次回も記録前の割り当てになる
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * 実行時間の記録ファイルを読み込む
+	 *
+	 * @param file 記録ファイル
+	 * @return テストケースごとの実行時間(ms)
+	 */
+	static Map<String, Long> load(Path file) {
+		Map<String, Long> durations = new HashMap<>();
+		if ((null != file) && Files.isRegularFile(file)) {
+			Properties properties = new Properties();
+			try (InputStream is = Files.newInputStream(file)) {
+				properties.load(is);
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+			for (String key : properties.stringPropertyNames()) {
+				try {
+					durations.put(key, Long.parseLong(properties.getProperty(key).trim()));
+				} catch (NumberFormatException e) {
+					// 壊れた行は無視する
+				}
+			}
+		}
+		return durations;
+	}
+
+	/**
+	 * プロパティーファイルのキーとして出力できるようにエスケープする
+	 *
+	 * @param key キー
+	 * @return エスケープされたキー
+	 */
+	private static String escape(String key) {
+		StringBuilder sb = new StringBuilder();
+		for (char c : key.toCharArray()) {
+			if ((' ' == c) || ('=' == c) || (':' == c) || ('#' == c) || ('!' == c) || ('\\' == c)) {
+				sb.append('\\').append(c);
+			} else if ((c < 0x20) || (c > 0x7e)) {
+				sb.append(String.format("\\u%04x", (int) c));
+			} else {
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,209 @@
+package testbase;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ShardPlannerTest {
+
+	/** シャードの数 */
+	private static final int SHARD_COUNT = 3;
+
+	@TempDir
+	Path folder;
+
+	/**
+	 * シャードごとの実行時間のファイルの出力フォルダー（target/の代わり）を取得する
+	 *
+	 * @return フォルダー
+	 */
+	private Path shardFolder() {
+		return folder.resolve("target");
+	}
+
+	/**
+	 * 乱数で実行時間を作成する
+	 *
+	 * @param n テストケースの数
+	 * @return テストケースごとの実行時間(ms)
+	 */
+	private static Map<String, Long> randomDurations(int n) {
+		Random random = new Random(1);
+		Map<String, Long> durations = new HashMap<>();
+		for (int i = 0; i < n; i++) {
+			durations.put("abc.abc051.ProblemDTest#" + String.format("%02d", i), (long) random.nextInt(1_000));
+		}
+		return durations;
+	}
+
+	/**
+	 * 実行時間を記録ファイルの形式で書き込む
+	 *
+	 * @param file      ファイル
+	 * @param durations テストケースごとの実行時間(ms)
+	 * @throws IOException
+	 */
+	private static void writeDurations(Path file, Map<String, Long> durations) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		durations.forEach((key, value) -> sb.append(key).append('=').append(value).append(System.lineSeparator()));
+		Files.writeString(file, sb, StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * テストケースが割り当てられたシャードを求める（ちょうど1つのシャードに割り当てられていることを確認する）
+	 *
+	 * @param shards 全シャードの割り当て
+	 * @param key    テストケースのキー
+	 * @return シャードの番号
+	 */
+	private static int shardOf(List<ShardPlanner> shards, String key) {
+		int shard = -1;
+		for (int i = 0; i < shards.size(); i++) {
+			if (shards.get(i).isAssigned(key)) {
+				assertEquals(-1, shard, key + " is assigned to shard " + shard + " and " + i + ".");
+				shard = i;
+			}
+		}
+		assertTrue(shard >= 0, key + " is assigned to no shard.");
+		return shard;
+	}
+
+	@Test
+	void everyCaseIsAssignedToExactlyOneShard() {
+		Map<String, Long> durations = randomDurations(50);
+		List<ShardPlanner> shards = new ArrayList<>();
+		for (int i = 0; i < SHARD_COUNT; i++) {
+			shards.add(new ShardPlanner(durations, i, SHARD_COUNT));
+		}
+		for (String key : durations.keySet()) {
+			shardOf(shards, key);
+		}
+		// 実行時間が記録されていないテストケースも、いずれか1つのシャードに割り当てられる
+		for (int i = 0; i < 50; i++) {
+			shardOf(shards, "abc.abc051.ProblemATest#new" + i);
+		}
+	}
+
+	@Test
+	void sameInputGivesSameAssignment() {
+		Map<String, Long> durations = randomDurations(50);
+		for (int i = 0; i < SHARD_COUNT; i++) {
+			ShardPlanner first = new ShardPlanner(durations, i, SHARD_COUNT);
+			ShardPlanner second = new ShardPlanner(new HashMap<>(durations), i, SHARD_COUNT);
+			for (String key : durations.keySet()) {
+				assertEquals(first.isAssigned(key), second.isAssigned(key), key);
+			}
+		}
+	}
+
+	@Test
+	void longestProcessingTimeFirst() {
+		// 8 → 0、7 → 1、6 → 1（合計13）、5 → 0（合計13）、4 → 0（合計が同じ場合は番号の小さいシャード）
+		Map<String, Long> durations = Map.of("a", 8L, "b", 7L, "c", 6L, "d", 5L, "e", 4L);
+		ShardPlanner shard0 = new ShardPlanner(durations, 0, 2), shard1 = new ShardPlanner(durations, 1, 2);
+		for (String key : new String[] { "a", "d", "e" }) {
+			assertTrue(shard0.isAssigned(key), key);
+			assertFalse(shard1.isAssigned(key), key);
+		}
+		for (String key : new String[] { "b", "c" }) {
+			assertFalse(shard0.isAssigned(key), key);
+			assertTrue(shard1.isAssigned(key), key);
+		}
+	}
+
+	@Test
+	void shardsStartedOneAfterAnotherAgree() throws IOException {
+		Path file = folder.resolve("durations.properties");
+		Map<String, Long> durations = randomDurations(6);
+		writeDurations(file, durations);
+		// 先に終わったシャードの計測結果は、後から起動したシャードの計画の入力を変えない
+		ShardPlanner shard0 = ShardPlanner.open(file, null, shardFolder(), 0, 2);
+		for (String key : durations.keySet()) {
+			shard0.record(key, 10_000L - durations.get(key));
+		}
+		shard0.save();
+		assertEquals(durations, ShardPlanner.load(file));
+		// シャードごとのファイルは外部フォルダーではなく出力フォルダーに書き込む
+		assertTrue(Files.isRegularFile(shardFolder().resolve("durations.properties.shard-0-of-2")));
+		try (Stream<Path> files = Files.list(folder)) {
+			assertFalse(files.anyMatch(path -> path.getFileName().toString().contains(".shard-")));
+		}
+		ShardPlanner shard1 = ShardPlanner.open(file, null, shardFolder(), 1, 2);
+		for (String key : durations.keySet()) {
+			assertTrue(shard0.isAssigned(key) != shard1.isAssigned(key), key);
+		}
+	}
+
+	@Test
+	void planFileOverridesDurationFile() throws IOException {
+		Path file = folder.resolve("durations.properties"), plan = folder.resolve("plan.properties");
+		Map<String, Long> durations = randomDurations(20);
+		writeDurations(plan, durations);
+		// 記録ファイルの内容が異なっても、同じ計画の入力を渡したシャード同士の割り当ては一致する
+		writeDurations(file, randomDurations(3));
+		ShardPlanner fromPlan = ShardPlanner.open(file, plan, shardFolder(), 0, SHARD_COUNT);
+		ShardPlanner expected = new ShardPlanner(durations, 0, SHARD_COUNT);
+		for (String key : durations.keySet()) {
+			assertEquals(expected.isAssigned(key), fromPlan.isAssigned(key), key);
+		}
+	}
+
+	@Test
+	void mergeShardFiles() throws IOException {
+		Path file = folder.resolve("durations.properties");
+		writeDurations(file, Map.of("a", 1L, "b", 2L));
+		Files.createDirectories(shardFolder());
+		writeDurations(ShardPlanner.shardFile(file, shardFolder(), 0, 2), Map.of("b", 20L));
+		writeDurations(ShardPlanner.shardFile(file, shardFolder(), 1, 2), Map.of("c", 30L));
+		ShardPlanner.merge(file, shardFolder());
+		assertEquals(Map.of("a", 1L, "b", 20L, "c", 30L), ShardPlanner.load(file));
+		assertFalse(Files.exists(ShardPlanner.shardFile(file, shardFolder(), 0, 2)));
+		assertFalse(Files.exists(ShardPlanner.shardFile(file, shardFolder(), 1, 2)));
+	}
+
+	@Test
+	void mergeWithoutShardFolder() throws IOException {
+		Path file = folder.resolve("durations.properties");
+		writeDurations(file, Map.of("a", 1L));
+		ShardPlanner.merge(file, shardFolder());
+		assertEquals(Map.of("a", 1L), ShardPlanner.load(file));
+	}
+
+	@Test
+	void settingFromPropertyOrEnvironment() {
+		Properties properties = new Properties();
+		Map<String, String> environment = Map.of("SHARD_INDEX", "1", "SHARD_COUNT", "2");
+		// システムプロパティーがない場合は環境変数を使う（CIのマトリックスのジョブ）
+		assertEquals("1", ShardPlanner.setting("SHARD_INDEX", properties, environment, "0"));
+		assertEquals("2", ShardPlanner.setting("SHARD_COUNT", properties, environment, "1"));
+		assertEquals("target", ShardPlanner.setting("SHARD_FOLDER", properties, environment, "target"));
+		assertNull(ShardPlanner.setting("SHARD_PLAN", properties, environment, null));
+		// 両方ある場合はシステムプロパティーを優先する
+		properties.setProperty("SHARD_INDEX", "0");
+		assertEquals("0", ShardPlanner.setting("SHARD_INDEX", properties, environment, "0"));
+	}
+
+	@Test
+	void invalidShard() {
+		assertThrows(IllegalArgumentException.class, () -> new ShardPlanner(Map.of(), 2, 2));
+		assertThrows(IllegalArgumentException.class, () -> new ShardPlanner(Map.of(), -1, 2));
+		assertThrows(IllegalArgumentException.class, () -> new ShardPlanner(Map.of(), 0, 0));
+	}
+}
@@ -1,28 +1,37 @@
 package testbase;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
 import java.io.PrintStream;
+import java.io.UncheckedIOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Scanner;
+import java.util.function.BiConsumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -35,6 +44,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.DynamicTest;
 import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.function.Executable;
 
 @DisplayNameGeneration(CustomDisplayNameGenerator.class)
 public abstract class TestBase {
@@ -46,17 +56,28 @@ public abstract class TestBase {
 
 	/** カスタマイズ入力 */
 	protected static StandardInputSnatcher in = new StandardInputSnatcher();
+	/** ハッシュ値のみを計算できるカスタマイズ出力 */
+	private static final HashingOutputStream HASHING_OUT = new HashingOutputStream();
 	/** カスタマイズ出力 */
-	protected static ByteArrayOutputStream out = new ByteArrayOutputStream();
+	protected static ByteArrayOutputStream out = HASHING_OUT;
 	private static PrintStream mySystemOut;
 
 	/** Zipファイルから入力用 */
 	private static ZipFile zip = null;
+	/** 開いたままにしているZipファイル（パスごと、監視モードで使い回す） */
+	private static final Map<String, ZipFile> OPEN_ARCHIVES = new HashMap<>();
+	/** 開いたままにしているZipファイルのサイズと更新日時（パスごと） */
+	private static final Map<String, String> OPEN_ARCHIVE_VERSIONS = new HashMap<>();
+
+	/** 実行結果をそのまま比較するテストの実行方法（ハッシュ値での比較の対象） */
+	private final InputStreamChecker exactChecker = this::check;
 
 	/** 現在のテストクラス名を取得する */
 	protected String testClassName;
 	/** 現在のテストケース名を取得する */
 	protected String testCaseName;
+	/** 直前に解答クラスを実行した時間(ms)（実行していない場合は-1） */
+	private long executionMillis = -1;
 
 	/** システムの改行コード */
 	protected static final String LF = System.lineSeparator();
@@ -73,6 +94,28 @@ public abstract class TestBase {
 	private static boolean USE_EXTERNAL = false;
 	/** 外部フォルダー */
 	private static String EXTERNAL_FOLDER = "";
+	/** 予想される結果をハッシュ値で比較するかどうかのキー */
+	private static final String USE_OUTPUT_HASH_KEY = "USE_OUTPUT_HASH";
+	/** 予想される結果をハッシュ値で比較するかどうか */
+	private static boolean USE_OUTPUT_HASH = false;
+	/** 予想される結果のハッシュ値のインデックスファイルの拡張子 */
+	private static final String HASH_INDEX_EXTENSION = ".hash";
+	/** 外部のテストケースの実行時間の記録ファイルのキー */
+	private static final String DURATION_FILE_KEY = "DURATION_FILE";
+	/** 外部のテストケースの実行時間の記録ファイルのデフォルト値（外部フォルダーからの相対パス） */
+	private static final String DURATION_FILE_DEFAULT_VALUE = "durations.properties";
+	/** シャードの番号（0始まり）のキー */
+	private static final String SHARD_INDEX_KEY = "SHARD_INDEX";
+	/** シャードの数のキー */
+	private static final String SHARD_COUNT_KEY = "SHARD_COUNT";
+	/** シャードの割り当ての入力とするファイル（全シャードで同じ内容のもの）のキー */
+	private static final String SHARD_PLAN_KEY = "SHARD_PLAN";
+	/** シャードごとの実行時間のファイルの出力フォルダーのキー */
+	private static final String SHARD_FOLDER_KEY = "SHARD_FOLDER";
+	/** 外部のテストケースのシャードへの割り当て */
+	private static ShardPlanner SHARD_PLANNER = null;
+	/** 設定の誤り（ある場合は、すべてのテストクラスをこのメッセージで失敗させる） */
+	private static String CONFIGURATION_ERROR = null;
 	/** 外部の入力ファイルのフォルダー */
 	private static final String IN_FOLDER = "in";
 	/** 外部の出力ファイルのフォルダー */
@@ -93,8 +136,54 @@ public abstract class TestBase {
 	private static boolean CHECK_TIME_LIMIT = false;
 	/** 実行時間制限(ms) */
 	private static long TIME_LIMIT = 2_000;
+	/** 遅いケースをプロファイリングするかどうかのキー */
+	private static final String PROFILE_SLOW_CASES_KEY = "PROFILE_SLOW_CASES";
+	/** プロファイリング結果を保存する実行時間の閾値のキー */
+	private static final String PROFILE_THRESHOLD_KEY = "PROFILE_THRESHOLD";
+	/** プロファイリングのCPUサンプリングの間隔のキー */
+	private static final String PROFILE_SAMPLING_PERIOD_KEY = "PROFILE_SAMPLING_PERIOD";
+	/** プロファイリング結果に出力する件数のキー */
+	private static final String PROFILE_TOP_COUNT_KEY = "PROFILE_TOP_COUNT";
+	/** 遅いケースをプロファイリングするかどうか */
+	private static boolean PROFILE_SLOW_CASES = false;
+	/** プロファイリング結果を保存する実行時間の閾値(ms)（指定しない場合は実行時間制限） */
+	private static long PROFILE_THRESHOLD = -1;
+	/** プロファイリングのCPUサンプリングの間隔(ms) */
+	private static long PROFILE_SAMPLING_PERIOD = JfrProfiler.SAMPLING_PERIOD_DEFAULT_VALUE;
+	/** プロファイリング結果に出力する件数 */
+	private static int PROFILE_TOP_COUNT = JfrProfiler.TOP_COUNT_DEFAULT_VALUE;
 	/** doubleの有効桁数 */
 	private static int DOUBLE_DIGITS = 50;
+	/** 別JVM実行用プロパティーファイル */
+	private static final String FORK_PROPERTIES_FILE = "fork.properties";
+	/** 別JVM実行用プロパティーファイル読み込み用 */
+	private static final Properties FORK_PROPERTIES = new Properties();
+	/** 解答クラスを別のJVMで実行するかどうかのキー */
+	private static final String FORK_EXECUTE_KEY = "FORK_EXECUTE";
+	/** CDSアーカイブなしでも実行して起動時間を比較するかどうかのキー */
+	private static final String COMPARE_CDS_KEY = "COMPARE_CDS";
+	/** 別のJVMのオプションのキー */
+	private static final String FORK_JVM_OPTIONS_KEY = "FORK_JVM_OPTIONS";
+	/** 別のJVMのオプションのデフォルト値（surefireのargLineに合わせる） */
+	private static final String FORK_JVM_OPTIONS_DEFAULT_VALUE = "-Xss512M";
+	/** 別のJVMを強制終了するまでの時間の、実行時間制限に対する倍率（JVMの起動時間とテストの並列実行を見込む） */
+	private static final long FORK_TIMEOUT_FACTOR = 5;
+	/** 解答クラスを別のJVMで実行するかどうか */
+	private static boolean FORK_EXECUTE = false;
+	/** CDSアーカイブなしでも実行して起動時間を比較するかどうか */
+	private static boolean COMPARE_CDS = false;
+	/** 別のJVMのオプション */
+	static String FORK_JVM_OPTIONS = FORK_JVM_OPTIONS_DEFAULT_VALUE;
+	/** CDSアーカイブが古い旨を出力済みかどうか */
+	private static boolean staleArchiveReported = false;
+	/** CDSアーカイブが使えるかどうか（テストクラスごとに最初の別JVM実行で判定する、未判定の場合はnull） */
+	private static Boolean archiveAvailable = null;
+	/** テスト対象のクラスを取得する方法（バンドルされたMainクラスなどに差し替えられる） */
+	static TargetClassResolver targetClassResolver = className -> Class.forName(className);
+	/** 解答クラスの実行時に、クラス名と入力を受け取る処理（CDSアーカイブ作成時の入力の収集に使う） */
+	static BiConsumer<String, byte[]> executionRecorder = null;
+	/** テストクラスの終了後もZipファイルを開いたままにし、次のテストクラスで使い回すかどうか（監視モードで使う） */
+	static boolean reuseArchives = false;
 
 	static {
 		try {
@@ -104,13 +193,51 @@ public abstract class TestBase {
 				USE_EXTERNAL = Boolean.parseBoolean(
 						(String) EXTERNAL_PROPERTIES.getOrDefault(USE_EXTERNAL_KEY, Boolean.FALSE.toString()));
 				EXTERNAL_FOLDER = (String) EXTERNAL_PROPERTIES.getOrDefault(EXTERNAL_FOLDER_KEY, "");
+				USE_OUTPUT_HASH = Boolean.parseBoolean(
+						EXTERNAL_PROPERTIES.getProperty(USE_OUTPUT_HASH_KEY, Boolean.FALSE.toString()));
+			}
+			// シャードはシステムプロパティー（mvn test -DSHARD_INDEX=0 -DSHARD_COUNT=4 など）または
+			// 環境変数（CIのマトリックスのジョブのSHARD_INDEX=0 SHARD_COUNT=4 など）で指定する、両方ある場合はシステムプロパティーを優先する
+			String durationFile = System.getProperty(DURATION_FILE_KEY,
+					EXTERNAL_PROPERTIES.getProperty(DURATION_FILE_KEY, DURATION_FILE_DEFAULT_VALUE));
+			String planFile = shardSetting(SHARD_PLAN_KEY, null);
+			try {
+				SHARD_PLANNER = ShardPlanner.open(USE_EXTERNAL ? Paths.get(EXTERNAL_FOLDER).resolve(durationFile) : null,
+						(USE_EXTERNAL && (null != planFile)) ? Paths.get(EXTERNAL_FOLDER).resolve(planFile) : null,
+						Paths.get(shardSetting(SHARD_FOLDER_KEY, ShardPlanner.SHARD_FOLDER_DEFAULT_VALUE)),
+						integerSetting(SHARD_INDEX_KEY, "0"), integerSetting(SHARD_COUNT_KEY, "1"));
+			} catch (IllegalArgumentException e) {
+				// 静的初期化子で例外を投げると原因が分かりにくいため、1回だけ表示してテストクラスの開始時に失敗させる
+				CONFIGURATION_ERROR = "invalid shard settings " + SHARD_INDEX_KEY + "="
+						+ shardSetting(SHARD_INDEX_KEY, null) + ", " + SHARD_COUNT_KEY + "="
+						+ shardSetting(SHARD_COUNT_KEY, null) + " : " + e.getMessage();
+				System.err.println(CONFIGURATION_ERROR);
+				SHARD_PLANNER = new ShardPlanner(Map.of(), 0, 1);
 			}
 			InputStream timeLimitIs = TestBase.class.getClassLoader().getResourceAsStream(TIME_LIMIT_PROPERTIES_FILE);
 			if (null != timeLimitIs) {
 				TIME_LIMIT_PROPERTIES.load(timeLimitIs);
 				CHECK_TIME_LIMIT = Boolean.parseBoolean(
 						TIME_LIMIT_PROPERTIES.getProperty(CHECK_TIME_LIMIT_KEY, Boolean.FALSE.toString()));
+				PROFILE_SLOW_CASES = Boolean.parseBoolean(
+						TIME_LIMIT_PROPERTIES.getProperty(PROFILE_SLOW_CASES_KEY, Boolean.FALSE.toString()));
+				PROFILE_THRESHOLD = Long.parseLong(TIME_LIMIT_PROPERTIES.getProperty(PROFILE_THRESHOLD_KEY, "-1"));
+				PROFILE_SAMPLING_PERIOD = Long.parseLong(TIME_LIMIT_PROPERTIES.getProperty(PROFILE_SAMPLING_PERIOD_KEY,
+						String.valueOf(JfrProfiler.SAMPLING_PERIOD_DEFAULT_VALUE)));
+				PROFILE_TOP_COUNT = Integer.parseInt(TIME_LIMIT_PROPERTIES.getProperty(PROFILE_TOP_COUNT_KEY,
+						String.valueOf(JfrProfiler.TOP_COUNT_DEFAULT_VALUE)));
 			}
+			InputStream forkIs = TestBase.class.getClassLoader().getResourceAsStream(FORK_PROPERTIES_FILE);
+			if (null != forkIs) {
+				FORK_PROPERTIES.load(forkIs);
+			}
+			// システムプロパティーが指定された場合はそちらを優先する（mvn test -Pcds など）
+			FORK_EXECUTE = Boolean.parseBoolean(System.getProperty(FORK_EXECUTE_KEY,
+					FORK_PROPERTIES.getProperty(FORK_EXECUTE_KEY, Boolean.FALSE.toString())));
+			COMPARE_CDS = Boolean.parseBoolean(System.getProperty(COMPARE_CDS_KEY,
+					FORK_PROPERTIES.getProperty(COMPARE_CDS_KEY, Boolean.FALSE.toString())));
+			FORK_JVM_OPTIONS = System.getProperty(FORK_JVM_OPTIONS_KEY,
+					FORK_PROPERTIES.getProperty(FORK_JVM_OPTIONS_KEY, FORK_JVM_OPTIONS_DEFAULT_VALUE));
 		} catch (IOException e) {
 			e.printStackTrace();
 		}
@@ -123,6 +250,38 @@ public abstract class TestBase {
 	static void setUpBeforeClass() throws Exception {
 		System.setIn(in);
 		System.setOut(mySystemOut = new PrintStream(out));
+		// watchモードではテストクラスの実行の間に再コンパイルされるため、テストクラスごとに判定し直す
+		archiveAvailable = null;
+		if (null != CONFIGURATION_ERROR) {
+			fail(CONFIGURATION_ERROR);
+		}
+	}
+
+	/**
+	 * シャードの設定値を、システムプロパティー、環境変数の順に取得する
+	 *
+	 * @param key          キー
+	 * @param defaultValue 指定されていない場合の値
+	 * @return 値
+	 */
+	private static String shardSetting(String key, String defaultValue) {
+		return ShardPlanner.setting(key, System.getProperties(), System.getenv(), defaultValue);
+	}
+
+	/**
+	 * 整数のシャードの設定値を取得する
+	 *
+	 * @param key          キー
+	 * @param defaultValue 指定されていない場合の値
+	 * @return 値
+	 */
+	private static int integerSetting(String key, String defaultValue) {
+		String value = shardSetting(key, defaultValue);
+		try {
+			return Integer.parseInt(value.trim());
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException(key + " must be an integer : " + value);
+		}
 	}
 
 	/**
@@ -134,9 +293,58 @@ public abstract class TestBase {
 		System.setIn(systemIn);
 		mySystemOut.close();
 		out.close();
-		if (null != zip) {
+		if ((null != zip) && !reuseArchives) {
 			zip.close();
 		}
+		zip = null;
+		ExpectedOutputIndex.saveAll();
+	}
+
+	/**
+	 * Zipファイルを開く（使い回す場合は、サイズと更新日時が変わっていなければ開いたままのものを返す）
+	 *
+	 * @param zipFile Zipファイル
+	 * @return 開いたZipファイル
+	 * @throws IOException
+	 */
+	static ZipFile openArchive(File zipFile) throws IOException {
+		if (!reuseArchives) {
+			return new ZipFile(zipFile);
+		}
+		synchronized (OPEN_ARCHIVES) {
+			String key = zipFile.getAbsolutePath();
+			ZipFile opened = OPEN_ARCHIVES.get(key);
+			// 更新日時の精度が粗いファイルシステムでは、同じ時刻に書き換えられることがあるためサイズも比較する
+			String version = zipFile.length() + ":" + zipFile.lastModified();
+			if ((null != opened) && version.equals(OPEN_ARCHIVE_VERSIONS.get(key))) {
+				return opened;
+			}
+			if (null != opened) {
+				opened.close();
+			}
+			// 中央ディレクトリーの読み込みは開くときの1回だけで済む
+			opened = new ZipFile(zipFile);
+			OPEN_ARCHIVES.put(key, opened);
+			OPEN_ARCHIVE_VERSIONS.put(key, version);
+			return opened;
+		}
+	}
+
+	/**
+	 * 開いたままにしているZipファイルをすべて閉じる
+	 */
+	static void closeArchives() {
+		synchronized (OPEN_ARCHIVES) {
+			for (ZipFile opened : OPEN_ARCHIVES.values()) {
+				try {
+					opened.close();
+				} catch (IOException e) {
+					e.printStackTrace();
+				}
+			}
+			OPEN_ARCHIVES.clear();
+			OPEN_ARCHIVE_VERSIONS.clear();
+		}
 	}
 
 	/**
@@ -229,18 +437,38 @@ public abstract class TestBase {
 	 * テスト対象のメソッドを実行
 	 */
 	protected void execute() {
+		// テストクラス名から末尾の「Test」を取ったクラス名のクラスを取得し、mainメソッドを実行
+		String className = this.getClass().getName().replaceFirst("Test$", "");
+		if (null != executionRecorder) {
+			executionRecorder.accept(className, in.toByteArray());
+		}
+		if (FORK_EXECUTE) {
+			executeForked(className);
+			return;
+		}
 		try {
-			// テストクラス名から末尾の「Test」を取ったクラス名のクラスを取得し、mainメソッドを実行
-			Class<?> clazz = Class.forName(this.getClass().getName().replaceFirst("Test$", ""));
+			Class<?> clazz = targetClassResolver.resolve(className);
 			Method method = clazz.getDeclaredMethod("main", String[].class);
 
-			long start = System.currentTimeMillis();
-			method.invoke(null, (Object) null);
-			long end = System.currentTimeMillis(), duration = end - start;
-			if (CHECK_TIME_LIMIT && (duration > TIME_LIMIT)) {
-				System.err.println(
-						testClassName + "#" + testCaseName + " costs " + duration + "ms, limit is " + TIME_LIMIT + ".");
+			// プロファイリングする場合、実行をJava Flight Recorderで記録する
+			try (JfrProfiler profiler = PROFILE_SLOW_CASES
+					? new JfrProfiler(PROFILE_SAMPLING_PERIOD, PROFILE_TOP_COUNT)
+					: null) {
+				long start = System.currentTimeMillis();
+				method.invoke(null, (Object) null);
+				long end = System.currentTimeMillis(), duration = end - start;
+				executionMillis = duration;
+				if (CHECK_TIME_LIMIT && (duration > TIME_LIMIT)) {
+					System.err.println(testClassName + "#" + testCaseName + " costs " + duration + "ms, limit is "
+							+ TIME_LIMIT + ".");
+				}
+				if ((null != profiler) && (duration > ((PROFILE_THRESHOLD >= 0) ? PROFILE_THRESHOLD : TIME_LIMIT))) {
+					profiler.save(testClassName + "#" + testCaseName);
+				}
 			}
+		} catch (IOException e) {
+			// プロファイリング結果の保存に失敗しても、テスト自体は続ける
+			e.printStackTrace();
 		} catch (ClassNotFoundException | SecurityException | IllegalArgumentException | NoSuchMethodException
 				| IllegalAccessException | InvocationTargetException e) {
 			e.printStackTrace();
@@ -248,6 +476,50 @@ public abstract class TestBase {
 		}
 	}
 
+	/**
+	 * テスト対象のメソッドを別のJVMで実行する（CDSアーカイブがある場合はそれを使い、起動時間を出力する）
+	 *
+	 * @param className 解答クラスの完全修飾名
+	 */
+	private void executeForked(String className) {
+		try {
+			byte[] input = in.toByteArray();
+			if (null == archiveAvailable) {
+				archiveAvailable = ForkedRunner.isArchiveAvailable();
+			}
+			boolean useArchive = archiveAvailable;
+			if (!useArchive && !staleArchiveReported && Files.exists(ForkedRunner.CDS_ARCHIVE)) {
+				System.err.println(ForkedRunner.CDS_ARCHIVE + " is older than compiled classes, run without it.");
+				staleArchiveReported = true;
+			}
+			long timeout = TIME_LIMIT * FORK_TIMEOUT_FACTOR;
+			Path classpath = useArchive ? ForkedRunner.CDS_JAR : ForkedRunner.classesFolder();
+			ForkedRunner.Result result = ForkedRunner.run(className, input, classpath,
+					useArchive ? ForkedRunner.CDS_ARCHIVE : null, FORK_JVM_OPTIONS, timeout);
+			assertFalse(result.timedOut, className + " was killed after " + result.millis + "ms (timeout " + timeout
+					+ "ms).");
+			assertEquals(0, result.exitCode, className + " exits with " + result.exitCode + ".");
+			out.writeBytes(result.output);
+			executionMillis = result.millis;
+			StringBuilder message = new StringBuilder(testClassName + "#" + testCaseName + " forked run costs "
+					+ result.millis + "ms" + (useArchive ? " with CDS archive" : ""));
+			if (useArchive && COMPARE_CDS) {
+				// JARファイルとフォルダーからのクラスの読み込みの差を含めないよう、同じJARファイルからアーカイブの指定だけを外す
+				ForkedRunner.Result withoutArchive = ForkedRunner.run(className, input, classpath, null,
+						FORK_JVM_OPTIONS, timeout);
+				message.append(", ").append(withoutArchive.millis).append("ms without it");
+			}
+			System.err.println(message.append('.'));
+			if (CHECK_TIME_LIMIT && (result.millis > TIME_LIMIT)) {
+				System.err.println(testClassName + "#" + testCaseName + " costs " + result.millis + "ms, limit is "
+						+ TIME_LIMIT + ".");
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+			fail(e);
+		}
+	}
+
 	/**
 	 * テストを実施する
 	 *
@@ -326,6 +598,43 @@ public abstract class TestBase {
 		}
 	}
 
+	/**
+	 * テストを実施する（実行結果のハッシュ値が予想される結果と一致する場合は、予想される結果を読み込まない）
+	 *
+	 * 一致しない場合は、同じ実行で保存した結果と予想される結果を比較して差分を表示する。
+	 *
+	 * @param inputIs 入力文字列を保存するInputStream
+	 * @param index   予想される結果のハッシュ値のインデックス
+	 * @param name    予想される結果のファイル名
+	 * @param size    予想される結果のファイルのサイズ
+	 * @param version 予想される結果のファイルのバージョン（CRC、更新日時など）
+	 * @param opener  予想される結果のファイルを開く方法
+	 * @throws IOException
+	 */
+	private void checkByHash(InputStream inputIs, ExpectedOutputIndex index, String name, long size, long version,
+			ExpectedOutputIndex.ExpectedOpener opener) throws IOException {
+		byte[] input;
+		try (inputIs) {
+			input = inputIs.readAllBytes();
+		}
+		String expectedHash = index.hash(name, size, version, opener), actualHash;
+		in.bytes = input;
+		HASHING_OUT.startHashing();
+		try {
+			execute();
+		} finally {
+			actualHash = HASHING_OUT.finishHashing();
+		}
+		if (expectedHash.equals(actualHash)) {
+			return;
+		}
+		// ハッシュ値が異なる場合のみ予想される結果を読み込み、同じ実行の結果と比較する（再実行はしない）
+		try (InputStream expectedIs = opener.open()) {
+			assertEquals(replaceLineSeparator(new String(expectedIs.readAllBytes())),
+					replaceLineSeparator(HASHING_OUT.captured()));
+		}
+	}
+
 	/**
 	 * テストを実施する
 	 *
@@ -478,7 +787,7 @@ public abstract class TestBase {
 	 * @return 作成された動的テストの一覧
 	 */
 	protected Collection<DynamicTest> checkExternal(String path) {
-		return checkExternal(path, this::check, "");
+		return checkExternal(path, exactChecker, "");
 	}
 
 	/**
@@ -511,7 +820,7 @@ public abstract class TestBase {
 	 * @return 作成された動的テストの一覧
 	 */
 	protected Collection<DynamicTest> checkExternal(String path, String testcase) {
-		return checkExternal(path, this::check, testcase);
+		return checkExternal(path, exactChecker, testcase);
 	}
 
 	/**
@@ -565,6 +874,38 @@ public abstract class TestBase {
 		return Collections.<DynamicTest>emptyList();
 	}
 
+	/**
+	 * 外部のテストケースが、このシャードに割り当てられているかどうかを判定する
+	 *
+	 * @param caseName テストケース名
+	 * @return 割り当てられている場合はtrue
+	 */
+	private boolean isAssignedShard(String caseName) {
+		return SHARD_PLANNER.isAssigned(this.getClass().getName() + "#" + caseName);
+	}
+
+	/**
+	 * 外部のテストケースの実行時間を、シャードの割り当て用に記録する
+	 *
+	 * 記録するのは解答クラスの実行時間だけで、結果の比較やハッシュ値の計算の時間は含めない。
+	 * プロファイリング中はJava Flight Recorderの負荷で実行時間が変わるため、記録しない。
+	 *
+	 * @param executable テストケースの処理
+	 * @return 実行時間を記録するテストケースの処理
+	 */
+	private Executable timed(Executable executable) {
+		return () -> {
+			executionMillis = -1;
+			try {
+				executable.execute();
+			} finally {
+				if ((executionMillis >= 0) && !PROFILE_SLOW_CASES) {
+					SHARD_PLANNER.record(this.getClass().getName() + "#" + testCaseName, executionMillis);
+				}
+			}
+		};
+	}
+
 	/**
 	 * フォルダーにある外部のテストケースを読み込み、動的テストを作成する
 	 *
@@ -589,12 +930,23 @@ public abstract class TestBase {
 												inFile.getName().replaceAll("\\." + IN_FOLDER + "$", "." + OUT_FOLDER))
 										.toFile();
 								return new File[] { inFile, outFile };
-							}).filter(files -> files[1].exists() && files[1].isFile()).map(files -> DynamicTest
-									.dynamicTest(files[0].getName().replaceAll("\\." + IN_FOLDER + "$", ""), () -> {
+							}).filter(files -> files[1].exists() && files[1].isFile())
+							.filter(files -> isAssignedShard(files[0].getName().replaceAll("\\." + IN_FOLDER + "$", "")))
+							.map(files -> DynamicTest
+									.dynamicTest(files[0].getName().replaceAll("\\." + IN_FOLDER + "$", ""), timed(() -> {
 										clearInAndOutWithoutException();
 										testCaseName = files[0].getName().replaceAll("\\." + IN_FOLDER + "$", "");
-										check(files[0], files[1], checker);
-									}))
+										if (USE_OUTPUT_HASH && (checker == exactChecker)) {
+											ExpectedOutputIndex index = ExpectedOutputIndex
+													.of(Paths.get(outFolder.getPath() + HASH_INDEX_EXTENSION));
+											try (InputStream inputIs = new FileInputStream(files[0])) {
+												checkByHash(inputIs, index, files[1].getName(), files[1].length(),
+														files[1].lastModified(), () -> new FileInputStream(files[1]));
+											}
+										} else {
+											check(files[0], files[1], checker);
+										}
+									})))
 							.collect(Collectors.toList());
 				}
 			}
@@ -646,7 +998,7 @@ public abstract class TestBase {
 			String testcase) {
 		try {
 			// 後続テストを実施するため、ここではクローズしない
-			zip = new ZipFile(zipFile);
+			zip = openArchive(zipFile);
 			prefix = (!prefix.isEmpty()) ? prefix + ZIP_FILE_SEPARATOR : prefix;
 			String inPath = prefix + IN_FOLDER + ZIP_FILE_SEPARATOR, outPath = prefix + OUT_FOLDER + ZIP_FILE_SEPARATOR;
 			ZipEntry inEntry = zip.getEntry(inPath), outEntry = zip.getEntry(outPath);
@@ -663,18 +1015,29 @@ public abstract class TestBase {
 										zip.getEntry(entry.getName().replaceFirst(IN_FOLDER, OUT_FOLDER)
 												.replaceAll("\\." + IN_FOLDER + "$", "." + OUT_FOLDER)) };
 							}
-						}).filter(entries -> (null != entries[1]) && (!entries[1].isDirectory())).map(entries -> {
+						}).filter(entries -> (null != entries[1]) && (!entries[1].isDirectory()))
+						.filter(entries -> isAssignedShard(
+								entries[0].getName().replace(inPath, "").replaceAll("\\." + IN_FOLDER + "$", "")))
+						.map(entries -> {
 							String fileName = entries[0].getName().replace(inPath, "");
-							return DynamicTest.dynamicTest(fileName.replaceAll("\\." + IN_FOLDER + "$", ""), () -> {
+							return DynamicTest.dynamicTest(fileName.replaceAll("\\." + IN_FOLDER + "$", ""), timed(() -> {
 								clearInAndOutWithoutException();
 								testCaseName = fileName.replaceAll("\\." + IN_FOLDER + "$", "");
 								try {
-									checker.check(zip.getInputStream(entries[0]), zip.getInputStream(entries[1]));
+									if (USE_OUTPUT_HASH && (checker == exactChecker)) {
+										ExpectedOutputIndex index = ExpectedOutputIndex
+												.of(Paths.get(zipFile.getPath() + HASH_INDEX_EXTENSION));
+										checkByHash(zip.getInputStream(entries[0]), index, entries[1].getName(),
+												entries[1].getSize(), entries[1].getCrc(),
+												() -> zip.getInputStream(entries[1]));
+									} else {
+										checker.check(zip.getInputStream(entries[0]), zip.getInputStream(entries[1]));
+									}
 								} catch (IOException e) {
 									e.printStackTrace();
 									fail(e);
 								}
-							});
+							}));
 						}).collect(Collectors.toList());
 				if (!collection.isEmpty()) {
 					return collection;
@@ -724,6 +1087,15 @@ public abstract class TestBase {
 			buffer.append(num).append(LF);
 		}
 
+		/**
+		 * 入力されたすべてのバイトを取得する
+		 *
+		 * @return 入力されたバイトの配列
+		 */
+		public byte[] toByteArray() {
+			return (null != bytes) ? bytes : buffer.toString().getBytes();
+		}
+
 		/**
 		 * 1文字を読み取る
 		 */
@@ -791,6 +1163,127 @@ public abstract class TestBase {
 		}
 	}
 
+	/**
+	 * ハッシュ値の計算中は、一定の大きさを超えた内容を一時ファイルに退避する出力
+	 *
+	 * 一致しなかった場合に同じ実行の結果で差分を表示できるよう、計算中も内容は捨てずに保存する。
+	 */
+	static class HashingOutputStream extends ByteArrayOutputStream {
+
+		/** メモリーに保存する最大のバイト数のデフォルト値 */
+		private static final int SPILL_THRESHOLD_DEFAULT_VALUE = 1 << 20;
+
+		/** メモリーに保存する最大のバイト数（超えた場合は一時ファイルに退避する） */
+		private final int spillThreshold;
+		/** ハッシュ値の計算（計算中でない場合はnull） */
+		private NormalizedHasher hasher = null;
+		/** 内容を退避した一時ファイル（退避していない場合はnull） */
+		private Path spillFile = null;
+		/** 一時ファイルへの出力 */
+		private OutputStream spillOut = null;
+
+		/**
+		 * コンストラクター
+		 */
+		HashingOutputStream() {
+			this(SPILL_THRESHOLD_DEFAULT_VALUE);
+		}
+
+		/**
+		 * コンストラクター
+		 *
+		 * @param spillThreshold メモリーに保存する最大のバイト数
+		 */
+		HashingOutputStream(int spillThreshold) {
+			this.spillThreshold = spillThreshold;
+		}
+
+		/**
+		 * ハッシュ値の計算を開始する
+		 */
+		synchronized void startHashing() {
+			hasher = new NormalizedHasher();
+		}
+
+		/**
+		 * ハッシュ値の計算を終了する
+		 *
+		 * @return 計算開始から書き込まれた内容のハッシュ値
+		 */
+		synchronized String finishHashing() {
+			String hash = hasher.hash();
+			hasher = null;
+			return hash;
+		}
+
+		/**
+		 * 書き込まれた内容を取得する（一時ファイルに退避した場合はそこから読み込む）
+		 *
+		 * @return 書き込まれた内容
+		 * @throws IOException
+		 */
+		synchronized String captured() throws IOException {
+			if (null == spillFile) {
+				return toString();
+			}
+			spillOut.flush();
+			return new String(Files.readAllBytes(spillFile));
+		}
+
+		/**
+		 * 内容を一時ファイルに退避したかどうかを判定する
+		 *
+		 * @return 退避した場合はtrue
+		 */
+		synchronized boolean isSpilled() {
+			return null != spillFile;
+		}
+
+		@Override
+		public synchronized void write(int b) {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override
+		public synchronized void write(byte[] b, int off, int len) {
+			if (null == hasher) {
+				super.write(b, off, len);
+				return;
+			}
+			hasher.write(b, off, len);
+			try {
+				if ((null == spillOut) && (count + len > spillThreshold)) {
+					spillFile = Files.createTempFile("hashing", ".out");
+					spillOut = new BufferedOutputStream(Files.newOutputStream(spillFile));
+					spillOut.write(buf, 0, count);
+					super.reset();
+				}
+				if (null != spillOut) {
+					spillOut.write(b, off, len);
+				} else {
+					super.write(b, off, len);
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		@Override
+		public synchronized void reset() {
+			super.reset();
+			if (null != spillFile) {
+				try {
+					spillOut.close();
+					Files.deleteIfExists(spillFile);
+				} catch (IOException e) {
+					e.printStackTrace();
+				}
+				spillOut = null;
+				spillFile = null;
+			}
+		}
+	}
+
 	/**
 	 * InputStreamをテストするメソッドを定義
 	 */
@@ -798,6 +1291,13 @@ public abstract class TestBase {
 		void check(InputStream inputIs, InputStream expectedIs);
 	}
 
+	/**
+	 * テスト対象のクラスを取得するメソッドを定義
+	 */
+	static interface TargetClassResolver {
+		Class<?> resolve(String className) throws ClassNotFoundException;
+	}
+
 	/**
 	 * 標準入力を代替するクラスの共通インターフェース
 	 */
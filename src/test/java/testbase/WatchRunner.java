@@ -0,0 +1,315 @@
+package testbase;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+/**
+ * 解答クラスの再コンパイルを監視し、該当のテストクラス（ProblemXTest）だけを同じJVMで再実行する
+ *
+ * <pre>
+ * mvn test-compile exec:java@watch
+ * mvn test-compile exec:java@watch -Dexec.args=abc.abc051.ProblemA
+ * </pre>
+ *
+ * JVMの起動、JUnitとTestBaseの初期化（プロパティーファイルの読み込み）、外部テストケースのZipファイルを開く処理は
+ * 最初の1回だけになる。解答クラスとライブラリのクラスは実行ごとに新しいクラスローダーで読み直すため、
+ * IDEの自動ビルドや別の端末の mvn compile で再コンパイルされたクラスがそのまま使われる。
+ */
+public class WatchRunner {
+
+	/** 解答クラスの出力フォルダー */
+	private static final Path CLASSES_FOLDER = Paths.get("target", "classes");
+	/** テストクラスの出力フォルダー */
+	private static final Path TEST_CLASSES_FOLDER = Paths.get("target", "test-classes");
+	/** ライブラリのパッケージ */
+	private static final String LIBRARY_PACKAGE = "lib";
+	/** テストの基底クラスのパッケージ（読み直さずに共有する） */
+	private static final String TESTBASE_PACKAGE = "testbase";
+	/** 監視する間隔（ミリ秒） */
+	private static final long POLL_INTERVAL = 200;
+	/** テストを実行するスレッドのスタックサイズ（surefireの-Xss512Mに合わせる） */
+	private static final long STACK_SIZE = 512L << 20;
+	/** 失敗したテストのスタックトレースを表示する最大の行数 */
+	private static final int MAX_STACK_TRACE_LINES = 20;
+
+	/** 使い回すJUnitのランチャー */
+	private final Launcher launcher = LauncherFactory.create();
+	/** クラスファイルごとの更新日時 */
+	private Map<Path, Long> snapshot = new HashMap<>();
+	/** 前回実行した解答クラス（ライブラリのみが変更された場合に再実行する） */
+	private final Set<String> lastRun = new LinkedHashSet<>();
+
+	/**
+	 * クラスファイルの監視を開始する
+	 *
+	 * @param args 起動時に実行する解答クラスの完全修飾名の一覧
+	 * @throws Exception
+	 */
+	public static void main(String[] args) throws Exception {
+		TestBase.reuseArchives = true;
+		Runtime.getRuntime().addShutdownHook(new Thread(TestBase::closeArchives));
+		WatchRunner runner = new WatchRunner();
+		runner.snapshot = snapshot();
+		if (0 != args.length) {
+			runner.run(new TreeSet<>(List.of(args)));
+		}
+		System.out.println("watching " + CLASSES_FOLDER + " and " + TEST_CLASSES_FOLDER + " ...");
+		runner.watch();
+	}
+
+	/**
+	 * クラスファイルの変更を待ち、変更された解答クラスのテストを実行し続ける
+	 *
+	 * @throws IOException
+	 * @throws InterruptedException
+	 */
+	private void watch() throws IOException, InterruptedException {
+		while (true) {
+			Thread.sleep(POLL_INTERVAL);
+			Map<Path, Long> current = snapshot();
+			Set<Path> changed = changes(snapshot, current);
+			if (changed.isEmpty()) {
+				continue;
+			}
+			// コンパイラーは複数のクラスファイルを順に書き込むため、書き込みが止まるまで待つ
+			Map<Path, Long> stable;
+			while (!(stable = snapshot()).equals(current)) {
+				changed.addAll(changes(current, stable));
+				current = stable;
+				Thread.sleep(POLL_INTERVAL);
+			}
+			snapshot = current;
+			run(problems(changed));
+		}
+	}
+
+	/**
+	 * 解答クラスのテストクラスを実行し、結果を表示する
+	 *
+	 * @param problems 解答クラスの完全修飾名の一覧
+	 * @throws InterruptedException
+	 */
+	private void run(Set<String> problems) throws InterruptedException {
+		for (String problem : problems) {
+			if (!Files.isRegularFile(classFile(TEST_CLASSES_FOLDER, problem + "Test"))) {
+				System.out.println("no test class for " + problem + ", skip.");
+				continue;
+			}
+			// 再帰の深い解答のため、surefireと同じスタックサイズのスレッドで実行する
+			Thread thread = new Thread(null, () -> {
+				try {
+					runTests(problem);
+				} catch (Exception e) {
+					e.printStackTrace();
+				}
+			}, "watch-" + problem, STACK_SIZE);
+			thread.start();
+			thread.join();
+		}
+		if (!problems.isEmpty()) {
+			lastRun.clear();
+			lastRun.addAll(problems);
+		}
+	}
+
+	/**
+	 * 新しいクラスローダーで解答クラスとテストクラスを読み込み、テストを実行する
+	 *
+	 * @param problem 解答クラスの完全修飾名
+	 * @throws IOException
+	 * @throws ClassNotFoundException
+	 */
+	private void runTests(String problem) throws IOException, ClassNotFoundException {
+		long start = System.currentTimeMillis();
+		TestBase.TargetClassResolver resolver = TestBase.targetClassResolver;
+		// 解答クラスはJDKのクラスとライブラリしか使わないため、親をプラットフォームクラスローダーにして必ず読み直す
+		try (URLClassLoader problemLoader = new URLClassLoader(new URL[] { toUrl(CLASSES_FOLDER) },
+				ClassLoader.getPlatformClassLoader());
+				URLClassLoader testLoader = new ChildFirstClassLoader(toUrl(TEST_CLASSES_FOLDER),
+						WatchRunner.class.getClassLoader())) {
+			TestBase.targetClassResolver = name -> Class.forName(name, true, problemLoader);
+			Class<?> testClass = Class.forName(problem + "Test", true, testLoader);
+			SummaryGeneratingListener listener = new SummaryGeneratingListener();
+			launcher.execute(LauncherDiscoveryRequestBuilder.request().selectors(selectClass(testClass)).build(),
+					listener);
+			TestExecutionSummary summary = listener.getSummary();
+			System.out.println(String.format("%s: %d/%d passed (%dms).", testClass.getName(),
+					summary.getTestsSucceededCount(), summary.getTestsFoundCount(),
+					System.currentTimeMillis() - start));
+			if (summary.getTotalFailureCount() > 0) {
+				summary.printFailuresTo(new PrintWriter(System.out, true), MAX_STACK_TRACE_LINES);
+			}
+		} finally {
+			TestBase.targetClassResolver = resolver;
+		}
+	}
+
+	/**
+	 * 変更されたクラスファイルから、テストを実行する解答クラスを求める
+	 *
+	 * @param changed 変更されたクラスファイル
+	 * @return 解答クラスの完全修飾名の一覧
+	 */
+	private Set<String> problems(Set<Path> changed) {
+		Set<String> problems = new TreeSet<>();
+		boolean libraryChanged = false;
+		for (Path path : changed) {
+			boolean test = path.startsWith(TEST_CLASSES_FOLDER);
+			String className = className(test ? TEST_CLASSES_FOLDER : CLASSES_FOLDER, path);
+			if (className.startsWith(TESTBASE_PACKAGE + ".")) {
+				System.out.println(className + " was recompiled, restart the watch to reload it.");
+			} else if (className.startsWith(LIBRARY_PACKAGE + ".")) {
+				libraryChanged = true;
+			} else if (!test) {
+				problems.add(className);
+			} else if (className.endsWith("Test")) {
+				problems.add(className.substring(0, className.length() - "Test".length()));
+			}
+		}
+		// ライブラリだけが変更された場合は、前回実行した解答クラスを再実行する
+		if (libraryChanged && problems.isEmpty()) {
+			problems.addAll(lastRun);
+		}
+		return problems;
+	}
+
+	/**
+	 * 監視するフォルダーにあるクラスファイルの更新日時を取得する
+	 *
+	 * @return クラスファイルごとの更新日時
+	 * @throws IOException
+	 */
+	private static Map<Path, Long> snapshot() throws IOException {
+		Map<Path, Long> snapshot = new HashMap<>();
+		for (Path folder : new Path[] { CLASSES_FOLDER, TEST_CLASSES_FOLDER }) {
+			if (!Files.isDirectory(folder)) {
+				continue;
+			}
+			try (Stream<Path> stream = Files.walk(folder)) {
+				List<Path> files = new ArrayList<>();
+				stream.filter(path -> path.toString().endsWith(".class")).forEach(files::add);
+				for (Path file : files) {
+					try {
+						snapshot.put(file, Files.getLastModifiedTime(file).toMillis());
+					} catch (IOException e) {
+						// 走査中に削除されたファイルは無視する
+					}
+				}
+			}
+		}
+		return snapshot;
+	}
+
+	/**
+	 * 追加・更新されたクラスファイルを求める
+	 *
+	 * @param before 前回の更新日時
+	 * @param after  今回の更新日時
+	 * @return 追加・更新されたクラスファイル
+	 */
+	private static Set<Path> changes(Map<Path, Long> before, Map<Path, Long> after) {
+		Set<Path> changed = new LinkedHashSet<>();
+		for (Map.Entry<Path, Long> entry : after.entrySet()) {
+			if (!entry.getValue().equals(before.get(entry.getKey()))) {
+				changed.add(entry.getKey());
+			}
+		}
+		return changed;
+	}
+
+	/**
+	 * クラスファイルのパスからトップレベルのクラスの完全修飾名を求める
+	 *
+	 * @param folder 出力フォルダー
+	 * @param path   クラスファイル
+	 * @return クラスの完全修飾名（ネストクラスの場合は外側のクラス）
+	 */
+	private static String className(Path folder, Path path) {
+		String name = folder.relativize(path).toString().replace(File.separatorChar, '.');
+		name = name.substring(0, name.length() - ".class".length());
+		int nested = name.indexOf('$');
+		return (nested >= 0) ? name.substring(0, nested) : name;
+	}
+
+	/**
+	 * クラスの完全修飾名からクラスファイルのパスを求める
+	 *
+	 * @param folder    出力フォルダー
+	 * @param className クラスの完全修飾名
+	 * @return クラスファイル
+	 */
+	private static Path classFile(Path folder, String className) {
+		return folder.resolve(className.replace('.', File.separatorChar) + ".class");
+	}
+
+	/**
+	 * フォルダーのURLを取得する
+	 *
+	 * @param folder フォルダー
+	 * @return URL
+	 * @throws MalformedURLException
+	 */
+	private static URL toUrl(Path folder) throws MalformedURLException {
+		return folder.toAbsolutePath().toUri().toURL();
+	}
+
+	/**
+	 * テストクラスを親より先に自身のフォルダーから読み込むクラスローダー（TestBaseなどの基底クラスは親と共有する）
+	 */
+	private static class ChildFirstClassLoader extends URLClassLoader {
+
+		/**
+		 * コンストラクター
+		 *
+		 * @param folder テストクラスの出力フォルダー
+		 * @param parent 親のクラスローダー
+		 */
+		ChildFirstClassLoader(URL folder, ClassLoader parent) {
+			super(new URL[] { folder }, parent);
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			if (name.startsWith(TESTBASE_PACKAGE + ".")) {
+				return super.loadClass(name, resolve);
+			}
+			synchronized (getClassLoadingLock(name)) {
+				Class<?> clazz = findLoadedClass(name);
+				if (null == clazz) {
+					try {
+						clazz = findClass(name);
+					} catch (ClassNotFoundException e) {
+						return super.loadClass(name, resolve);
+					}
+				}
+				if (resolve) {
+					resolveClass(clazz);
+				}
+				return clazz;
+			}
+		}
+	}
+}